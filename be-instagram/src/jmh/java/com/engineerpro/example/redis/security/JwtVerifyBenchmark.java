@@ -0,0 +1,124 @@
+package com.engineerpro.example.redis.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.repository.TokenDenylistRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Per-request cost of authenticating a JWT: the old path, which built a key
+ * and parser and parsed the token once to validate it and again to read the
+ * username, against {@link JwtTokenUtil#verify(String)} with the verified
+ * token cache missing and hitting, and the whole of
+ * {@link JwtAuthenticationFilter#doFilterInternal} in stateless mode, which
+ * adds {@link JwtTokenUtil#toPrincipal} and the denylist check. The denylist
+ * is stubbed to an answer without a Redis round trip, so the filter numbers
+ * are the in-process cost only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey0123456789012345678901234567890123456789012345";
+
+    private String token;
+    private JwtTokenUtil uncached;
+    private JwtTokenUtil cached;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> {
+    };
+
+    @Setup
+    public void setup() {
+        uncached = new JwtTokenUtil(SECRET, TimeUnit.HOURS.toMillis(1), new VerifiedTokenCache(0, new SimpleMeterRegistry()));
+        cached = new JwtTokenUtil(SECRET, TimeUnit.HOURS.toMillis(1), new VerifiedTokenCache(10000, new SimpleMeterRegistry()));
+        UserPrincipal principal = new UserPrincipal(1L, "benchmark", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = cached.generateToken(principal, 1);
+        cached.verify(token);
+
+        // Stateless tokens carry the user claims, so the user details service is never called
+        TokenDenylistRepository denylist = new NotRevoked();
+        uncachedFilter = new JwtAuthenticationFilter(uncached, null, denylist, true, true);
+        cachedFilter = new JwtAuthenticationFilter(cached, null, denylist, true, true);
+        request = new MockHttpServletRequest("GET", "/api/feed");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public String doubleParse() {
+        Claims claims = legacyClaims(token);
+        if (claims.getExpiration().before(new Date())) {
+            return null;
+        }
+        return legacyClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public String verifyCacheMiss() {
+        return uncached.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String verifyCacheHit() {
+        return cached.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public Authentication filterCacheMiss() throws Exception {
+        return authenticate(uncachedFilter);
+    }
+
+    @Benchmark
+    public Authentication filterCacheHit() throws Exception {
+        return authenticate(cachedFilter);
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        try {
+            filter.doFilterInternal(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // What extractAllClaims did before the key and parser were kept
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private static class NotRevoked extends TokenDenylistRepository {
+        @Override
+        public boolean isRevoked(String tokenId, long userId, Date issuedAt) {
+            return false;
+        }
+    }
+}
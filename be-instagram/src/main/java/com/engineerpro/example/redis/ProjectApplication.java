@@ -3,12 +3,14 @@ package com.engineerpro.example.redis;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.engineerpro.example.redis.util.LoggingUtil;
 import com.engineerpro.example.redis.config.DotenvApplicationContextInitializer;
 import org.slf4j.Logger;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProjectApplication {
 
 	private static final Logger logger = LoggingUtil.getLogger(ProjectApplication.class);
@@ -0,0 +1,55 @@
+package com.engineerpro.example.redis.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Token-bucket limits per endpoint class. A request is counted against the
+ * first class whose methods and path patterns match it, once per client IP
+ * and, when authenticated, once per user; requests matching no class are not
+ * limited.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+
+    // Take the client IP from the last X-Forwarded-For entry, the one appended by our own proxy
+    private boolean trustForwardedFor = false;
+
+    // Command and connect timeout of the limiter's own Redis connection
+    private long redisTimeoutMs = 100;
+
+    // How long to use the local buckets after Redis fails before trying it again
+    private long redisRetryMs = 5000;
+
+    private int localMaxBuckets = 100000;
+
+    private List<EndpointClass> classes = new ArrayList<>();
+
+    @Data
+    public static class EndpointClass {
+        private String name;
+        // Empty matches every method
+        private List<String> methods = new ArrayList<>();
+        // Ant patterns relative to the context path
+        private List<String> paths = new ArrayList<>();
+        private Bucket user;
+        private Bucket ip;
+    }
+
+    @Data
+    public static class Bucket {
+        // Burst size
+        private int capacity;
+        // Sustained rate
+        private double refillPerSecond;
+    }
+}
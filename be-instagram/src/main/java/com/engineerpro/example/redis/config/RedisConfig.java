@@ -10,6 +10,10 @@ import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.engineerpro.example.redis.repository.FollowGraph;
+import com.engineerpro.example.redis.repository.LocalFeedCache;
+import com.engineerpro.example.redis.repository.ProfileSearchIndex;
+import com.engineerpro.example.redis.repository.UsernameFilter;
 import com.engineerpro.example.redis.service.RedisNotificationListener;
 
 @Configuration
@@ -33,7 +37,9 @@ public class RedisConfig {
     }
     
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+            LocalFeedCache localFeedCache, FollowGraph followGraph, ProfileSearchIndex profileSearchIndex,
+            UsernameFilter usernameFilter) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         
@@ -41,6 +47,22 @@ public class RedisConfig {
         MessageListenerAdapter listenerAdapter = new MessageListenerAdapter(notificationListener, "onMessage");
         container.addMessageListener(listenerAdapter, 
             org.springframework.data.redis.listener.PatternTopic.of("notification:*"));
+
+        // Keep local feed caches of all instances in sync with fan-out writes
+        container.addMessageListener(localFeedCache,
+            org.springframework.data.redis.listener.ChannelTopic.of(LocalFeedCache.INVALIDATION_CHANNEL));
+
+        // Keep the in-process follow graph of all instances in sync with follows and unfollows
+        container.addMessageListener(followGraph,
+            org.springframework.data.redis.listener.ChannelTopic.of(FollowGraph.EDGE_CHANNEL));
+
+        // Reindex created and renamed profiles in the search index of all instances
+        container.addMessageListener(profileSearchIndex,
+            org.springframework.data.redis.listener.ChannelTopic.of(ProfileSearchIndex.REINDEX_CHANNEL));
+
+        // Add newly taken usernames to the username filter of all instances
+        container.addMessageListener(usernameFilter,
+            org.springframework.data.redis.listener.ChannelTopic.of(UsernameFilter.ADD_CHANNEL));
         
         return container;
     }
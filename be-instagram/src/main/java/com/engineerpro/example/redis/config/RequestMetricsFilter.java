@@ -0,0 +1,135 @@
+package com.engineerpro.example.redis.config;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Records SQL statements and response body bytes per request, tagged by the
+ * matched route pattern, as http.server.requests.queries and
+ * http.server.requests.payload_bytes.
+ */
+@Component
+@Order(2)
+public class RequestMetricsFilter implements Filter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper((HttpServletResponse) response);
+
+        QueryCountInspector.reset();
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            countingResponse.flushBuffer();
+            Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : UNMATCHED;
+
+            DistributionSummary.builder("http.server.requests.queries")
+                    .tag("method", httpRequest.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(QueryCountInspector.get());
+            DistributionSummary.builder("http.server.requests.payload_bytes")
+                    .baseUnit("bytes")
+                    .tag("method", httpRequest.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(countingResponse.getByteCount());
+        }
+    }
+
+    private static class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+
+        long getByteCount() {
+            return outputStream != null ? outputStream.count : 0;
+        }
+    }
+
+    private static class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long count;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.engineerpro.example.redis.config;
 
+import com.engineerpro.example.redis.security.BoundedPasswordEncoder;
 import com.engineerpro.example.redis.security.JwtAuthenticationFilter;
 import com.engineerpro.example.redis.security.JwtAuthenticationEntryPoint;
 import com.engineerpro.example.redis.security.OAuth2AuthenticationSuccessHandler;
 import com.engineerpro.example.redis.security.OAuth2AuthenticationFailureHandler;
+import com.engineerpro.example.redis.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +25,8 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -41,6 +46,18 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${auth.password-hashing.threads:0}")
+    private int passwordHashThreads;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+
+    @Value("${auth.password-hashing.max-wait-ms:2000}")
+    private long passwordHashMaxWaitMs;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -66,7 +83,9 @@ public class SecurityConfig {
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // After authentication, so requests can be limited per user
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -150,8 +169,14 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt on its own bounded pool, so login and register bursts are shed
+     * with 429s instead of taking every core from the request threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = passwordHashThreads > 0 ? passwordHashThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, passwordHashQueueCapacity,
+                passwordHashMaxWaitMs, meterRegistry);
     }
 }
@@ -6,10 +6,16 @@ import com.engineerpro.example.redis.dto.auth.LoginRequest;
 import com.engineerpro.example.redis.dto.auth.RefreshTokenRequest;
 import com.engineerpro.example.redis.dto.auth.RegisterRequest;
 import com.engineerpro.example.redis.dto.auth.UserInfoResponse;
+import com.engineerpro.example.redis.dto.auth.UsernameAvailabilityResponse;
+import com.engineerpro.example.redis.exception.TooManyRequestsException;
+import com.engineerpro.example.redis.model.User;
+import com.engineerpro.example.redis.repository.TokenDenylistRepository;
 import com.engineerpro.example.redis.security.JwtTokenUtil;
 import com.engineerpro.example.redis.service.CustomUserDetailsService;
 import com.engineerpro.example.redis.service.UserService;
+import com.engineerpro.example.redis.service.profile.ProfileService;
 import com.engineerpro.example.redis.util.LoggingUtil;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,6 +25,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,6 +36,8 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "JWT authentication and OAuth2 operations")
@@ -48,6 +57,12 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private TokenDenylistRepository tokenDenylistRepository;
+
     @GetMapping("/me")
     @Operation(
         summary = "Get current user information",
@@ -103,12 +118,25 @@ public class AuthController {
         
         try {
             // Validate the current token
-            if (jwtTokenUtil.validateToken(request.getToken())) {
-                String username = jwtTokenUtil.extractUsername(request.getToken());
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwtTokenUtil.verify(request.getToken());
+            if (claims != null) {
+                String username = claims.getSubject();
+                // Reloaded rather than copied from the claims, so a refresh picks up changed authorities
+                UserPrincipal userPrincipal = (UserPrincipal) userDetailsService.loadUserByUsername(username);
+                if (!userPrincipal.isEnabled() || !userPrincipal.isAccountNonLocked()) {
+                    LoggingUtil.logExit(logger, "Refresh token of disabled or locked account");
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                }
+                if (tokenDenylistRepository.isRevoked(claims.getId(), userPrincipal.getId(), claims.getIssuedAt())) {
+                    LoggingUtil.logExit(logger, "Revoked refresh token");
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                }
                 
-                // Generate new token
-                String newToken = jwtTokenUtil.generateToken(userDetails);
+                // Generate new token and retire the one it replaces
+                String newToken = issueToken(userPrincipal);
+                if (claims.getId() != null) {
+                    tokenDenylistRepository.revokeToken(claims.getId(), claims.getExpiration());
+                }
                 
                 JwtResponse response = JwtResponse.builder()
                         .token(newToken)
@@ -135,7 +163,8 @@ public class AuthController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Token is valid"),
-        @ApiResponse(responseCode = "401", description = "Token is invalid or expired")
+        @ApiResponse(responseCode = "401", description = "Token is invalid, expired or revoked"),
+        @ApiResponse(responseCode = "503", description = "Revocation could not be checked - retry later")
     })
     public ResponseEntity<Void> validateToken(
         @Parameter(description = "JWT token to validate", required = false)
@@ -146,13 +175,20 @@ public class AuthController {
         }
         
         try {
-            String token = authorization.substring(7);
-            
-            if (jwtTokenUtil.validateToken(token)) {
-                return ResponseEntity.ok().build();
-            } else {
+            Claims claims = jwtTokenUtil.verify(authorization.substring(7));
+            if (claims == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
+            // The same denylist check the authentication filter applies
+            long userId = userIdOf(claims);
+            boolean revoked;
+            try {
+                revoked = tokenDenylistRepository.isRevoked(claims.getId(), userId, claims.getIssuedAt());
+            } catch (Exception e) {
+                LoggingUtil.logError(logger, e);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            return revoked ? ResponseEntity.status(HttpStatus.UNAUTHORIZED).build() : ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -167,7 +203,8 @@ public class AuthController {
         @ApiResponse(responseCode = "200", description = "Login successful",
             content = @Content(schema = @Schema(implementation = JwtResponse.class))),
         @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-        @ApiResponse(responseCode = "400", description = "Bad request - missing or invalid input")
+        @ApiResponse(responseCode = "400", description = "Bad request - missing or invalid input"),
+        @ApiResponse(responseCode = "429", description = "Too many concurrent logins - retry later")
     })
     public ResponseEntity<JwtResponse> login(
         @Parameter(description = "Login credentials", required = true)
@@ -185,7 +222,7 @@ public class AuthController {
                 UserDetails userDetails = (UserDetails) authentication.getPrincipal();
                 
                 // Generate JWT token
-                String token = jwtTokenUtil.generateToken(userDetails);
+                String token = issueToken((UserPrincipal) userDetails);
                 
                 JwtResponse response = JwtResponse.builder()
                         .token(token)
@@ -200,6 +237,9 @@ public class AuthController {
                 LoggingUtil.logExit(logger, "Authentication failed");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
+        } catch (TooManyRequestsException e) {
+            LoggingUtil.logExit(logger, "Login rejected, password hashing saturated");
+            return tooManyRequests();
         } catch (Exception e) {
             LoggingUtil.logError(logger, e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -215,6 +255,7 @@ public class AuthController {
         @ApiResponse(responseCode = "201", description = "User registered successfully",
             content = @Content(schema = @Schema(implementation = JwtResponse.class))),
         @ApiResponse(responseCode = "400", description = "Bad request - validation error or username already exists"),
+        @ApiResponse(responseCode = "429", description = "Too many concurrent registrations - retry later"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<JwtResponse> register(
@@ -225,32 +266,24 @@ public class AuthController {
         
         try {
             // Create new user
-            userService.createUser(request.getUsername(), request.getPassword(), request.getName());
+            User user = userService.createUser(request.getUsername(), request.getPassword(), request.getName());
             
-            // Authenticate the newly created user
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
+            // The password was just set, so sign the user in without hashing it a second time
+            UserPrincipal userPrincipal = UserPrincipal.create(user);
+            String token = issueToken(userPrincipal);
             
-            if (authentication.isAuthenticated()) {
-                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-                
-                // Generate JWT token
-                String token = jwtTokenUtil.generateToken(userDetails);
-                
-                JwtResponse response = JwtResponse.builder()
-                        .token(token)
-                        .type("Bearer")
-                        .username(userDetails.getUsername())
-                        .userId(((UserPrincipal) userDetails).getId())  // Add numeric user ID
-                        .build();
-                
-                LoggingUtil.logExit(logger, "Registration successful for user: " + userDetails.getUsername());
-                return ResponseEntity.status(HttpStatus.CREATED).body(response);
-            } else {
-                LoggingUtil.logExit(logger, "Authentication failed after registration");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            }
+            JwtResponse response = JwtResponse.builder()
+                    .token(token)
+                    .type("Bearer")
+                    .username(userPrincipal.getUsername())
+                    .userId(userPrincipal.getId())  // Add numeric user ID
+                    .build();
+            
+            LoggingUtil.logExit(logger, "Registration successful for user: " + userPrincipal.getUsername());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (TooManyRequestsException e) {
+            LoggingUtil.logExit(logger, "Registration rejected, password hashing saturated");
+            return tooManyRequests();
         } catch (Exception e) {
             LoggingUtil.logError(logger, e);
             if (e.getMessage().contains("Username already exists")) {
@@ -261,17 +294,87 @@ public class AuthController {
         }
     }
 
+    @GetMapping("/username-available")
+    @Operation(
+        summary = "Check username availability",
+        description = "Checks whether a username is still free, for live validation in the signup form"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability checked",
+            content = @Content(schema = @Schema(implementation = UsernameAvailabilityResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request - missing username")
+    })
+    public ResponseEntity<UsernameAvailabilityResponse> isUsernameAvailable(
+        @Parameter(description = "Username to check", required = true)
+        @RequestParam String username) {
+
+        // Most keystrokes are answered by the in-process username filter without a database read
+        boolean available = !username.isBlank() && !userService.existsByUsername(username);
+        return ResponseEntity.ok(UsernameAvailabilityResponse.builder()
+                .username(username)
+                .available(available)
+                .build());
+    }
+
     @PostMapping("/logout")
     @Operation(
         summary = "Logout user",
-        description = "Logs out the current user (client should discard JWT token)"
+        description = "Revokes the JWT token, or every token of the user with allSessions=true"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Logout successful")
+        @ApiResponse(responseCode = "200", description = "Logout successful"),
+        @ApiResponse(responseCode = "503", description = "Token could not be revoked - retry later")
     })
-    public ResponseEntity<Void> logout() {
-        // In a stateless JWT setup, logout is handled client-side
-        // The client should discard the JWT token
+    public ResponseEntity<Void> logout(
+        @Parameter(description = "JWT token to revoke", required = false)
+        @RequestHeader(value = "Authorization", required = false) String authorization,
+        @Parameter(description = "Also revoke the user's tokens on every other device")
+        @RequestParam(defaultValue = "false") boolean allSessions) {
+
+        LoggingUtil.logEntry(logger, "allSessions", allSessions);
+
+        // An invalid or missing token is already logged out; the client discards it either way
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtTokenUtil.verify(authorization.substring(7));
+            if (claims == null) {
+                return ResponseEntity.ok().build();
+            }
+            Long userId = null;
+            if (allSessions) {
+                try {
+                    userId = userIdOf(claims);
+                } catch (Exception e) {
+                    // A deleted user has nothing left to revoke
+                    LoggingUtil.logError(logger, e);
+                    return ResponseEntity.ok().build();
+                }
+            }
+            try {
+                if (userId != null) {
+                    tokenDenylistRepository.revokeAllForUser(userId, Duration.ofMillis(jwtTokenUtil.getExpiration()));
+                } else if (claims.getId() != null) {
+                    tokenDenylistRepository.revokeToken(claims.getId(), claims.getExpiration());
+                }
+            } catch (Exception e) {
+                // The token is still valid, so the client must not be told it was revoked
+                LoggingUtil.logError(logger, e);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        }
         return ResponseEntity.ok().build();
     }
+
+    private long userIdOf(Claims claims) {
+        UserPrincipal userPrincipal = jwtTokenUtil.toPrincipal(claims);
+        return userPrincipal != null ? userPrincipal.getId()
+            : ((UserPrincipal) userDetailsService.loadUserByUsername(claims.getSubject())).getId();
+    }
+
+    private static <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private String issueToken(UserPrincipal userPrincipal) {
+        return jwtTokenUtil.generateToken(userPrincipal, profileService.getProfileId(userPrincipal));
+    }
 }
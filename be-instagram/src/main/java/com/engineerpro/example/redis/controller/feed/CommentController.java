@@ -4,14 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.feed.CreateCommentRequest;
+import com.engineerpro.example.redis.dto.feed.CreateCommentResponse;
+import com.engineerpro.example.redis.dto.feed.GetCommentsResponse;
 import com.engineerpro.example.redis.dto.feed.GetPostResponse;
 import com.engineerpro.example.redis.model.Post;
 import com.engineerpro.example.redis.service.feed.CommentService;
@@ -30,14 +34,13 @@ public class CommentController {
   CommentService commentService;
 
   @PostMapping()
-  public ResponseEntity<GetPostResponse> createComment(
+  public ResponseEntity<CreateCommentResponse> createComment(
       @Valid @RequestBody CreateCommentRequest request, Authentication authentication) {
     LoggingUtil.logControllerEntry(logger, "createComment", "request", request, "authentication", authentication != null ? "present" : "null");
     
     try {
       UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-      Post post = commentService.createComment(userPrincipal, request);
-      GetPostResponse response = GetPostResponse.builder().post(post).build();
+      CreateCommentResponse response = commentService.createComment(userPrincipal, request);
       
       LoggingUtil.logControllerExit(logger, "createComment", response);
       return ResponseEntity.ok().body(response);
@@ -63,4 +66,21 @@ public class CommentController {
       throw e;
     }
   }
+
+  @GetMapping("/post/{postId}")
+  public ResponseEntity<GetCommentsResponse> getComments(@PathVariable int postId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit) {
+    LoggingUtil.logControllerEntry(logger, "getComments", "postId", postId, "cursor", cursor, "limit", limit);
+
+    try {
+      GetCommentsResponse response = commentService.getComments(postId, cursor, limit);
+
+      LoggingUtil.logControllerExit(logger, "getComments", "Comments count: " + response.getComments().size());
+      return ResponseEntity.ok().body(response);
+    } catch (Exception e) {
+      LoggingUtil.logControllerError(logger, "getComments", e);
+      throw e;
+    }
+  }
 }
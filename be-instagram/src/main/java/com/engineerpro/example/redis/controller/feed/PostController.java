@@ -12,16 +12,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.feed.CreatePostRequest;
 import com.engineerpro.example.redis.dto.feed.CreatePostResponse;
 import com.engineerpro.example.redis.dto.feed.DeletePostResponse;
+import com.engineerpro.example.redis.dto.feed.GetLikeStateResponse;
+import com.engineerpro.example.redis.dto.feed.GetPostLikersResponse;
 import com.engineerpro.example.redis.dto.feed.GetPostResponse;
 import com.engineerpro.example.redis.dto.feed.GetUserPostResponse;
+import com.engineerpro.example.redis.dto.feed.GetProfileGridResponse;
+import com.engineerpro.example.redis.dto.feed.LikePostResponse;
 import com.engineerpro.example.redis.dto.feed.PostUploadUrlRequest;
 import com.engineerpro.example.redis.model.Post;
+import com.engineerpro.example.redis.service.feed.LikeStateService;
 import com.engineerpro.example.redis.service.feed.PostService;
 import com.engineerpro.example.redis.service.PreSignedUrlService;
 import com.engineerpro.example.redis.util.LoggingUtil;
@@ -38,6 +44,9 @@ public class PostController {
   @Autowired
   private PostService postService;
   
+  @Autowired
+  private LikeStateService likeStateService;
+
   @Autowired
   private PreSignedUrlService preSignedUrlService;
 
@@ -126,6 +135,43 @@ public class PostController {
     }
   }
 
+  /**
+   * Which of the given posts the current user has liked, e.g. /posts/liked-state?ids=1,2,3
+   */
+  @GetMapping("/liked-state")
+  public ResponseEntity<GetLikeStateResponse> getLikeState(@RequestParam List<Integer> ids,
+      Authentication authentication) {
+    LoggingUtil.logControllerEntry(logger, "getLikeState", "postIds", ids);
+
+    try {
+      UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+      GetLikeStateResponse response = likeStateService.getLikeState(userPrincipal, ids);
+
+      LoggingUtil.logControllerExit(logger, "getLikeState", response);
+      return ResponseEntity.ok().body(response);
+    } catch (Exception e) {
+      LoggingUtil.logControllerError(logger, "getLikeState", e);
+      throw e;
+    }
+  }
+
+  @GetMapping("/{id}/likes")
+  public ResponseEntity<GetPostLikersResponse> getPostLikers(@PathVariable int id,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit) {
+    LoggingUtil.logControllerEntry(logger, "getPostLikers", "postId", id, "cursor", cursor, "limit", limit);
+
+    try {
+      GetPostLikersResponse response = postService.getPostLikers(id, cursor, limit);
+
+      LoggingUtil.logControllerExit(logger, "getPostLikers", "Likers count: " + response.getLikers().size());
+      return ResponseEntity.ok().body(response);
+    } catch (Exception e) {
+      LoggingUtil.logControllerError(logger, "getPostLikers", e);
+      throw e;
+    }
+  }
+
   @DeleteMapping("/{id}")
   public ResponseEntity<DeletePostResponse> deletePost(@PathVariable int id, Authentication authentication) {
     LoggingUtil.logControllerEntry(logger, "deletePost", "postId", id, "authentication", authentication != null ? "present" : "null");
@@ -143,7 +189,7 @@ public class PostController {
   }
 
   @PostMapping("/like/{id}")
-  public ResponseEntity<GetPostResponse> likePost(@PathVariable int id, Authentication authentication) {
+  public ResponseEntity<LikePostResponse> likePost(@PathVariable int id, Authentication authentication) {
     LoggingUtil.logControllerEntry(logger, "likePost", "postId", id, "authentication", authentication != null ? "present" : "null");
     
     try {
@@ -164,8 +210,7 @@ public class PostController {
         userPrincipal.getProvider(),
         userPrincipal.getProviderId());
       
-      Post post = postService.likePost(userPrincipal, id);
-      GetPostResponse response = GetPostResponse.builder().post(post).build();
+      LikePostResponse response = postService.likePost(userPrincipal, id);
       
       LoggingUtil.logControllerExit(logger, "likePost", response);
       return ResponseEntity.ok().body(response);
@@ -176,7 +221,7 @@ public class PostController {
   }
 
   @DeleteMapping("/like/{id}")
-  public ResponseEntity<GetPostResponse> unlikePost(@PathVariable int id, Authentication authentication) {
+  public ResponseEntity<LikePostResponse> unlikePost(@PathVariable int id, Authentication authentication) {
     LoggingUtil.logControllerEntry(logger, "unlikePost", "postId", id, "authentication", authentication != null ? "present" : "null");
     
     try {
@@ -197,8 +242,7 @@ public class PostController {
         userPrincipal.getProvider(),
         userPrincipal.getProviderId());
       
-      Post post = postService.unlikePost(userPrincipal, id);
-      GetPostResponse response = GetPostResponse.builder().post(post).build();
+      LikePostResponse response = postService.unlikePost(userPrincipal, id);
       
       LoggingUtil.logControllerExit(logger, "unlikePost", response);
       return ResponseEntity.ok().body(response);
@@ -209,14 +253,15 @@ public class PostController {
   }
 
   @GetMapping("/user/{id}")
-  public ResponseEntity<GetUserPostResponse> getUserPosts(@PathVariable int id) {
-    LoggingUtil.logControllerEntry(logger, "getUserPosts", "userId", id);
+  public ResponseEntity<GetProfileGridResponse> getUserPosts(@PathVariable int id,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "24") int limit) {
+    LoggingUtil.logControllerEntry(logger, "getUserPosts", "userId", id, "limit", limit);
     
     try {
-      List<Post> posts = postService.getUserPosts(id);
-      GetUserPostResponse response = GetUserPostResponse.builder().posts(posts).build();
+      GetProfileGridResponse response = postService.getUserPosts(id, cursor, limit);
       
-      LoggingUtil.logControllerExit(logger, "getUserPosts", "Posts count: " + posts.size());
+      LoggingUtil.logControllerExit(logger, "getUserPosts", "Posts count: " + response.getPosts().size());
       return ResponseEntity.ok().body(response);
     } catch (Exception e) {
       LoggingUtil.logControllerError(logger, "getUserPosts", e);
@@ -225,14 +270,15 @@ public class PostController {
   }
 
   @GetMapping("/liked/{userId}")
-  public ResponseEntity<GetUserPostResponse> getLikedPosts(@PathVariable int userId) {
-    LoggingUtil.logControllerEntry(logger, "getLikedPosts", "userId", userId);
+  public ResponseEntity<GetUserPostResponse> getLikedPosts(@PathVariable int userId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "24") int limit) {
+    LoggingUtil.logControllerEntry(logger, "getLikedPosts", "userId", userId, "limit", limit);
     
     try {
-      List<Post> likedPosts = postService.getLikedPosts(userId);
-      GetUserPostResponse response = GetUserPostResponse.builder().posts(likedPosts).build();
+      GetUserPostResponse response = postService.getLikedPosts(userId, cursor, limit);
       
-      LoggingUtil.logControllerExit(logger, "getLikedPosts", "Liked posts count: " + likedPosts.size());
+      LoggingUtil.logControllerExit(logger, "getLikedPosts", "Liked posts count: " + response.getPosts().size());
       return ResponseEntity.ok().body(response);
     } catch (Exception e) {
       LoggingUtil.logControllerError(logger, "getLikedPosts", e);
@@ -53,10 +53,10 @@ public class NotificationController {
             LoggingUtil.logBusinessEvent(logger, "Fetching notifications via REST fallback", 
                 "Username", userPrincipal.getUsername(), "Page", page, "Limit", limit);
             
-            Profile profile = profileService.getUserProfile(userPrincipal);
+            Profile profile = profileService.getProfileReference(userPrincipal);
             Pageable pageable = PageRequest.of(page - 1, limit);
             
-            List<Notification> notifications = notificationRepository.findByRecipientOrderByCreatedAtDesc(profile);
+            List<Notification> notifications = notificationRepository.findByRecipientWithSender(profile);
             
             // Apply pagination manually since we're using custom query
             int start = (page - 1) * limit;
@@ -94,7 +94,7 @@ public class NotificationController {
             LoggingUtil.logBusinessEvent(logger, "Fetching unread count via REST fallback", 
                 "Username", userPrincipal.getUsername());
             
-            Profile profile = profileService.getUserProfile(userPrincipal);
+            Profile profile = profileService.getProfileReference(userPrincipal);
             long unreadCount = notificationRepository.countByRecipientAndIsReadFalse(profile);
             
             LoggingUtil.logBusinessEvent(logger, "Unread count fetched successfully via REST", 
@@ -120,7 +120,7 @@ public class NotificationController {
             LoggingUtil.logBusinessEvent(logger, "Marking notification as read", 
                 "Username", userPrincipal.getUsername(), "NotificationId", id);
             
-            Profile profile = profileService.getUserProfile(userPrincipal);
+            Profile profile = profileService.getProfileReference(userPrincipal);
             Notification notification = notificationRepository.findById(id)
                 .orElse(null);
             
@@ -164,7 +164,7 @@ public class NotificationController {
             LoggingUtil.logBusinessEvent(logger, "Marking all notifications as read", 
                 "Username", userPrincipal.getUsername());
             
-            Profile profile = profileService.getUserProfile(userPrincipal);
+            Profile profile = profileService.getProfileReference(userPrincipal);
             notificationRepository.markAllAsReadByRecipient(profile);
             
             // Send unread count update via WebSocket
@@ -193,7 +193,7 @@ public class NotificationController {
             LoggingUtil.logBusinessEvent(logger, "Deleting notification", 
                 "Username", userPrincipal.getUsername(), "NotificationId", id);
             
-            Profile profile = profileService.getUserProfile(userPrincipal);
+            Profile profile = profileService.getProfileReference(userPrincipal);
             Notification notification = notificationRepository.findById(id)
                 .orElse(null);
             
@@ -240,7 +240,7 @@ public class NotificationController {
             LoggingUtil.logBusinessEvent(logger, "Deleting all read notifications", 
                 "Username", userPrincipal.getUsername());
             
-            Profile profile = profileService.getUserProfile(userPrincipal);
+            Profile profile = profileService.getProfileReference(userPrincipal);
             List<Notification> readNotifications = notificationRepository.findByRecipientAndIsReadTrue(profile);
             
             if (readNotifications.isEmpty()) {
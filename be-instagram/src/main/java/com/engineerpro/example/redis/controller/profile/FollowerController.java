@@ -1,5 +1,7 @@
 package com.engineerpro.example.redis.controller.profile;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -16,11 +18,14 @@ import org.springframework.web.bind.annotation.RestController;
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.profile.FollowUserRequest;
 import com.engineerpro.example.redis.dto.profile.FollowUserResponse;
+import com.engineerpro.example.redis.dto.profile.GetFollowStateResponse;
 import com.engineerpro.example.redis.dto.profile.GetFollowerResponse;
 import com.engineerpro.example.redis.dto.profile.GetFollowingResponse;
+import com.engineerpro.example.redis.dto.profile.GetMutualFollowersResponse;
 import com.engineerpro.example.redis.dto.profile.UnFollowUserResponse;
 import com.engineerpro.example.redis.dto.profile.UnfollowUserRequest;
 import com.engineerpro.example.redis.service.profile.FollowerService;
+import com.engineerpro.example.redis.service.profile.MutualFollowerService;
 import com.engineerpro.example.redis.util.LoggingUtil;
 
 import jakarta.validation.Valid;
@@ -37,15 +42,18 @@ public class FollowerController {
   @Autowired
   FollowerService followerService;
 
+  @Autowired
+  MutualFollowerService mutualFollowerService;
+
   @GetMapping("/user/followers/{id}")
   public ResponseEntity<GetFollowerResponse> getFollowers(@PathVariable int id,
-      @RequestParam("page") @Min(1) Integer page,
-      @RequestParam("limit") @Min(1) int limit) {
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(1) int limit) {
     
-    LoggingUtil.logControllerEntry(logger, "getFollowers", "userId", id, "page", page, "limit", limit);
+    LoggingUtil.logControllerEntry(logger, "getFollowers", "userId", id, "limit", limit);
     
     try {
-      GetFollowerResponse response = followerService.getFollowers(id, page, limit);
+      GetFollowerResponse response = followerService.getFollowers(id, cursor, limit);
       LoggingUtil.logControllerExit(logger, "getFollowers", "Followers retrieved successfully");
       return ResponseEntity.ok().body(response);
     } catch (Exception e) {
@@ -55,13 +63,14 @@ public class FollowerController {
   }
 
   @GetMapping("/user/followings/{id}")
-  public ResponseEntity<GetFollowingResponse> getFollowing(@PathVariable int id, @RequestParam("page") @Min(1) int page,
-      @RequestParam("limit") @Min(1) int limit) {
+  public ResponseEntity<GetFollowingResponse> getFollowing(@PathVariable int id,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") @Min(1) int limit) {
     
-    LoggingUtil.logControllerEntry(logger, "getFollowing", "userId", id, "page", page, "limit", limit);
+    LoggingUtil.logControllerEntry(logger, "getFollowing", "userId", id, "limit", limit);
     
     try {
-      GetFollowingResponse response = followerService.getFollowings(id, page, limit);
+      GetFollowingResponse response = followerService.getFollowings(id, cursor, limit);
       LoggingUtil.logControllerExit(logger, "getFollowing", "Followings retrieved successfully");
       return ResponseEntity.ok().body(response);
     } catch (Exception e) {
@@ -70,6 +79,46 @@ public class FollowerController {
     }
   }
 
+  /**
+   * Profiles the current user follows that also follow the given profile
+   */
+  @GetMapping("/user/{id}/mutuals")
+  public ResponseEntity<GetMutualFollowersResponse> getMutualFollowers(@PathVariable int id,
+      @RequestParam(defaultValue = "3") @Min(1) int limit, Authentication authentication) {
+    LoggingUtil.logControllerEntry(logger, "getMutualFollowers", "profileId", id, "limit", limit);
+
+    try {
+      UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+      GetMutualFollowersResponse response = mutualFollowerService.getMutualFollowers(userPrincipal, id, limit);
+
+      LoggingUtil.logControllerExit(logger, "getMutualFollowers", "Mutual followers retrieved successfully");
+      return ResponseEntity.ok().body(response);
+    } catch (Exception e) {
+      LoggingUtil.logControllerError(logger, "getMutualFollowers", e);
+      throw e;
+    }
+  }
+
+  /**
+   * Follow state between the current user and each given profile, e.g. /follow/state?ids=1,2,3
+   */
+  @GetMapping("/state")
+  public ResponseEntity<GetFollowStateResponse> getFollowState(@RequestParam List<Integer> ids,
+      Authentication authentication) {
+    LoggingUtil.logControllerEntry(logger, "getFollowState", "profileIds", ids);
+
+    try {
+      UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+      GetFollowStateResponse response = followerService.getFollowState(userPrincipal, ids);
+
+      LoggingUtil.logControllerExit(logger, "getFollowState", response);
+      return ResponseEntity.ok().body(response);
+    } catch (Exception e) {
+      LoggingUtil.logControllerError(logger, "getFollowState", e);
+      throw e;
+    }
+  }
+
   @PostMapping()
   public ResponseEntity<FollowUserResponse> folowUser(
       @Valid @RequestBody FollowUserRequest request, Authentication authentication) {
@@ -8,22 +8,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.profile.GetProfilePageResponse;
 import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
 import com.engineerpro.example.redis.dto.profile.UpdateProfileImageRequest;
 import com.engineerpro.example.redis.dto.profile.UpdateProfileImageResponse;
 import com.engineerpro.example.redis.dto.profile.UpdateProfileRequest;
 import com.engineerpro.example.redis.dto.profile.UpdateProfileResponse;
 import com.engineerpro.example.redis.model.Profile;
+import com.engineerpro.example.redis.service.profile.ProfilePageService;
 import com.engineerpro.example.redis.service.profile.ProfileService;
 import com.engineerpro.example.redis.util.LoggingUtil;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
-import com.engineerpro.example.redis.repository.FollowerRepository;
-import com.engineerpro.example.redis.repository.PostRepository;
 
 @RestController
 @RequestMapping(path = "/profiles")
@@ -35,10 +36,7 @@ public class ProfileController {
   ProfileService profileService;
 
   @Autowired
-  private FollowerRepository followerRepository;
-
-  @Autowired
-  private PostRepository postRepository;
+  ProfilePageService profilePageService;
 
   @PostMapping("/profile-image")
   public ResponseEntity<UpdateProfileImageResponse> updateProfileImage(
@@ -93,6 +91,23 @@ public class ProfileController {
     }
   }
 
+  @GetMapping("/{id}/page")
+  public ResponseEntity<GetProfilePageResponse> getProfilePage(@PathVariable int id,
+      @RequestParam(defaultValue = "24") int gridLimit, Authentication authentication) {
+    LoggingUtil.logControllerEntry(logger, "getProfilePage", "profileId", id, "gridLimit", gridLimit);
+
+    try {
+      UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+      GetProfilePageResponse response = profilePageService.getProfilePage(userPrincipal, id, gridLimit);
+
+      LoggingUtil.logControllerExit(logger, "getProfilePage", response);
+      return ResponseEntity.ok().body(response);
+    } catch (Exception e) {
+      LoggingUtil.logControllerError(logger, "getProfilePage", e);
+      throw e;
+    }
+  }
+
   @GetMapping("/username/{username}")
   public ResponseEntity<GetProfileResponse> getProfileByUsername(@PathVariable String username) {
     LoggingUtil.logControllerEntry(logger, "getProfileByUsername", "username", username);
@@ -114,19 +129,7 @@ public class ProfileController {
     
     try {
       UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-      Profile profile = profileService.getUserProfile(userPrincipal);
-      
-      // Get counts for current user profile
-      int followersCount = followerRepository.countByFollowingUserId(profile.getId());
-      int followingCount = followerRepository.countByFollowerUserId(profile.getId());
-      int postsCount = postRepository.countByCreatedBy(profile);
-      
-      GetProfileResponse response = GetProfileResponse.builder()
-          .profile(profile)
-          .followersCount(followersCount)
-          .followingCount(followingCount)
-          .postsCount(postsCount)
-          .build();
+      GetProfileResponse response = profileService.getUserProfileWithCounts(userPrincipal);
       
       LoggingUtil.logControllerExit(logger, "getProfile", response);
       return ResponseEntity.ok().body(response);
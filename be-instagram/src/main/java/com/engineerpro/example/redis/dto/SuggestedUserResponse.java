@@ -19,4 +19,18 @@ public class SuggestedUserResponse {
     private int followersCount; // Number of followers
     private int followingCount; // Number of users this profile follows
     private int postsCount; // Number of posts by this profile
+
+    // JPQL constructor expression for search results
+    public SuggestedUserResponse(int id, Long userId, String username, String profilePicURL, String fullName,
+            String bio, int followersCount, int followingCount, int postsCount) {
+        this.id = id;
+        this.uid = userId != null ? userId.toString() : null;
+        this.username = username;
+        this.profilePicURL = profilePicURL;
+        this.fullName = fullName;
+        this.bio = bio;
+        this.followersCount = followersCount;
+        this.followingCount = followingCount;
+        this.postsCount = postsCount;
+    }
 }
@@ -17,6 +17,8 @@ import java.util.stream.Collectors;
 public class UserPrincipal implements OAuth2User, UserDetails {
 
     private Long id;
+    // Set when the principal comes from a token's claims, saves resolving the profile per request
+    private Integer profileId;
     private String username;
     private String password;
     private String name;
@@ -39,9 +41,11 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     }
 
     public static UserPrincipal create(User user) {
-        List<GrantedAuthority> authorities = user.getAuthorities().stream()
-            .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
-            .collect(Collectors.toList());
+        // Users created through OAuth2 sign-in have no authorities
+        List<GrantedAuthority> authorities = user.getAuthorities() == null ? List.of()
+            : user.getAuthorities().stream()
+                .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
+                .collect(Collectors.toList());
 
         UserPrincipal userPrincipal = new UserPrincipal(
                 user.getId(),
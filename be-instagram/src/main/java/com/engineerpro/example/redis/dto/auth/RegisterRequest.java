@@ -1,6 +1,7 @@
 package com.engineerpro.example.redis.dto.auth;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,7 @@ public class RegisterRequest {
     
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 20, message = "Username must be between 3 and 20 characters")
+    @Pattern(regexp = "[!-~]+", message = "Username must contain only ASCII letters, digits and symbols")
     private String username;
     
     @NotBlank(message = "Password is required")
@@ -0,0 +1,15 @@
+package com.engineerpro.example.redis.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UsernameAvailabilityResponse {
+    private String username;
+    private boolean available;
+}
@@ -0,0 +1,30 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import java.util.Date;
+
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class CommentResponse {
+  private int id;
+  private String content;
+  private Date createdAt;
+  private ProfileSummary createdBy;
+
+  // Used by the JPQL constructor expressions in CommentRepository
+  public CommentResponse(int id, String content, Date createdAt, int profileId, String username,
+      String displayName, String profileImageUrl) {
+    this.id = id;
+    this.content = content;
+    this.createdAt = createdAt;
+    this.createdBy = new ProfileSummary(profileId, username, displayName, profileImageUrl);
+  }
+}
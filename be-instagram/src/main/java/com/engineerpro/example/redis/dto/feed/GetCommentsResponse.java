@@ -0,0 +1,18 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class GetCommentsResponse {
+  private List<CommentResponse> comments;
+  // Pass back as ?cursor= to fetch the next page, null on the last page
+  private String nextCursor;
+}
@@ -2,7 +2,6 @@ package com.engineerpro.example.redis.dto.feed;
 
 import java.util.List;
 
-import com.engineerpro.example.redis.model.Post;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +13,6 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 public class GetFeedResponse {
-  private List<Post> posts;
+  private List<PostCard> posts;
   private int totalPage;
 }
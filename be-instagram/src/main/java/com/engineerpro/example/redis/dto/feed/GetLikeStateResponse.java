@@ -0,0 +1,17 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class GetLikeStateResponse {
+  // Subset of the requested post IDs that the current user has liked
+  private List<Integer> likedPostIds;
+}
@@ -2,8 +2,6 @@ package com.engineerpro.example.redis.dto.feed;
 
 import java.util.List;
 
-import com.engineerpro.example.redis.model.Post;
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,5 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 public class GetUserPostResponse {
-  private List<Post> posts;
+  private List<PostCard> posts;
+  // Pass back as ?cursor= to fetch the next page, null on the last page
+  private String nextCursor;
 }
@@ -0,0 +1,16 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class LikePostResponse {
+  private int postId;
+  private boolean liked;
+  private long likeCount;
+}
@@ -0,0 +1,57 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model of a post as rendered in feeds and post grids. Built straight
+ * from a constructor query, so serializing it never touches Hibernate state.
+ */
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class PostCard {
+  private int id;
+  private String imageUrl;
+  private String videoUrl;
+  private String caption;
+  private Date createdAt;
+  private ProfileSummary createdBy;
+  private int likeCount;
+  private int commentCount;
+  // Latest comments, only filled on feed pages
+  private List<CommentResponse> previewComments;
+  // When the profile liked the post, only filled on the liked posts tab
+  private LocalDateTime likedAt;
+
+  // Used by the JPQL constructor expressions in PostRepository
+  public PostCard(int id, String imageUrl, String videoUrl, String caption, Date createdAt, int profileId,
+      String username, String displayName, String profileImageUrl, int likeCount, int commentCount) {
+    this.id = id;
+    this.imageUrl = imageUrl;
+    this.videoUrl = videoUrl;
+    this.caption = caption;
+    this.createdAt = createdAt;
+    this.createdBy = new ProfileSummary(profileId, username, displayName, profileImageUrl);
+    this.likeCount = likeCount;
+    this.commentCount = commentCount;
+  }
+
+  // Used by the liked posts queries in PostLikeRepository
+  public PostCard(int id, String imageUrl, String videoUrl, String caption, Date createdAt, int profileId,
+      String username, String displayName, String profileImageUrl, int likeCount, int commentCount,
+      LocalDateTime likedAt) {
+    this(id, imageUrl, videoUrl, caption, createdAt, profileId, username, displayName, profileImageUrl, likeCount,
+        commentCount);
+    this.likedAt = likedAt;
+  }
+}
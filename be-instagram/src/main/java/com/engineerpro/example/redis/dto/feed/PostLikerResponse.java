@@ -0,0 +1,26 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import java.time.LocalDateTime;
+
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class PostLikerResponse {
+  private ProfileSummary profile;
+  private LocalDateTime likedAt;
+
+  // Used by the JPQL constructor expression in PostLikeRepository
+  public PostLikerResponse(int profileId, String username, String displayName, String profileImageUrl,
+      LocalDateTime likedAt) {
+    this.profile = new ProfileSummary(profileId, username, displayName, profileImageUrl);
+    this.likedAt = likedAt;
+  }
+}
@@ -0,0 +1,29 @@
+package com.engineerpro.example.redis.dto.feed;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One tile of a profile grid: just enough to draw the thumbnail and its
+ * counts. The full post is loaded from /posts/{id} when the tile is opened.
+ */
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class PostThumbnail {
+  private int id;
+  private String imageUrl;
+  private String videoUrl;
+  private int likeCount;
+  private int commentCount;
+  // Only needed to build the next page cursor
+  @JsonIgnore
+  private Date createdAt;
+}
@@ -0,0 +1,19 @@
+package com.engineerpro.example.redis.dto.profile;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class GetFollowStateResponse {
+  // Subset of the requested profile IDs that the current user follows
+  private List<Integer> followingIds;
+  // Subset of the requested profile IDs that follow the current user
+  private List<Integer> followedByIds;
+}
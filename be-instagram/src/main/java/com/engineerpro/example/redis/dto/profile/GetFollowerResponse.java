@@ -2,8 +2,6 @@ package com.engineerpro.example.redis.dto.profile;
 
 import java.util.List;
 
-import com.engineerpro.example.redis.model.Profile;
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 public class GetFollowerResponse {
-  private List<Profile> followers;
-  private int totalPage;
+  private List<ProfileSummary> followers;
+  // Pass back as ?cursor= to fetch the next page, null on the last page
+  private String nextCursor;
 }
@@ -0,0 +1,19 @@
+package com.engineerpro.example.redis.dto.profile;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class GetMutualFollowersResponse {
+  // Up to the requested number of profiles the current user follows that also follow the target
+  private List<ProfileSummary> profiles;
+  // How many such profiles there are in total, for "and 12 others"
+  private int totalCount;
+}
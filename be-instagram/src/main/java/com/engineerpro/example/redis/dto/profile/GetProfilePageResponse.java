@@ -0,0 +1,28 @@
+package com.engineerpro.example.redis.dto.profile;
+
+import java.util.List;
+
+import com.engineerpro.example.redis.dto.feed.GetProfileGridResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class GetProfilePageResponse {
+  // Profile with its follower, following and post counts
+  private GetProfileResponse profile;
+  // First page of the post grid; pass its nextCursor to /posts/user/{id} for more
+  private GetProfileGridResponse posts;
+  // Whether the current user follows this profile, null on their own profile
+  private Boolean following;
+  // Whether this profile follows the current user, null on their own profile
+  private Boolean followedBy;
+  private GetMutualFollowersResponse mutualFollowers;
+  // Sections that failed or missed the deadline and are left null; fetch them from their own endpoints
+  private List<String> missing;
+}
@@ -1,7 +1,5 @@
 package com.engineerpro.example.redis.dto.profile;
 
-import com.engineerpro.example.redis.model.Profile;
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,7 +10,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 public class GetProfileResponse {
-    private Profile profile;
+    private ProfileDetail profile;
     private int followersCount;
     private int followingCount;
     private int postsCount;
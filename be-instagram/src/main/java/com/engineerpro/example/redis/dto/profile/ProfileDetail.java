@@ -0,0 +1,20 @@
+package com.engineerpro.example.redis.dto.profile;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Profile fields shown on a profile page; plain data so the response can be cached as JSON
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class ProfileDetail {
+  private int id;
+  private Long userId;
+  private String username;
+  private String displayName;
+  private String profileImageUrl;
+  private String bio;
+}
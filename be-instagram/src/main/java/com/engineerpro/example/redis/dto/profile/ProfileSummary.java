@@ -0,0 +1,18 @@
+package com.engineerpro.example.redis.dto.profile;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Minimal profile projection for lists (likers, comment authors, search results)
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class ProfileSummary {
+  private int id;
+  private String username;
+  private String displayName;
+  private String profileImageUrl;
+}
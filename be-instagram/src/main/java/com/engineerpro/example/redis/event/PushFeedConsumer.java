@@ -1,5 +1,6 @@
 package com.engineerpro.example.redis.event;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.amqp.rabbit.annotation.RabbitHandler;
@@ -10,6 +11,7 @@ import com.engineerpro.example.redis.config.MessageQueueConfig;
 import com.engineerpro.example.redis.model.Post;
 import com.engineerpro.example.redis.model.UserFollowing;
 import com.engineerpro.example.redis.repository.FeedRepository;
+import com.engineerpro.example.redis.repository.FollowGraph;
 import com.engineerpro.example.redis.repository.FollowerRepository;
 import com.engineerpro.example.redis.repository.NotificationRepository;
 import com.engineerpro.example.redis.service.feed.PostService;
@@ -39,6 +41,9 @@ public class PushFeedConsumer {
     @Autowired
     FollowerRepository followerRepository;
 
+    @Autowired
+    FollowGraph followGraph;
+
     @Autowired
     NotificationRepository notificationRepository;
 
@@ -53,13 +58,18 @@ public class PushFeedConsumer {
             Post post = postService.getPost(postId);
             LoggingUtil.logServiceDebug(logger, "Post retrieved for feed update", "postId", postId, "creatorId", post.getCreatedBy().getId());
 
-            List<UserFollowing> followerList = followerRepository.findByFollowingUserId(post.getCreatedBy().getId());
+            int creatorId = post.getCreatedBy().getId();
+            List<Integer> followerList = followGraph.isReady()
+                    ? Arrays.stream(followGraph.followers(creatorId).toArray()).boxed().toList()
+                    : followerRepository.findByFollowingUserId(creatorId).stream()
+                            .map(UserFollowing::getFollowerUserId).toList();
             LoggingUtil.logServiceDebug(logger, "Followers found for post creator", "followerCount", followerList.size());
 
-            for (UserFollowing userFollowing : followerList) {
-                LoggingUtil.logServiceDebug(logger, "Adding post to follower's feed", "followerId", userFollowing.getFollowerUserId(), "postId", postId);
-                feedRepository.addPostToFeed(post.getId(), userFollowing.getFollowerUserId());
+            for (Integer followerId : followerList) {
+                LoggingUtil.logServiceDebug(logger, "Adding post to follower's feed", "followerId", followerId, "postId", postId);
+                feedRepository.addPostToFeed(post.getId(), followerId);
             }
+            feedRepository.invalidateLocalFeeds(followerList);
             
             LoggingUtil.logBusinessEvent(logger, "Feed update completed successfully", "postId", postId, "followerCount", followerList.size());
         } catch (Exception e) {
@@ -9,8 +9,10 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.engineerpro.example.redis.exception.CommentNotFoundException;
+import com.engineerpro.example.redis.exception.InvalidInputException;
 import com.engineerpro.example.redis.exception.NoPermissionException;
 import com.engineerpro.example.redis.exception.PostNotFoundException;
+import com.engineerpro.example.redis.exception.TooManyRequestsException;
 import com.engineerpro.example.redis.exception.UserNotFoundException;
 
 @RestControllerAdvice()
@@ -20,13 +22,17 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
 			UserNotFoundException.class, HttpStatus.NOT_FOUND,
 			PostNotFoundException.class, HttpStatus.NOT_FOUND,
 			CommentNotFoundException.class, HttpStatus.NOT_FOUND,
-			NoPermissionException.class, HttpStatus.FORBIDDEN);
+			NoPermissionException.class, HttpStatus.FORBIDDEN,
+			InvalidInputException.class, HttpStatus.BAD_REQUEST,
+			TooManyRequestsException.class, HttpStatus.TOO_MANY_REQUESTS);
 
 	private static final Map<Class<? extends RuntimeException>, String> EXCEPTION_TO_ERROR_CODE = Map.of(
 			UserNotFoundException.class, "USER_NOT_FOUND",
 			PostNotFoundException.class, "POST_NOT_FOUND",
 			CommentNotFoundException.class, "COMMENT_NOT_FOUND",
-			NoPermissionException.class, "NO_PERMISSION");
+			NoPermissionException.class, "NO_PERMISSION",
+			InvalidInputException.class, "INVALID_INPUT",
+			TooManyRequestsException.class, "TOO_MANY_REQUESTS");
 
 	@ExceptionHandler()
 	ResponseEntity<ApiExceptionResponse> handleUserNotFoundException(RuntimeException exception) {
@@ -14,7 +14,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -25,7 +27,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "post")
+// Profile grids page by author in (created_at, id) order
+@Table(name = "post", indexes = @Index(name = "idx_post_created_by_created", columnList = "created_by_id, created_at, id"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -53,14 +56,24 @@ public class Post {
   @Column(name = "created_at")
   private Date createdAt;
 
+  // Not serialized: comments are listed page by page through GET /comments/post/{postId}
   @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
-  @JsonProperty("comments")
+  @JsonIgnore
   private List<Comment> comments;
 
+  // Not serialized: likers are listed page by page through GET /posts/{id}/likes
   @ManyToMany
-  @JsonProperty("userLikes")
+  @JoinTable(name = "post_user_likes", joinColumns = @JoinColumn(name = "post_id"), inverseJoinColumns = @JoinColumn(name = "user_likes_id"))
+  @JsonIgnore
   private Set<Profile> userLikes;
 
+  // Denormalized counters, maintained by PostCounterService (Redis + write-behind)
+  @Column(name = "like_count", insertable = false, updatable = false, columnDefinition = "int not null default 0")
+  private int likeCount;
+
+  @Column(name = "comment_count", insertable = false, updatable = false, columnDefinition = "int not null default 0")
+  private int commentCount;
+
   // Custom toString method to avoid circular references and lazy initialization
   // issues
   @Override
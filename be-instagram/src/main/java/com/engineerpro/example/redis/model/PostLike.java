@@ -0,0 +1,53 @@
+package com.engineerpro.example.redis.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the post likes join table (the table behind Post.userLikes).
+ * Mapped directly so a like or unlike is a single-row insert or delete.
+ */
+@Entity
+@Table(name = "post_user_likes", indexes = {
+    // Serves the keyset-paginated likers list of a post, newest first
+    @Index(name = "idx_post_likes_post_created", columnList = "post_id, created_at, user_likes_id"),
+    // Serves a profile's liked posts tab, most recently liked first
+    @Index(name = "idx_post_likes_profile_created", columnList = "user_likes_id, created_at, post_id")
+})
+@IdClass(PostLike.PostLikeId.class)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostLike {
+  @Id
+  @Column(name = "post_id")
+  private int postId;
+
+  @Id
+  @Column(name = "user_likes_id")
+  private int profileId;
+
+  // Filled by the database, existing rows get the time the column was added
+  @Column(name = "created_at", insertable = false, updatable = false, columnDefinition = "datetime(6) not null default current_timestamp(6)")
+  private LocalDateTime createdAt;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class PostLikeId implements Serializable {
+    private int postId;
+    private int profileId;
+  }
+}
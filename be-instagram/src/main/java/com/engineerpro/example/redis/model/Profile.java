@@ -1,22 +1,27 @@
 package com.engineerpro.example.redis.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "profile")
+// One profile per user, see ProfileDuplicateCleanup for existing databases
+@Table(name = "profile", uniqueConstraints = @UniqueConstraint(name = "uk_profile_user", columnNames = "user_id"),
+    // Serves the most-followed list in ProfileRepository.findPopularIds without a filesort
+    indexes = @Index(name = "idx_profile_follower_count", columnList = "follower_count DESC, id"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -29,7 +34,8 @@ public class Profile {
   
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false)
-  @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "authorities", "password"})
+  // Lazy and never serialized: with open-in-view off it cannot be loaded during rendering
+  @JsonIgnore
   private User user;
   
   @Column(name = "profile_image_url", length = 1000)
@@ -44,6 +50,20 @@ public class Profile {
   @Column(name = "bio", length = 1000)
   private String bio;
 
+  // Maintained by ProfileCounterService; read-only here so saving a stale profile never overwrites them.
+  // Exposed through GetProfileResponse rather than on the entity itself.
+  @Column(name = "follower_count", insertable = false, updatable = false, columnDefinition = "int not null default 0")
+  @JsonIgnore
+  private int followerCount;
+
+  @Column(name = "following_count", insertable = false, updatable = false, columnDefinition = "int not null default 0")
+  @JsonIgnore
+  private int followingCount;
+
+  @Column(name = "post_count", insertable = false, updatable = false, columnDefinition = "int not null default 0")
+  @JsonIgnore
+  private int postCount;
+
   // Getter for user ID to maintain frontend compatibility
   public Long getUserId() {
     return user != null ? user.getId() : null;
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -16,7 +17,10 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "user_following", uniqueConstraints = {
-    @UniqueConstraint(columnNames = { "followerUserId", "followingUserId" }) })
+    @UniqueConstraint(columnNames = { "followerUserId", "followingUserId" }) }, indexes = {
+    // Keyset pages of a profile's followers and followings by edge ID, and their counts
+    @Index(name = "idx_user_following_following", columnList = "followingUserId, id"),
+    @Index(name = "idx_user_following_follower", columnList = "followerUserId, id") })
 @Data
 @Builder
 @AllArgsConstructor
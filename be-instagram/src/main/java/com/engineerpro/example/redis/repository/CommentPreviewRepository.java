@@ -0,0 +1,162 @@
+package com.engineerpro.example.redis.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import com.engineerpro.example.redis.dto.feed.CommentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cached comment previews per post card: post:preview:{id} holds the JSON list
+ * of the latest comments, including an empty list for posts without comments.
+ *
+ * Every eviction bumps post:preview:{id}:version. A loader reads the versions
+ * before querying the comments and writes a preview back only while its
+ * version is unchanged, so a preview loaded before an eviction is not cached.
+ */
+@Repository
+public class CommentPreviewRepository {
+    private static final String PREVIEW_KEY_PREFIX = "post:preview:";
+    private static final String VERSION_SUFFIX = ":version";
+    private static final int EVICT_BATCH_SIZE = 500;
+    private static final TypeReference<List<CommentResponse>> PREVIEW_TYPE = new TypeReference<>() {
+    };
+
+    // Preview and version key per post in KEYS; TTL, then JSON and expected version per post in ARGV
+    private static final RedisScript<Long> PUT_IF_VERSION = new DefaultRedisScript<>(
+            "local stored = 0 "
+                    + "for i = 1, #KEYS / 2 do "
+                    + "if (redis.call('GET', KEYS[i * 2]) or '') == ARGV[i * 2 + 1] then "
+                    + "redis.call('SET', KEYS[i * 2 - 1], ARGV[i * 2], 'PX', ARGV[1]) "
+                    + "stored = stored + 1 "
+                    + "end "
+                    + "end "
+                    + "return stored",
+            Long.class);
+
+    // Preview and version key per post in KEYS; the version outlives any load started before it
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS / 2 do "
+                    + "redis.call('DEL', KEYS[i * 2 - 1]) "
+                    + "redis.call('INCR', KEYS[i * 2]) "
+                    + "redis.call('PEXPIRE', KEYS[i * 2], ARGV[1]) "
+                    + "end "
+                    + "return #KEYS / 2",
+            Long.class);
+
+    @Value("${post.comment-preview.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @return postId -> preview for every cached post; misses and unreadable entries are absent
+     */
+    public Map<Integer, List<CommentResponse>> getPreviews(List<Integer> postIds) {
+        Map<Integer, List<CommentResponse>> previews = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return previews;
+        }
+        List<String> values = stringRedisTemplate.opsForValue()
+                .multiGet(postIds.stream().map(this::previewKey).toList());
+        if (values == null) {
+            return previews;
+        }
+        for (int i = 0; i < postIds.size(); i++) {
+            String json = values.get(i);
+            if (json == null) {
+                continue;
+            }
+            try {
+                previews.put(postIds.get(i), objectMapper.readValue(json, PREVIEW_TYPE));
+            } catch (JsonProcessingException e) {
+                // Treated as a miss and overwritten by the caller
+            }
+        }
+        return previews;
+    }
+
+    /**
+     * Read before loading previews from the database and passed to {@link #putPreviews}.
+     * @return postId -> version, empty when the post's preview was never evicted
+     */
+    public Map<Integer, String> getVersions(List<Integer> postIds) {
+        Map<Integer, String> versions = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return versions;
+        }
+        List<String> values = stringRedisTemplate.opsForValue()
+                .multiGet(postIds.stream().map(this::versionKey).toList());
+        for (int i = 0; i < postIds.size(); i++) {
+            String version = values != null ? values.get(i) : null;
+            versions.put(postIds.get(i), version != null ? version : "");
+        }
+        return versions;
+    }
+
+    /**
+     * Caches previews whose post has not been evicted since its version was read.
+     */
+    public void putPreviews(Map<Integer, List<CommentResponse>> previews, Map<Integer, String> versions) {
+        if (previews.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(previews.size() * 2);
+        List<String> args = new ArrayList<>(previews.size() * 2 + 1);
+        args.add(String.valueOf(ttlMs));
+        for (Map.Entry<Integer, List<CommentResponse>> entry : previews.entrySet()) {
+            try {
+                String json = objectMapper.writeValueAsString(entry.getValue());
+                keys.add(previewKey(entry.getKey()));
+                keys.add(versionKey(entry.getKey()));
+                args.add(json);
+                args.add(versions.getOrDefault(entry.getKey(), ""));
+            } catch (JsonProcessingException e) {
+                // Skip caching this entry, it is simply loaded again next time
+            }
+        }
+        if (!keys.isEmpty()) {
+            stringRedisTemplate.execute(PUT_IF_VERSION, keys, args.toArray());
+        }
+    }
+
+    public void delete(int postId) {
+        delete(List.of(postId));
+    }
+
+    public void delete(Collection<Integer> postIds) {
+        List<Integer> ids = new ArrayList<>(postIds);
+        for (int from = 0; from < ids.size(); from += EVICT_BATCH_SIZE) {
+            List<String> keys = new ArrayList<>();
+            for (Integer postId : ids.subList(from, Math.min(from + EVICT_BATCH_SIZE, ids.size()))) {
+                keys.add(previewKey(postId));
+                keys.add(versionKey(postId));
+            }
+            stringRedisTemplate.execute(EVICT, keys, String.valueOf(ttlMs));
+        }
+    }
+
+    private String previewKey(int postId) {
+        return PREVIEW_KEY_PREFIX + postId;
+    }
+
+    private String versionKey(int postId) {
+        return PREVIEW_KEY_PREFIX + postId + VERSION_SUFFIX;
+    }
+}
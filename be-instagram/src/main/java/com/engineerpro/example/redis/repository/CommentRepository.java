@@ -1,10 +1,54 @@
 package com.engineerpro.example.redis.repository;
 
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.engineerpro.example.redis.dto.feed.CommentResponse;
 import com.engineerpro.example.redis.model.Comment;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
+  // Comment counts per post, used to seed counters
+  @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+  List<Object[]> countByPostIds(@Param("postIds") List<Integer> postIds);
+
+  // First page of comments on a post, oldest first
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.CommentResponse(" +
+         "c.id, c.content, c.createdAt, a.id, a.username, a.displayName, a.profileImageUrl) " +
+         "FROM Comment c JOIN c.createdBy a " +
+         "WHERE c.post.id = :postId " +
+         "ORDER BY c.createdAt ASC, c.id ASC")
+  List<CommentResponse> findPageByPostId(@Param("postId") int postId, Pageable pageable);
+
+  // Following pages: rows strictly after the (createdAt, id) of the last row returned
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.CommentResponse(" +
+         "c.id, c.content, c.createdAt, a.id, a.username, a.displayName, a.profileImageUrl) " +
+         "FROM Comment c JOIN c.createdBy a " +
+         "WHERE c.post.id = :postId " +
+         "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+         "ORDER BY c.createdAt ASC, c.id ASC")
+  List<CommentResponse> findPageByPostIdAfter(@Param("postId") int postId, @Param("createdAt") Date createdAt,
+      @Param("id") int id, Pageable pageable);
+
+  // Latest comments of each post with their authors in one round trip. LATERAL keeps it a
+  // bounded index range scan per post on (post_id, created_at, id), even for viral posts.
+  @Query(value = "SELECT c.id, c.post_id, c.comment, c.created_at, " +
+         "a.id AS author_id, a.username, a.display_name, a.profile_image_url " +
+         "FROM post p " +
+         "CROSS JOIN LATERAL (SELECT ci.id, ci.post_id, ci.comment, ci.created_at, ci.profile_id " +
+         "  FROM comment ci WHERE ci.post_id = p.id " +
+         "  ORDER BY ci.created_at DESC, ci.id DESC LIMIT :perPost) c " +
+         "JOIN profile a ON a.id = c.profile_id " +
+         "WHERE p.id IN :postIds", nativeQuery = true)
+  List<Object[]> findLatestByPostIds(@Param("postIds") List<Integer> postIds, @Param("perPost") int perPost);
+
+  // Posts a profile has commented on, whose previews may show its name
+  @Query(value = "SELECT DISTINCT post_id FROM comment WHERE profile_id = :profileId", nativeQuery = true)
+  List<Integer> findPostIdsByProfileId(@Param("profileId") int profileId);
 }
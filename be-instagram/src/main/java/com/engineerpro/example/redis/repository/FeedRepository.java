@@ -1,5 +1,7 @@
 package com.engineerpro.example.redis.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -14,7 +16,14 @@ public class FeedRepository {
     @Autowired
     private RedisTemplate<String, Long> redisTemplate;
 
+    @Autowired
+    private LocalFeedCache localFeedCache;
+
     public Long getFeedSize(int profileId) {
+        Long cachedSize = localFeedCache.getSize(profileId);
+        if (cachedSize != null) {
+            return cachedSize;
+        }
         String feedKey = FEED_KEY_PREFIX + profileId;
         return redisTemplate.opsForList().size(feedKey);
     }
@@ -22,6 +31,7 @@ public class FeedRepository {
     public void addPostToFeed(int postId, int profileId) {
         String feedKey = FEED_KEY_PREFIX + profileId;
         redisTemplate.opsForList().leftPush(feedKey, Long.valueOf(postId));
+        localFeedCache.invalidate(profileId);
         // uncomment if need to limit the number of posts in the feed
         // redisTemplate.opsForList().trim(feedKey, 0, 1000); // Keep only the latest
         // 1000 posts
@@ -31,21 +41,56 @@ public class FeedRepository {
         String feedKey = FEED_KEY_PREFIX + profileId;
         int start = (page - 1) * limit;
         int end = start + limit - 1;
+
+        List<Long> cached = localFeedCache.getRange(profileId, start, limit);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Hot reader whose page fits in the cached head: load the head once and serve from L1
+        int headSize = localFeedCache.getMaxPostsPerFeed();
+        if (start >= 0 && end < headSize && localFeedCache.shouldAdmit(profileId)) {
+            // A fan-out write landing after this read invalidates the feed, and put then skips the stale head
+            long epoch = localFeedCache.epoch(profileId);
+            List<Long> head = redisTemplate.opsForList().range(feedKey, 0, headSize - 1);
+            Long totalSize = redisTemplate.opsForList().size(feedKey);
+            if (head != null && totalSize != null) {
+                localFeedCache.put(profileId, epoch, head, totalSize);
+                return head.subList(Math.min(start, head.size()), Math.min(end + 1, head.size()));
+            }
+        }
+
         return redisTemplate.opsForList().range(feedKey, start, end);
     }
 
     /**
-     * Remove a post from all feeds when it's deleted
+     * Drop the local copies of feeds that just received a fan-out write,
+     * on this instance and on every other instance
+     * @param profileIds The owners of the updated feeds
+     */
+    public void invalidateLocalFeeds(Collection<Integer> profileIds) {
+        localFeedCache.broadcastInvalidation(profileIds);
+    }
+
+    /**
+     * Remove a post from all feeds when it's deleted, and drop the local
+     * copies of only the feeds that held it
      * @param postId The ID of the post to remove
      */
     public void removePostFromAllFeeds(int postId) {
         // Get all feed keys
         Set<String> keys = redisTemplate.keys(FEED_KEY_PREFIX + "*");
-        if (keys != null) {
-            for (String key : keys) {
-                // Remove the post ID from this feed
-                redisTemplate.opsForList().remove(key, 0, Long.valueOf(postId));
+        if (keys == null) {
+            return;
+        }
+        List<Integer> affected = new ArrayList<>();
+        for (String key : keys) {
+            // Remove the post ID from this feed
+            Long removed = redisTemplate.opsForList().remove(key, 0, Long.valueOf(postId));
+            if (removed != null && removed > 0) {
+                affected.add(Integer.valueOf(key.substring(FEED_KEY_PREFIX.length())));
             }
         }
+        localFeedCache.broadcastInvalidation(affected);
     }
 }
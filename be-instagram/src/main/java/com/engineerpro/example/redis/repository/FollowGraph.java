@@ -0,0 +1,327 @@
+package com.engineerpro.example.redis.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.engineerpro.example.redis.util.IntBitmap;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process index of the whole follow graph.
+ *
+ * Each direction is an array indexed by profile ID holding an immutable
+ * {@link IntBitmap} of neighbours, so "who does X follow", "who follows X"
+ * and "does A follow B" are answered without touching MySQL, and neighbour
+ * sets can be intersected directly. The graph is built from user_following
+ * by two keyset scans, one per direction, and kept current by follow and
+ * unfollow events broadcast to every instance on {@link #EDGE_CHANNEL}.
+ * Events that arrive during a build are replayed onto the new graph before
+ * it replaces the old one; a scheduled rebuild repairs anything a missed
+ * broadcast left behind. Callers fall back to MySQL until {@link #isReady()}.
+ */
+@Component
+public class FollowGraph implements MessageListener {
+
+    public static final String EDGE_CHANNEL = "follow-graph:edges";
+    private static final int MIN_CAPACITY = 1024;
+
+    private static final Logger logger = LoggingUtil.getLogger(FollowGraph.class);
+
+    @Value("${profile.follow-graph.enabled:true}")
+    private boolean enabled;
+
+    @Value("${profile.follow-graph.build-on-startup:true}")
+    private boolean buildOnStartup;
+
+    @Value("${profile.follow-graph.scan-batch-size:10000}")
+    private int scanBatchSize;
+
+    @Autowired
+    private FollowerRepository followerRepository;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Adjacency following = new Adjacency(new IntBitmap[0]);
+    private volatile Adjacency followers = new Adjacency(new IntBitmap[0]);
+    private volatile boolean ready;
+    private volatile long edgeCount;
+    private volatile long estimatedBytes;
+
+    private final Object writeLock = new Object();
+    private final AtomicBoolean building = new AtomicBoolean();
+    // Edge changes seen while a build is running, replayed onto the new graph; guarded by writeLock
+    private List<int[]> pendingChanges;
+
+    /**
+     * One direction of the graph. Slots are replaced, never mutated, so readers
+     * need no lock; writers hold the graph's write lock.
+     */
+    private static final class Adjacency {
+        private volatile AtomicReferenceArray<IntBitmap> sets;
+
+        Adjacency(IntBitmap[] sets) {
+            this.sets = new AtomicReferenceArray<>(sets);
+        }
+
+        IntBitmap get(int profileId) {
+            AtomicReferenceArray<IntBitmap> current = sets;
+            IntBitmap set = profileId >= 0 && profileId < current.length() ? current.get(profileId) : null;
+            return set != null ? set : IntBitmap.empty();
+        }
+
+        void update(int profileId, UnaryOperator<IntBitmap> change) {
+            AtomicReferenceArray<IntBitmap> current = sets;
+            if (profileId >= current.length()) {
+                AtomicReferenceArray<IntBitmap> grown = new AtomicReferenceArray<>(
+                        Math.max(profileId + 1, current.length() + (current.length() >> 1)));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                sets = grown;
+                current = grown;
+            }
+            IntBitmap next = change.apply(get(profileId));
+            current.set(profileId, next.isEmpty() ? null : next);
+        }
+
+        long estimatedBytes() {
+            AtomicReferenceArray<IntBitmap> current = sets;
+            long bytes = 16 + current.length() * 4L;
+            for (int i = 0; i < current.length(); i++) {
+                IntBitmap set = current.get(i);
+                if (set != null) {
+                    bytes += set.sizeInBytes();
+                }
+            }
+            return bytes;
+        }
+    }
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("follow.graph.ready", this, graph -> graph.ready ? 1 : 0).register(meterRegistry);
+        Gauge.builder("follow.graph.edges", this, graph -> graph.edgeCount).register(meterRegistry);
+        Gauge.builder("follow.graph.bytes", this, graph -> graph.estimatedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (buildOnStartup) {
+            // Serve from MySQL while the first build runs rather than hold up startup
+            rebuildInBackground();
+        }
+    }
+
+    /**
+     * Rebuilds off the scheduler thread so counter flushes keep running during a build.
+     */
+    @Scheduled(cron = "${profile.follow-graph.rebuild-cron:0 15 4 * * *}")
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "follow-graph-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public IntBitmap following(int profileId) {
+        return following.get(profileId);
+    }
+
+    public IntBitmap followers(int profileId) {
+        return followers.get(profileId);
+    }
+
+    public boolean follows(int followerId, int followingId) {
+        return following.get(followerId).contains(followingId);
+    }
+
+    /**
+     * Applies a new edge here and broadcasts it to every other instance.
+     */
+    public void recordFollow(int followerId, int followingId) {
+        broadcast(true, followerId, followingId);
+    }
+
+    public void recordUnfollow(int followerId, int followingId) {
+        broadcast(false, followerId, followingId);
+    }
+
+    public void rebuild() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            synchronized (writeLock) {
+                pendingChanges = new ArrayList<>();
+            }
+            Adjacency nextFollowing = new Adjacency(scan(true));
+            Adjacency nextFollowers = new Adjacency(scan(false));
+
+            int replayed;
+            synchronized (writeLock) {
+                replayed = pendingChanges.size();
+                for (int[] change : pendingChanges) {
+                    apply(nextFollowing, nextFollowers, change[0] == 1, change[1], change[2]);
+                }
+                pendingChanges = null;
+                long edges = 0;
+                for (int i = 0; i < nextFollowing.sets.length(); i++) {
+                    IntBitmap set = nextFollowing.sets.get(i);
+                    edges += set != null ? set.cardinality() : 0;
+                }
+                edgeCount = edges;
+                following = nextFollowing;
+                followers = nextFollowers;
+                ready = true;
+            }
+            estimatedBytes = nextFollowing.estimatedBytes() + nextFollowers.estimatedBytes();
+            LoggingUtil.logBusinessEvent(logger, "Follow graph built", "edges", edgeCount,
+                    "estimatedBytes", estimatedBytes, "replayedChanges", replayed,
+                    "durationMs", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            synchronized (writeLock) {
+                pendingChanges = null;
+            }
+            LoggingUtil.logServiceWarning(logger, "Failed to build follow graph", "Error", e.getMessage());
+        } finally {
+            building.set(false);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = payload.indexOf(':');
+            apply(payload.charAt(0) == '+', Integer.parseInt(payload.substring(1, separator)),
+                    Integer.parseInt(payload.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            LoggingUtil.logServiceWarning(logger, "Malformed follow graph message", "payload", payload);
+        }
+    }
+
+    private void broadcast(boolean follow, int followerId, int followingId) {
+        if (!enabled) {
+            return;
+        }
+        apply(follow, followerId, followingId);
+        try {
+            stringRedisTemplate.convertAndSend(EDGE_CHANNEL, (follow ? "+" : "-") + followerId + ":" + followingId);
+        } catch (Exception e) {
+            // Other instances catch up at the next rebuild
+            LoggingUtil.logServiceWarning(logger, "Failed to broadcast follow graph change", "followerId", followerId,
+                    "followingId", followingId, "Error", e.getMessage());
+        }
+    }
+
+    private void apply(boolean follow, int followerId, int followingId) {
+        synchronized (writeLock) {
+            // Our own broadcasts come back too; applying an edge twice is a no-op
+            if (apply(following, followers, follow, followerId, followingId)) {
+                edgeCount += follow ? 1 : -1;
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(new int[] { follow ? 1 : 0, followerId, followingId });
+            }
+        }
+    }
+
+    private static boolean apply(Adjacency following, Adjacency followers, boolean follow, int followerId,
+            int followingId) {
+        if (following.get(followerId).contains(followingId) == follow) {
+            return false;
+        }
+        if (follow) {
+            following.update(followerId, set -> set.with(followingId));
+            followers.update(followingId, set -> set.with(followerId));
+        } else {
+            following.update(followerId, set -> set.without(followingId));
+            followers.update(followingId, set -> set.without(followerId));
+        }
+        return true;
+    }
+
+    /**
+     * Reads every edge grouped by one end, in index order, and returns the
+     * neighbour set of each profile indexed by profile ID. Only one profile's
+     * neighbours are buffered at a time.
+     */
+    private IntBitmap[] scan(boolean byFollower) {
+        IntBitmap[] sets = new IntBitmap[MIN_CAPACITY];
+        int[] buffer = new int[64];
+        int length = 0;
+        int current = -1;
+        int lastKey = 0;
+        int lastTieBreak = 0;
+        while (true) {
+            List<Object[]> rows = byFollower
+                    ? followerRepository.scanByFollower(lastKey, lastTieBreak, scanBatchSize)
+                    : followerRepository.scanByFollowing(lastKey, lastTieBreak, scanBatchSize);
+            for (Object[] row : rows) {
+                int profileId = ((Number) row[0]).intValue();
+                if (profileId != current) {
+                    sets = store(sets, current, buffer, length);
+                    current = profileId;
+                    length = 0;
+                }
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, length * 2);
+                }
+                buffer[length++] = ((Number) row[1]).intValue();
+                lastKey = profileId;
+                lastTieBreak = ((Number) row[row.length - 1]).intValue();
+            }
+            if (rows.size() < scanBatchSize) {
+                break;
+            }
+        }
+        return store(sets, current, buffer, length);
+    }
+
+    private static IntBitmap[] store(IntBitmap[] sets, int profileId, int[] buffer, int length) {
+        if (length == 0) {
+            return sets;
+        }
+        if (profileId >= sets.length) {
+            sets = Arrays.copyOf(sets, Math.max(profileId + 1, sets.length + (sets.length >> 1)));
+        }
+        int[] values = Arrays.copyOf(buffer, length);
+        // Followers are scanned in edge order, not profile order
+        Arrays.sort(values);
+        sets[profileId] = IntBitmap.ofSorted(values, length);
+        return sets;
+    }
+}
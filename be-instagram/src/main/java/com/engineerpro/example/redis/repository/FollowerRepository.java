@@ -1,6 +1,8 @@
 package com.engineerpro.example.redis.repository;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,24 +12,55 @@ import com.engineerpro.example.redis.model.UserFollowing;
 
 @Repository
 public interface FollowerRepository extends JpaRepository<UserFollowing, Integer> {
-  @Query(value = "select * from user_following where follower_user_id = :followerUserId LIMIT :limit OFFSET :offset", nativeQuery = true)
-  List<UserFollowing> findByFollowerUserId(@Param(value = "followerUserId") int followerUserId,
-      @Param(value = "limit") int limit,
-      @Param(value = "offset") int offset);
-
   int countByFollowerUserId(int followerUserId);
 
   List<UserFollowing> findByFollowerUserId(int followerUserId);
 
   List<UserFollowing> findByFollowingUserId(int followingUserId);
 
-  @Query(value = "select * from user_following where following_user_id = :followingUserId LIMIT :limit OFFSET :offset", nativeQuery = true)
-  List<UserFollowing> findByFollowingUserId(@Param(value = "followingUserId") int followingUserId,
-      @Param(value = "limit") int limit,
-      @Param(value = "offset") int offset);
-
   int countByFollowingUserId(int followingUserId);
 
+  // One page of a profile's follower edges, newest first, strictly before the given edge ID
+  @Query("SELECT f FROM UserFollowing f WHERE f.followingUserId = :profileId AND f.id < :beforeId ORDER BY f.id DESC")
+  List<UserFollowing> findFollowerEdges(@Param("profileId") int profileId, @Param("beforeId") int beforeId,
+      Pageable pageable);
+
+  // One page of a profile's following edges, newest first, strictly before the given edge ID
+  @Query("SELECT f FROM UserFollowing f WHERE f.followerUserId = :profileId AND f.id < :beforeId ORDER BY f.id DESC")
+  List<UserFollowing> findFollowingEdges(@Param("profileId") int profileId, @Param("beforeId") int beforeId,
+      Pageable pageable);
+
+  // Keyset scans over every edge for building the follow graph, one per direction, each ordered by an index.
+  // The keyset is spelled out rather than a row comparison so MySQL reads it as a range on that index.
+  @Query(value = "SELECT follower_user_id, following_user_id FROM user_following "
+      + "WHERE follower_user_id > :followerId "
+      + "OR (follower_user_id = :followerId AND following_user_id > :followingId) "
+      + "ORDER BY follower_user_id, following_user_id LIMIT :limit", nativeQuery = true)
+  List<Object[]> scanByFollower(@Param("followerId") int followerId, @Param("followingId") int followingId,
+      @Param("limit") int limit);
+
+  @Query(value = "SELECT following_user_id, follower_user_id, id FROM user_following "
+      + "WHERE following_user_id > :followingId OR (following_user_id = :followingId AND id > :edgeId) "
+      + "ORDER BY following_user_id, id LIMIT :limit", nativeQuery = true)
+  List<Object[]> scanByFollowing(@Param("followingId") int followingId, @Param("edgeId") int edgeId,
+      @Param("limit") int limit);
+
+  // Edges in either direction between a profile and any of the given profiles, for batch follow state
+  @Query("SELECT f FROM UserFollowing f WHERE (f.followerUserId = :profileId AND f.followingUserId IN :ids) "
+      + "OR (f.followingUserId = :profileId AND f.followerUserId IN :ids)")
+  List<UserFollowing> findEdgesBetween(@Param("profileId") int profileId, @Param("ids") Collection<Integer> ids);
+
+  // Profiles the viewer follows that also follow the target, driven from the viewer's (bounded) followings
+  @Query("SELECT g.followingUserId FROM UserFollowing g WHERE g.followerUserId = :viewerId AND EXISTS "
+      + "(SELECT 1 FROM UserFollowing f WHERE f.followerUserId = g.followingUserId AND f.followingUserId = :targetId) "
+      + "ORDER BY g.followingUserId")
+  List<Integer> findMutualFollowerIds(@Param("viewerId") int viewerId, @Param("targetId") int targetId,
+      Pageable pageable);
+
+  @Query("SELECT COUNT(g) FROM UserFollowing g WHERE g.followerUserId = :viewerId AND EXISTS "
+      + "(SELECT 1 FROM UserFollowing f WHERE f.followerUserId = g.followingUserId AND f.followingUserId = :targetId)")
+  int countMutualFollowers(@Param("viewerId") int viewerId, @Param("targetId") int targetId);
+
   UserFollowing findByFollowerUserIdAndFollowingUserId(int followerUserId, int followingUserId);
 
   void deleteByFollowerUserIdAndFollowingUserId(int followerUserId, int followingUserId);
@@ -0,0 +1,53 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cluster-wide locks and completion markers for background jobs that every
+ * instance schedules but only one should run at a time.
+ *
+ * job:lock:{name} holds the token of the instance running the job and expires
+ * after the given TTL in case that instance dies. job:done:{name} records that
+ * a one-off job has completed, with no expiry.
+ */
+@Repository
+public class JobLockRepository {
+    private static final String LOCK_PREFIX = "job:lock:";
+    private static final String DONE_PREFIX = "job:done:";
+
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    /**
+     * @return a token for {@link #release}, or null when another instance holds the lock
+     */
+    public String tryLock(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + name, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void release(String name, String token) {
+        stringRedisTemplate.execute(RELEASE_LOCK, List.of(LOCK_PREFIX + name), token);
+    }
+
+    public boolean isDone(String name) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(DONE_PREFIX + name));
+    }
+
+    public void markDone(String name) {
+        stringRedisTemplate.opsForValue().set(DONE_PREFIX + name, String.valueOf(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.engineerpro.example.redis.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Per-profile Bloom filter of liked post IDs, stored as a Redis bitmap.
+ *
+ * A negative answer is definite; a positive answer may be a false positive
+ * (or a like that was since removed, unlikes never clear bits) and must be
+ * confirmed against the database. Bit offsets use double hashing: the caller
+ * sends h1 and h2 and the scripts set or test (h1 + i * h2) mod m for i < k.
+ *
+ * Keys share a hash tag so the scripts stay on one slot:
+ * user:likes:{profileId}:meta (hash m, k, n, ready) and user:likes:{profileId}:bloom.
+ */
+@Repository
+public class LikeFilterRepository {
+    private static final String KEY_PREFIX = "user:likes:{";
+    private static final String TMP_SUFFIX = "}:bloom:tmp";
+
+    // Claim the build: creates a not-ready filter so concurrent likes already land in the bitmap
+    private static final RedisScript<Long> BEGIN_BUILD = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+                    + "redis.call('DEL', KEYS[2]) "
+                    + "redis.call('HSET', KEYS[1], 'm', ARGV[1], 'k', ARGV[2], 'n', 0, 'ready', 0) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[3]) "
+                    + "return 1",
+            Long.class);
+
+    // Merge the snapshot built by the caller into whatever concurrent likes already set
+    private static final RedisScript<Long> COMPLETE_BUILD = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('DEL', KEYS[3]) return 0 end "
+                    + "if redis.call('EXISTS', KEYS[2]) == 1 then "
+                    + "redis.call('BITOP', 'OR', KEYS[2], KEYS[2], KEYS[3]) redis.call('DEL', KEYS[3]) "
+                    + "else redis.call('RENAME', KEYS[3], KEYS[2]) end "
+                    + "redis.call('HINCRBY', KEYS[1], 'n', ARGV[1]) "
+                    + "redis.call('HSET', KEYS[1], 'ready', 1) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    // Returns 1 when added, 0 when there is no filter, and -1 when the filter outgrew
+    // its sizing and was dropped so the next lookup rebuilds it larger
+    private static final RedisScript<Long> ADD = new DefaultRedisScript<>(
+            "local meta = redis.call('HMGET', KEYS[1], 'm', 'k') "
+                    + "if not meta[1] then return 0 end "
+                    + "local m = tonumber(meta[1]) local k = tonumber(meta[2]) "
+                    + "local h1 = tonumber(ARGV[1]) local h2 = tonumber(ARGV[2]) "
+                    + "for i = 0, k - 1 do redis.call('SETBIT', KEYS[2], (h1 + i * h2) % m, 1) end "
+                    + "redis.call('PEXPIRE', KEYS[2], redis.call('PTTL', KEYS[1])) "
+                    + "local n = redis.call('HINCRBY', KEYS[1], 'n', 1) "
+                    + "if n * tonumber(ARGV[3]) > m then redis.call('DEL', KEYS[1], KEYS[2]) return -1 end "
+                    + "return 1",
+            Long.class);
+
+    // One 0/1 per (h1, h2) pair, or {-1} when the filter is missing or still building; a nil
+    // reply would reach the caller as a one-element list holding null rather than as no list
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MIGHT_CONTAIN = new DefaultRedisScript<>(
+            "local meta = redis.call('HMGET', KEYS[1], 'm', 'k', 'ready') "
+                    + "if meta[3] ~= '1' then return {-1} end "
+                    + "local m = tonumber(meta[1]) local k = tonumber(meta[2]) "
+                    + "local result = {} "
+                    + "for j = 1, #ARGV, 2 do "
+                    + "local h1 = tonumber(ARGV[j]) local h2 = tonumber(ARGV[j + 1]) local found = 1 "
+                    + "for i = 0, k - 1 do "
+                    + "if redis.call('GETBIT', KEYS[2], (h1 + i * h2) % m) == 0 then found = 0 break end "
+                    + "end "
+                    + "result[#result + 1] = found "
+                    + "end "
+                    + "return result",
+            List.class);
+
+    @Value("${post.like-state.filter.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${post.like-state.filter.build-timeout-ms:60000}")
+    private long buildTimeoutMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    /**
+     * @return true when this caller won the right to build the filter
+     */
+    public boolean beginBuild(int profileId, long bits, int hashFunctions) {
+        Long claimed = stringRedisTemplate.execute(BEGIN_BUILD, List.of(metaKey(profileId), bloomKey(profileId)),
+                String.valueOf(bits), String.valueOf(hashFunctions), String.valueOf(buildTimeoutMs));
+        return claimed != null && claimed == 1;
+    }
+
+    public void completeBuild(int profileId, byte[] bitmap, int entries) {
+        byte[] tmpKey = (KEY_PREFIX + profileId + TMP_SUFFIX).getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.stringCommands().set(tmpKey, bitmap);
+            connection.keyCommands().pExpire(tmpKey, buildTimeoutMs);
+            return null;
+        });
+        stringRedisTemplate.execute(COMPLETE_BUILD,
+                List.of(metaKey(profileId), bloomKey(profileId), KEY_PREFIX + profileId + TMP_SUFFIX),
+                String.valueOf(entries), String.valueOf(ttlMs));
+    }
+
+    /**
+     * Adds a post to the profile's filter if one exists.
+     * @param bitsPerEntry density below which the filter is considered full
+     */
+    public void add(int profileId, long h1, long h2, int bitsPerEntry) {
+        stringRedisTemplate.execute(ADD, List.of(metaKey(profileId), bloomKey(profileId)),
+                String.valueOf(h1), String.valueOf(h2), String.valueOf(bitsPerEntry));
+    }
+
+    /**
+     * @param hashes h1, h2 pairs, one pair per post
+     * @return one flag per pair, or null when no ready filter exists
+     */
+    public List<Boolean> mightContain(int profileId, Collection<long[]> hashes) {
+        List<String> args = new ArrayList<>(hashes.size() * 2);
+        for (long[] pair : hashes) {
+            args.add(String.valueOf(pair[0]));
+            args.add(String.valueOf(pair[1]));
+        }
+        List<?> flags = stringRedisTemplate.execute(MIGHT_CONTAIN, List.of(metaKey(profileId), bloomKey(profileId)),
+                args.toArray());
+        if (flags == null || flags.size() != hashes.size()) {
+            return null;
+        }
+        List<Boolean> result = new ArrayList<>(flags.size());
+        for (Object flag : flags) {
+            if (!(flag instanceof Number number) || number.longValue() < 0) {
+                return null;
+            }
+            result.add(number.longValue() == 1);
+        }
+        return result;
+    }
+
+    public void delete(int profileId) {
+        stringRedisTemplate.delete(List.of(metaKey(profileId), bloomKey(profileId)));
+    }
+
+    private String metaKey(int profileId) {
+        return KEY_PREFIX + profileId + "}:meta";
+    }
+
+    private String bloomKey(int profileId) {
+        return KEY_PREFIX + profileId + "}:bloom";
+    }
+}
@@ -0,0 +1,273 @@
+package com.engineerpro.example.redis.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.engineerpro.example.redis.util.FrequencySketch;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process L1 cache for the head of the hottest precomputed feeds.
+ *
+ * Post IDs are stored as packed longs in a single direct buffer split into
+ * fixed-size slots, so the cached data lives off-heap and does not grow the
+ * GC-scanned heap. Only the slot index per profile is kept on-heap. Admission
+ * and eviction follow TinyLFU: a feed is only cached once it is read often
+ * enough, and it only replaces the LRU victim when it is read more often.
+ *
+ * Entries are invalidated on every instance, this one included, through the
+ * {@link #INVALIDATION_CHANNEL} Redis channel; a short TTL bounds staleness
+ * if a broadcast is missed. Every invalidation also bumps an epoch striped by
+ * profile, and a head read before an invalidation of its feed is not cached.
+ */
+@Component
+public class LocalFeedCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "feed:invalidate";
+    private static final int INVALIDATION_BATCH_SIZE = 1000;
+    private static final int EPOCH_STRIPES = 4096;
+
+    private static final Logger logger = LoggingUtil.getLogger(LocalFeedCache.class);
+
+    @Value("${feed.local-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feed.local-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${feed.local-cache.max-posts-per-feed:200}")
+    private int maxPostsPerFeed;
+
+    @Value("${feed.local-cache.min-frequency:3}")
+    private int minFrequency;
+
+    @Value("${feed.local-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private LongBuffer arena;
+    private FrequencySketch sketch;
+    private final Map<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final long[] epochs = new long[EPOCH_STRIPES];
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static class Entry {
+        final int slot;
+        int length;
+        long totalSize;
+        long loadedAt;
+
+        Entry(int slot) {
+            this.slot = slot;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        long bytes = (long) maxEntries * maxPostsPerFeed * Long.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("feed.local-cache exceeds 2GB: " + bytes + " bytes");
+        }
+        arena = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder()).asLongBuffer();
+        for (int slot = 0; slot < maxEntries; slot++) {
+            freeSlots.add(slot);
+        }
+        sketch = new FrequencySketch(maxEntries * 4);
+
+        Gauge.builder("feed.local_cache.entries", this, LocalFeedCache::size).register(meterRegistry);
+        FunctionCounter.builder("feed.local_cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("feed.local_cache.misses", misses, AtomicLong::get).register(meterRegistry);
+
+        LoggingUtil.logBusinessEvent(logger, "Local feed cache initialized",
+            "maxEntries", maxEntries, "maxPostsPerFeed", maxPostsPerFeed, "offHeapBytes", bytes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxPostsPerFeed() {
+        return maxPostsPerFeed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns post IDs [start, start + count) of the cached feed, or null when
+     * the feed is not cached or the range reaches past the cached head.
+     * Every call counts as one access for admission purposes.
+     */
+    public synchronized List<Long> getRange(int profileId, int start, int count) {
+        if (!enabled) {
+            return null;
+        }
+        sketch.increment(profileId);
+        Entry entry = liveEntry(profileId);
+        if (entry == null || start < 0 || (start + count > entry.length && entry.length < entry.totalSize)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        int from = Math.min(start, entry.length);
+        int to = Math.min(start + count, entry.length);
+        long[] ids = new long[to - from];
+        arena.get(entry.slot * maxPostsPerFeed + from, ids, 0, ids.length);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total feed length recorded when the entry was loaded, or null
+     * when the feed is not cached. Does not count as an access.
+     */
+    public synchronized Long getSize(int profileId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = liveEntry(profileId);
+        return entry != null ? entry.totalSize : null;
+    }
+
+    /**
+     * Whether a feed that just missed is hot enough to be loaded into the cache.
+     */
+    public synchronized boolean shouldAdmit(int profileId) {
+        if (!enabled) {
+            return false;
+        }
+        int frequency = sketch.frequency(profileId);
+        if (frequency < minFrequency) {
+            return false;
+        }
+        if (!freeSlots.isEmpty()) {
+            return true;
+        }
+        Integer victim = entries.keySet().iterator().next();
+        return frequency > sketch.frequency(victim);
+    }
+
+    /**
+     * Read before loading a feed head and passed to {@link #put}, which drops
+     * the head if the feed was invalidated in between.
+     */
+    public synchronized long epoch(int profileId) {
+        return epochs[stripe(profileId)];
+    }
+
+    public synchronized void put(int profileId, long epoch, List<Long> head, long totalSize) {
+        if (!enabled || epochs[stripe(profileId)] != epoch) {
+            return;
+        }
+        Entry entry = entries.get(profileId);
+        if (entry == null) {
+            if (freeSlots.isEmpty()) {
+                Iterator<Map.Entry<Integer, Entry>> eldest = entries.entrySet().iterator();
+                Map.Entry<Integer, Entry> victim = eldest.next();
+                if (sketch.frequency(profileId) <= sketch.frequency(victim.getKey())) {
+                    return;
+                }
+                eldest.remove();
+                freeSlots.push(victim.getValue().slot);
+            }
+            entry = new Entry(freeSlots.pop());
+            entries.put(profileId, entry);
+        }
+        int length = Math.min(head.size(), maxPostsPerFeed);
+        int base = entry.slot * maxPostsPerFeed;
+        for (int i = 0; i < length; i++) {
+            arena.put(base + i, head.get(i));
+        }
+        entry.length = length;
+        entry.totalSize = totalSize;
+        entry.loadedAt = System.currentTimeMillis();
+    }
+
+    public synchronized void invalidate(int profileId) {
+        epochs[stripe(profileId)]++;
+        Entry entry = entries.remove(profileId);
+        if (entry != null) {
+            freeSlots.push(entry.slot);
+        }
+    }
+
+    /**
+     * Invalidates the given feeds on every instance; this one receives its
+     * own broadcast like the others.
+     */
+    public void broadcastInvalidation(Collection<Integer> profileIds) {
+        if (!enabled || profileIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(profileIds);
+        for (int from = 0; from < ids.size(); from += INVALIDATION_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + INVALIDATION_BATCH_SIZE, ids.size()));
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                batch.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody());
+        try {
+            for (String id : payload.split(",")) {
+                invalidate(Integer.parseInt(id.trim()));
+            }
+        } catch (NumberFormatException e) {
+            LoggingUtil.logServiceWarning(logger, "Malformed feed invalidation message", "payload", payload);
+        }
+    }
+
+    private static int stripe(int profileId) {
+        return (profileId & Integer.MAX_VALUE) % EPOCH_STRIPES;
+    }
+
+    private Entry liveEntry(int profileId) {
+        Entry entry = entries.get(profileId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt > ttlMs) {
+            entries.remove(profileId);
+            freeSlots.push(entry.slot);
+            return null;
+        }
+        return entry;
+    }
+}
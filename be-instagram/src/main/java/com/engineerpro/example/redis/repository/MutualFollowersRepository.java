@@ -0,0 +1,62 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cached mutual followers per viewer and target: follow:mutuals:{viewer}:{target}
+ * holds the first profile IDs and the total count as JSON. Entries are not
+ * evicted on follow changes and only live for a short TTL.
+ */
+@Repository
+public class MutualFollowersRepository {
+    private static final String KEY_PREFIX = "follow:mutuals:";
+
+    public record Entry(List<Integer> profileIds, int totalCount) {
+    }
+
+    @Value("${profile.mutuals.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @return the cached entry, or null on a miss or an unreadable entry
+     */
+    public Entry get(int viewerId, int targetId) {
+        String json = stringRedisTemplate.opsForValue().get(key(viewerId, targetId));
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Entry.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    public void put(int viewerId, int targetId, Entry entry) {
+        try {
+            stringRedisTemplate.opsForValue().set(key(viewerId, targetId), objectMapper.writeValueAsString(entry),
+                    Duration.ofMillis(ttlMs));
+        } catch (JsonProcessingException e) {
+            // Skip caching, the entry is simply computed again next time
+        }
+    }
+
+    private String key(int viewerId, int targetId) {
+        return KEY_PREFIX + viewerId + ":" + targetId;
+    }
+}
@@ -17,6 +17,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Find notifications for a specific recipient
     List<Notification> findByRecipientOrderByCreatedAtDesc(Profile recipient);
     
+    // Same as above with the sender joined, for building responses outside a persistence session
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.sender WHERE n.recipient = :recipient ORDER BY n.createdAt DESC")
+    List<Notification> findByRecipientWithSender(@Param("recipient") Profile recipient);
+    
     // Find unread notifications for a specific recipient
     List<Notification> findByRecipientAndIsReadFalseOrderByCreatedAtDesc(Profile recipient);
     
@@ -0,0 +1,267 @@
+package com.engineerpro.example.redis.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Redis-backed like and comment counters per post.
+ * Each post has a hash post:counters:{id} with "likes" and "comments" fields.
+ * Every change marks the post dirty so the counts can be written behind to MySQL.
+ *
+ * Counters are seeded from the written-behind columns, which hold exactly the
+ * increments Redis has applied, so the caller of a change that found no
+ * counter applies it after seeding. Counting the source rows instead is exact
+ * only when no change raced the count: a change is registered in
+ * post:counters:{id}:inflight, a sorted set of change tokens scored by start
+ * time, before its source row is written, and post:counters:{id}:changed
+ * records when the last one was applied. Counted values are stored only when
+ * nothing is in flight and nothing was applied since the count started.
+ */
+@Repository
+public class PostCounterRepository {
+    private static final String COUNTER_KEY_PREFIX = "post:counters:";
+    private static final String INFLIGHT_SUFFIX = ":inflight";
+    private static final String CHANGED_SUFFIX = ":changed";
+    private static final String DIRTY_KEY = "post:counters:dirty";
+    public static final String LIKES = "likes";
+    public static final String COMMENTS = "comments";
+
+    private static final RedisScript<Long> BEGIN_CHANGE = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') "
+                    + "redis.call('ZADD', KEYS[1], tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000), ARGV[1]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    // Ends the change and records when it was applied, then increments only when the counter
+    // is already seeded, so a missing key is never mistaken for zero
+    private static final RedisScript<Long> INCREMENT_IF_SEEDED = new DefaultRedisScript<>(
+            "redis.call('ZREM', KEYS[3], ARGV[4]) "
+                    + "local time = redis.call('TIME') "
+                    + "redis.call('SET', KEYS[4], tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000), "
+                    + "'PX', ARGV[5]) "
+                    + "if redis.call('EXISTS', KEYS[1]) == 0 then return false end "
+                    + "local value = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "redis.call('SADD', KEYS[2], ARGV[3]) "
+                    + "return value",
+            Long.class);
+
+    // Sets both counts and the TTL only when the key is absent
+    private static final RedisScript<Long> SEED_IF_ABSENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+                    + "redis.call('HSET', KEYS[1], 'likes', ARGV[1], 'comments', ARGV[2]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[3]) "
+                    + "return 1",
+            Long.class);
+
+    // True when the values counted from ARGV[1] (Redis time before the count) on include every
+    // change: none is in flight and none was applied at or after it. Changes older than the
+    // in-flight TTL are taken to have died before their increment, and a count that took longer
+    // than that TTL is never trusted since its "changed" marker may have expired meanwhile
+    private static final String SETTLED = "local function settled(inflight, changed) "
+            + "local time = redis.call('TIME') "
+            + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+            + "if now - tonumber(ARGV[1]) >= tonumber(ARGV[2]) then return false end "
+            + "redis.call('ZREMRANGEBYSCORE', inflight, '-inf', now - tonumber(ARGV[2])) "
+            + "if redis.call('ZCARD', inflight) > 0 then return false end "
+            + "local at = redis.call('GET', changed) "
+            + "return not at or tonumber(at) < tonumber(ARGV[1]) "
+            + "end ";
+
+    // Stores counted values when the key is absent and the count is settled
+    private static final RedisScript<Long> SEED_COUNTED = new DefaultRedisScript<>(
+            SETTLED
+                    + "if redis.call('EXISTS', KEYS[1]) == 1 or not settled(KEYS[3], KEYS[4]) then return 0 end "
+                    + "redis.call('HSET', KEYS[1], 'likes', ARGV[3], 'comments', ARGV[4]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[5]) "
+                    + "redis.call('SADD', KEYS[2], ARGV[6]) "
+                    + "return 1",
+            Long.class);
+
+    // Overwrites the live counters of many posts with counted values where the count is settled,
+    // keeping their TTLs; KEYS[1] is the dirty set, then counter, in-flight and changed keys per
+    // post, with id, likes and comments per post after ARGV[2]. Returns the ids left unsettled
+    private static final RedisScript<List> OVERWRITE_SETTLED = new DefaultRedisScript<>(
+            SETTLED
+                    + "local skipped = {} "
+                    + "for i = 0, (#KEYS - 1) / 3 - 1 do "
+                    + "local counter = KEYS[2 + i * 3] "
+                    + "local id = ARGV[3 + i * 3] "
+                    + "if redis.call('EXISTS', counter) == 1 then "
+                    + "if settled(KEYS[3 + i * 3], KEYS[4 + i * 3]) then "
+                    + "redis.call('HSET', counter, 'likes', ARGV[4 + i * 3], 'comments', ARGV[5 + i * 3]) "
+                    + "redis.call('SADD', KEYS[1], id) "
+                    + "else table.insert(skipped, id) end "
+                    + "end "
+                    + "end "
+                    + "return skipped",
+            List.class);
+
+    @Value("${post.counters.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${post.counters.inflight-ttl-ms:30000}")
+    private long inflightTtlMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    /**
+     * Registers a change about to be written to the source tables.
+     * @return the token to pass to {@link #increment} or {@link #cancelChange}
+     */
+    public String beginChange(int postId) {
+        String token = UUID.randomUUID().toString();
+        stringRedisTemplate.execute(BEGIN_CHANGE, List.of(inflightKey(postId)), token, String.valueOf(inflightTtlMs));
+        return token;
+    }
+
+    public void cancelChange(int postId, String token) {
+        stringRedisTemplate.opsForZSet().remove(inflightKey(postId), token);
+    }
+
+    /**
+     * Ends the change and applies it.
+     * @return the new value, or null if the counter has not been seeded yet
+     */
+    public Long increment(int postId, String field, long delta, String token) {
+        return stringRedisTemplate.execute(INCREMENT_IF_SEEDED,
+                List.of(counterKey(postId), DIRTY_KEY, inflightKey(postId), changedKey(postId)),
+                field, String.valueOf(delta), String.valueOf(postId), token, String.valueOf(inflightTtlMs));
+    }
+
+    /**
+     * Seeds counters read from the written-behind columns, unless another request seeded first.
+     * @return true when the counts were stored
+     */
+    public boolean seed(int postId, long likes, long comments) {
+        Long seeded = stringRedisTemplate.execute(SEED_IF_ABSENT, List.of(counterKey(postId)),
+                String.valueOf(likes), String.valueOf(comments), String.valueOf(ttlMs));
+        return seeded != null && seeded == 1;
+    }
+
+    /**
+     * Seeds counters counted from the source tables, unless another request seeded first or a
+     * change may have raced the count.
+     * @param countedAt {@link #now()} read before counting
+     * @return true when the counts were stored
+     */
+    public boolean seedCounted(int postId, long likes, long comments, long countedAt) {
+        Long seeded = stringRedisTemplate.execute(SEED_COUNTED,
+                List.of(counterKey(postId), DIRTY_KEY, inflightKey(postId), changedKey(postId)),
+                String.valueOf(countedAt), String.valueOf(inflightTtlMs), String.valueOf(likes),
+                String.valueOf(comments), String.valueOf(ttlMs), String.valueOf(postId));
+        return seeded != null && seeded == 1;
+    }
+
+    /**
+     * Overwrites the live counters of the given posts with values counted from the source tables,
+     * marking them dirty so the columns follow. Posts without counters are left unseeded.
+     * @param counts postId -> [likes, comments]
+     * @param countedAt {@link #now()} read before counting
+     * @return the posts skipped because a change may have raced the count
+     */
+    public List<Integer> overwriteSettled(Map<Integer, long[]> counts, long countedAt) {
+        if (counts.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(counts.size() * 3 + 1);
+        List<String> args = new ArrayList<>(counts.size() * 3 + 2);
+        keys.add(DIRTY_KEY);
+        args.add(String.valueOf(countedAt));
+        args.add(String.valueOf(inflightTtlMs));
+        counts.forEach((postId, postCounts) -> {
+            keys.add(counterKey(postId));
+            keys.add(inflightKey(postId));
+            keys.add(changedKey(postId));
+            args.add(String.valueOf(postId));
+            args.add(String.valueOf(postCounts[0]));
+            args.add(String.valueOf(postCounts[1]));
+        });
+        List<?> skipped = stringRedisTemplate.execute(OVERWRITE_SETTLED, keys, args.toArray());
+        return skipped == null ? List.of() : skipped.stream().map(id -> Integer.valueOf(id.toString())).toList();
+    }
+
+    /**
+     * Redis server time in milliseconds, the clock change and count times are compared on.
+     */
+    public long now() {
+        Long now = stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().time());
+        return now != null ? now : System.currentTimeMillis();
+    }
+
+    /**
+     * Read counters for many posts in one pipelined round trip.
+     * Posts whose counters are not seeded are absent from the result.
+     * @return postId -> [likes, comments]
+     */
+    public Map<Integer, long[]> getCounts(List<Integer> postIds) {
+        Map<Integer, long[]> counts = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return counts;
+        }
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Integer postId : postIds) {
+                    ops.opsForHash().multiGet(counterKey(postId), List.of(LIKES, COMMENTS));
+                }
+                return null;
+            }
+        });
+        for (int i = 0; i < postIds.size(); i++) {
+            List<?> values = (List<?>) results.get(i);
+            if (values != null && values.get(0) != null && values.get(1) != null) {
+                counts.put(postIds.get(i), new long[] {
+                        Long.parseLong(values.get(0).toString()),
+                        Long.parseLong(values.get(1).toString()) });
+            }
+        }
+        return counts;
+    }
+
+    public List<String> popDirty(int count) {
+        List<String> ids = stringRedisTemplate.opsForSet().pop(DIRTY_KEY, count);
+        return ids != null ? ids : List.of();
+    }
+
+    public void markDirty(Set<String> postIds) {
+        if (!postIds.isEmpty()) {
+            stringRedisTemplate.opsForSet().add(DIRTY_KEY, postIds.toArray(new String[0]));
+        }
+    }
+
+    public void delete(int postId) {
+        stringRedisTemplate.delete(List.of(counterKey(postId), inflightKey(postId), changedKey(postId)));
+        stringRedisTemplate.opsForSet().remove(DIRTY_KEY, String.valueOf(postId));
+    }
+
+    private String counterKey(int postId) {
+        return COUNTER_KEY_PREFIX + postId;
+    }
+
+    private String inflightKey(int postId) {
+        return COUNTER_KEY_PREFIX + postId + INFLIGHT_SUFFIX;
+    }
+
+    private String changedKey(int postId) {
+        return COUNTER_KEY_PREFIX + postId + CHANGED_SUFFIX;
+    }
+}
@@ -0,0 +1,81 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.engineerpro.example.redis.dto.feed.PostCard;
+import com.engineerpro.example.redis.dto.feed.PostLikerResponse;
+import com.engineerpro.example.redis.model.PostLike;
+
+@Repository
+public interface PostLikeRepository extends JpaRepository<PostLike, PostLike.PostLikeId> {
+
+  // Idempotent like: returns 1 when the like was added, 0 when it already existed
+  @Modifying
+  @Transactional
+  @Query(value = "INSERT IGNORE INTO post_user_likes (post_id, user_likes_id) VALUES (:postId, :profileId)", nativeQuery = true)
+  int insertLike(@Param("postId") int postId, @Param("profileId") int profileId);
+
+  // Idempotent unlike: returns 1 when the like was removed, 0 when there was none
+  @Modifying
+  @Transactional
+  @Query(value = "DELETE FROM post_user_likes WHERE post_id = :postId AND user_likes_id = :profileId", nativeQuery = true)
+  int deleteLike(@Param("postId") int postId, @Param("profileId") int profileId);
+
+  // First page of likers of a post, newest like first
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostLikerResponse(" +
+         "p.id, p.username, p.displayName, p.profileImageUrl, l.createdAt) " +
+         "FROM PostLike l JOIN Profile p ON p.id = l.profileId " +
+         "WHERE l.postId = :postId " +
+         "ORDER BY l.createdAt DESC, l.profileId DESC")
+  List<PostLikerResponse> findLikers(@Param("postId") int postId, Pageable pageable);
+
+  // Following pages: rows strictly after the (createdAt, profileId) of the last row returned
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostLikerResponse(" +
+         "p.id, p.username, p.displayName, p.profileImageUrl, l.createdAt) " +
+         "FROM PostLike l JOIN Profile p ON p.id = l.profileId " +
+         "WHERE l.postId = :postId " +
+         "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.profileId < :profileId)) " +
+         "ORDER BY l.createdAt DESC, l.profileId DESC")
+  List<PostLikerResponse> findLikersBefore(@Param("postId") int postId, @Param("createdAt") LocalDateTime createdAt,
+      @Param("profileId") int profileId, Pageable pageable);
+
+  // First page of a profile's liked posts, most recently liked first; served by idx_post_likes_profile_created
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostCard(" +
+         "p.id, p.imageUrl, p.videoUrl, p.caption, p.createdAt, " +
+         "a.id, a.username, a.displayName, a.profileImageUrl, p.likeCount, p.commentCount, l.createdAt) " +
+         "FROM PostLike l JOIN Post p ON p.id = l.postId JOIN p.createdBy a " +
+         "WHERE l.profileId = :profileId " +
+         "ORDER BY l.createdAt DESC, l.postId DESC")
+  List<PostCard> findLikedCards(@Param("profileId") int profileId, Pageable pageable);
+
+  // Next page: likes strictly after the (createdAt, postId) of the last like returned
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostCard(" +
+         "p.id, p.imageUrl, p.videoUrl, p.caption, p.createdAt, " +
+         "a.id, a.username, a.displayName, a.profileImageUrl, p.likeCount, p.commentCount, l.createdAt) " +
+         "FROM PostLike l JOIN Post p ON p.id = l.postId JOIN p.createdBy a " +
+         "WHERE l.profileId = :profileId " +
+         "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.postId < :postId)) " +
+         "ORDER BY l.createdAt DESC, l.postId DESC")
+  List<PostCard> findLikedCardsBefore(@Param("profileId") int profileId, @Param("createdAt") LocalDateTime createdAt,
+      @Param("postId") int postId, Pageable pageable);
+
+  // Which of the given posts the profile has liked, one primary key lookup per post
+  @Query("SELECT l.postId FROM PostLike l WHERE l.profileId = :profileId AND l.postId IN :postIds")
+  List<Integer> findLikedPostIds(@Param("profileId") int profileId, @Param("postIds") Collection<Integer> postIds);
+
+  // Every post the profile has liked, used to build its like filter
+  @Query("SELECT l.postId FROM PostLike l WHERE l.profileId = :profileId")
+  List<Integer> findPostIdsByProfileId(@Param("profileId") int profileId);
+
+  long countByProfileId(int profileId);
+}
@@ -1,12 +1,19 @@
 package com.engineerpro.example.redis.repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.engineerpro.example.redis.dto.feed.PostCard;
+import com.engineerpro.example.redis.dto.feed.PostThumbnail;
 import com.engineerpro.example.redis.model.Post;
 import com.engineerpro.example.redis.model.Profile;
 
@@ -25,42 +32,68 @@ public interface PostRepository extends JpaRepository<Post, Integer> {
 
   int countByCreatedBy(Profile createdBy);
 
-  // Custom query to fetch posts with Profile data
-  @Query("SELECT p FROM Post p JOIN FETCH p.createdBy WHERE p.id IN :ids ORDER BY p.createdAt DESC")
-  List<Post> findByIdInWithProfile(@Param("ids") List<Integer> ids);
-
-  // Custom query to fetch posts by user with Profile data
-  @Query("SELECT p FROM Post p JOIN FETCH p.createdBy WHERE p.createdBy.id = :profileId ORDER BY p.createdAt DESC")
-  List<Post> findByCreatedByIdWithProfile(@Param("profileId") int profileId);
-
-  // Custom query to fetch posts by user with all necessary relationships for profile page
-  @Query("SELECT DISTINCT p FROM Post p " +
-         "JOIN FETCH p.createdBy " +
-         "LEFT JOIN FETCH p.comments " +
-         "LEFT JOIN FETCH p.userLikes " +
-         "WHERE p.createdBy.id = :profileId " +
-         "ORDER BY p.createdAt DESC")
-  List<Post> findByCreatedByIdWithAllRelationships(@Param("profileId") int profileId);
-
-  // Custom query to fetch a single post with all relationships for comments modal
-  @Query("SELECT DISTINCT p FROM Post p " +
-         "JOIN FETCH p.createdBy " +
-         "LEFT JOIN FETCH p.comments c " +
-         "LEFT JOIN FETCH c.createdBy " +
-         "LEFT JOIN FETCH p.userLikes " +
-         "WHERE p.id = :postId")
-  Post findByIdWithAllRelationships(@Param("postId") int postId);
-
-  // Custom query to fetch posts with Profile data by profile IDs for feed
-  @Query("SELECT p FROM Post p JOIN FETCH p.createdBy WHERE p.createdBy.id IN :profileIds ORDER BY p.createdAt DESC")
-  List<Post> findByCreatedByProfileIdsWithProfile(@Param("profileIds") List<Integer> profileIds);
-
-  // Custom query to fetch posts liked by a user with all relationships
-  @Query("SELECT DISTINCT p FROM Post p " +
-         "JOIN FETCH p.createdBy " +
-         "LEFT JOIN FETCH p.comments " +
-         "LEFT JOIN FETCH p.userLikes " +
-         "WHERE :profileId IN (SELECT ul.id FROM p.userLikes ul) " +
-         "ORDER BY p.createdAt DESC")
-  List<Post> findByUserLikesIdWithAllRelationships(@Param("profileId") int profileId);
+  // Single post with its author only; comments and likers are paged through their own endpoints
+  @Query("SELECT p FROM Post p JOIN FETCH p.createdBy WHERE p.id = :postId")
+  Optional<Post> findByIdWithProfile(@Param("postId") int postId);
+
+  // Post cards for the given IDs (precomputed feed page)
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostCard(" +
+         "p.id, p.imageUrl, p.videoUrl, p.caption, p.createdAt, " +
+         "a.id, a.username, a.displayName, a.profileImageUrl, p.likeCount, p.commentCount) " +
+         "FROM Post p JOIN p.createdBy a " +
+         "WHERE p.id IN :ids " +
+         "ORDER BY p.createdAt DESC, p.id DESC")
+  List<PostCard> findCardsByIdIn(@Param("ids") List<Integer> ids);
+
+  // One page of post cards by any of the given authors, newest first (dynamic feed)
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostCard(" +
+         "p.id, p.imageUrl, p.videoUrl, p.caption, p.createdAt, " +
+         "a.id, a.username, a.displayName, a.profileImageUrl, p.likeCount, p.commentCount) " +
+         "FROM Post p JOIN p.createdBy a " +
+         "WHERE a.id IN :profileIds " +
+         "ORDER BY p.createdAt DESC, p.id DESC")
+  List<PostCard> findCardsByCreatedByIds(@Param("profileIds") List<Integer> profileIds, Pageable pageable);
+
+  // First page of a profile grid, newest first; served by idx_post_created_by_created
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostThumbnail(" +
+         "p.id, p.imageUrl, p.videoUrl, p.likeCount, p.commentCount, p.createdAt) " +
+         "FROM Post p WHERE p.createdBy.id = :profileId " +
+         "ORDER BY p.createdAt DESC, p.id DESC")
+  List<PostThumbnail> findThumbnails(@Param("profileId") int profileId, Pageable pageable);
+
+  // Next grid page: tiles strictly after the (createdAt, id) of the last tile returned
+  @Query("SELECT new com.engineerpro.example.redis.dto.feed.PostThumbnail(" +
+         "p.id, p.imageUrl, p.videoUrl, p.likeCount, p.commentCount, p.createdAt) " +
+         "FROM Post p WHERE p.createdBy.id = :profileId " +
+         "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+         "ORDER BY p.createdAt DESC, p.id DESC")
+  List<PostThumbnail> findThumbnailsBefore(@Param("profileId") int profileId, @Param("createdAt") Date createdAt,
+      @Param("id") int id, Pageable pageable);
+
+  // Like counts per post straight from the join table, used to seed counters
+  @Query(value = "SELECT post_id, COUNT(*) FROM post_user_likes WHERE post_id IN :ids GROUP BY post_id", nativeQuery = true)
+  List<Object[]> countLikesByPostIds(@Param("ids") List<Integer> ids);
+
+  // Stored counters, used to seed Redis once they have been backfilled
+  @Query(value = "SELECT id, like_count, comment_count FROM post WHERE id IN :ids", nativeQuery = true)
+  List<Object[]> findCountersByIds(@Param("ids") List<Integer> ids);
+
+  // Write-behind of the Redis counters
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE post SET like_count = :likeCount, comment_count = :commentCount WHERE id = :postId", nativeQuery = true)
+  int updateCounters(@Param("postId") int postId, @Param("likeCount") long likeCount,
+      @Param("commentCount") long commentCount);
+
+  // Periodic reconciliation of the stored counters against the source tables
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE post p SET " +
+         "p.like_count = (SELECT COUNT(*) FROM post_user_likes l WHERE l.post_id = p.id), " +
+         "p.comment_count = (SELECT COUNT(*) FROM comment c WHERE c.post_id = p.id) " +
+         "WHERE p.id BETWEEN :fromId AND :toId", nativeQuery = true)
+  int reconcileCounters(@Param("fromId") int fromId, @Param("toId") int toId);
+
+  @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+  int findMaxId();
 }
@@ -0,0 +1,136 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cached profile page responses.
+ *
+ * profile:cache:{id} holds the GetProfileResponse JSON and
+ * profile:cache:username:{username} maps a username to its profile ID. A
+ * loader first takes profile:cache:{id}:lock and only writes the entry while
+ * it still holds that lock; eviction deletes the lock too, so a load that
+ * raced with an update never writes back the stale response.
+ */
+@Repository
+public class ProfileCacheRepository {
+    private static final String KEY_PREFIX = "profile:cache:";
+    private static final String USERNAME_KEY_PREFIX = "profile:cache:username:";
+
+    private static final RedisScript<Long> PUT_IF_LOCK_HELD = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[4]) "
+                    + "redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[4]) "
+                    + "redis.call('DEL', KEYS[2]) "
+                    + "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    @Value("${profile.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${profile.cache.lock-ttl-ms:3000}")
+    private long lockTtlMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @return the cached response, or null on a miss or an unreadable entry
+     */
+    public GetProfileResponse get(int profileId) {
+        String json = stringRedisTemplate.opsForValue().get(entryKey(profileId));
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, GetProfileResponse.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    public Integer getIdByUsername(String username) {
+        String id = stringRedisTemplate.opsForValue().get(usernameKey(username));
+        return id != null ? Integer.valueOf(id) : null;
+    }
+
+    /**
+     * @return a token to pass to {@link #putIfLockHeld}, or null when another loader holds the lock
+     */
+    public String tryLock(int profileId) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent(lockKey(profileId), token, Duration.ofMillis(lockTtlMs));
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * Writes the entry and its username mapping and releases the lock, unless
+     * the entry was evicted since the lock was taken.
+     */
+    public boolean putIfLockHeld(GetProfileResponse response, String token) {
+        int profileId = response.getProfile().getId();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            releaseLock(profileId, token);
+            return false;
+        }
+        // Jitter so entries loaded together do not all expire together
+        long ttl = ttlMs + ThreadLocalRandom.current().nextLong(ttlMs / 10 + 1);
+        Long written = stringRedisTemplate.execute(PUT_IF_LOCK_HELD,
+                List.of(entryKey(profileId), lockKey(profileId), usernameKey(response.getProfile().getUsername())),
+                token, json, String.valueOf(profileId), String.valueOf(ttl));
+        return written != null && written == 1;
+    }
+
+    public void releaseLock(int profileId, String token) {
+        stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey(profileId)), token);
+    }
+
+    public void putUsername(String username, int profileId) {
+        stringRedisTemplate.opsForValue().set(usernameKey(username), String.valueOf(profileId),
+                Duration.ofMillis(ttlMs));
+    }
+
+    public void evict(int profileId) {
+        stringRedisTemplate.delete(List.of(entryKey(profileId), lockKey(profileId)));
+    }
+
+    public void evictUsername(String username) {
+        stringRedisTemplate.delete(usernameKey(username));
+    }
+
+    private String entryKey(int profileId) {
+        return KEY_PREFIX + profileId;
+    }
+
+    private String lockKey(int profileId) {
+        return KEY_PREFIX + profileId + ":lock";
+    }
+
+    private String usernameKey(String username) {
+        return USERNAME_KEY_PREFIX + username.toLowerCase();
+    }
+}
@@ -0,0 +1,102 @@
+package com.engineerpro.example.redis.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.engineerpro.example.redis.model.Profile;
+
+/**
+ * Statements of the one-time cleanup of users with more than one profile.
+ * Every duplicate is merged into the user's oldest profile: rows pointing at
+ * a duplicate are moved to the kept profile, rows that would then collide
+ * with an existing one are dropped, and the duplicates are deleted last.
+ * Each statement is idempotent, so a cleanup interrupted halfway is finished
+ * by running it again.
+ */
+public interface ProfileDuplicateRepository extends Repository<Profile, Integer> {
+
+  // Each duplicate profile with the oldest profile of the same user
+  String DUPLICATES = "(SELECT p.id AS duplicate_id, k.keep_id FROM profile p "
+      + "JOIN (SELECT user_id, MIN(id) AS keep_id FROM profile GROUP BY user_id HAVING COUNT(*) > 1) k "
+      + "ON k.user_id = p.user_id AND p.id <> k.keep_id)";
+
+  @Query(value = "SELECT COUNT(*) FROM information_schema.table_constraints "
+      + "WHERE table_schema = DATABASE() AND table_name = 'profile' AND constraint_name = 'uk_profile_user'",
+      nativeQuery = true)
+  int countUserUniqueConstraint();
+
+  @Query(value = "SELECT COUNT(*) FROM " + DUPLICATES + " d", nativeQuery = true)
+  int countDuplicates();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE post t JOIN " + DUPLICATES + " d ON t.created_by_id = d.duplicate_id "
+      + "SET t.created_by_id = d.keep_id", nativeQuery = true)
+  int movePosts();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE comment t JOIN " + DUPLICATES + " d ON t.profile_id = d.duplicate_id "
+      + "SET t.profile_id = d.keep_id", nativeQuery = true)
+  int moveComments();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE notification t JOIN " + DUPLICATES + " d ON t.to_user = d.duplicate_id "
+      + "SET t.to_user = d.keep_id", nativeQuery = true)
+  int moveReceivedNotifications();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE notification t JOIN " + DUPLICATES + " d ON t.from_user = d.duplicate_id "
+      + "SET t.from_user = d.keep_id", nativeQuery = true)
+  int moveSentNotifications();
+
+  // IGNORE skips likes of a post the kept profile has liked too; those are deleted with the duplicate's leftovers
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE IGNORE post_user_likes t JOIN " + DUPLICATES + " d ON t.user_likes_id = d.duplicate_id "
+      + "SET t.user_likes_id = d.keep_id", nativeQuery = true)
+  int moveLikes();
+
+  @Modifying
+  @Transactional
+  @Query(value = "DELETE t FROM post_user_likes t JOIN " + DUPLICATES + " d ON t.user_likes_id = d.duplicate_id",
+      nativeQuery = true)
+  int deleteLeftoverLikes();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE IGNORE user_following t JOIN " + DUPLICATES + " d ON t.follower_user_id = d.duplicate_id "
+      + "SET t.follower_user_id = d.keep_id", nativeQuery = true)
+  int moveFollowings();
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE IGNORE user_following t JOIN " + DUPLICATES + " d ON t.following_user_id = d.duplicate_id "
+      + "SET t.following_user_id = d.keep_id", nativeQuery = true)
+  int moveFollowers();
+
+  // Collided edges left on a duplicate, and a profile now following itself through its own duplicate
+  @Modifying
+  @Transactional
+  @Query(value = "DELETE t FROM user_following t LEFT JOIN " + DUPLICATES + " d "
+      + "ON d.duplicate_id IN (t.follower_user_id, t.following_user_id) "
+      + "WHERE d.duplicate_id IS NOT NULL OR t.follower_user_id = t.following_user_id", nativeQuery = true)
+  int deleteLeftoverFollows();
+
+  // The grouped subquery is materialized, which lets MySQL delete from the table it reads
+  @Modifying
+  @Transactional
+  @Query(value = "DELETE p FROM profile p "
+      + "JOIN (SELECT user_id, MIN(id) AS keep_id FROM profile GROUP BY user_id HAVING COUNT(*) > 1) k "
+      + "ON k.user_id = p.user_id AND p.id <> k.keep_id", nativeQuery = true)
+  int deleteDuplicates();
+
+  @Modifying
+  @Transactional
+  @Query(value = "ALTER TABLE profile ADD CONSTRAINT uk_profile_user UNIQUE (user_id)", nativeQuery = true)
+  void addUserUniqueConstraint();
+}
@@ -1,28 +1,88 @@
 package com.engineerpro.example.redis.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.engineerpro.example.redis.dto.SuggestedUserResponse;
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
 import com.engineerpro.example.redis.model.Profile;
 import com.engineerpro.example.redis.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Integer> {
 
-  @Query("SELECT p FROM Profile p WHERE p.user = :user ORDER BY p.id ASC")
-  List<Profile> findByUser(@Param("user") User user);
+  // Oldest first, so the profile kept by the duplicate cleanup is the one picked before it has run
+  @Query("SELECT p.id FROM Profile p WHERE p.user.id = :userId ORDER BY p.id ASC")
+  List<Integer> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 
   Optional<Profile> findOneByUser(User user);
 
-  List<Profile> findByIdNotIn(List<Integer> ids);
+  // Most followed profiles, suggested to users without friends-of-friends candidates
+  @Query("SELECT p.id FROM Profile p ORDER BY p.followerCount DESC, p.id ASC")
+  List<Integer> findPopularIds(Pageable pageable);
 
-  List<Profile> findByUsernameContainingIgnoreCaseOrDisplayNameContainingIgnoreCase(String username,
-      String displayName);
+  // Suggestion rows for a list of precomputed candidate IDs, counters included
+  @Query("SELECT new com.engineerpro.example.redis.dto.SuggestedUserResponse(p.id, p.user.id, p.username, "
+      + "p.profileImageUrl, p.displayName, p.bio, p.followerCount, p.followingCount, p.postCount) FROM Profile p "
+      + "WHERE p.id IN :ids")
+  List<SuggestedUserResponse> findSuggestedByIdIn(@Param("ids") Collection<Integer> ids);
+
+  // Search rows are projected straight into the response, counters included
+  @Query("SELECT new com.engineerpro.example.redis.dto.SuggestedUserResponse(p.id, p.user.id, p.username, "
+      + "p.profileImageUrl, p.displayName, p.bio, p.followerCount, p.followingCount, p.postCount) FROM Profile p "
+      + "WHERE p.id <> :excludeId AND (LOWER(p.username) LIKE LOWER(CONCAT('%', :query, '%')) "
+      + "OR LOWER(p.displayName) LIKE LOWER(CONCAT('%', :query, '%'))) ORDER BY p.id ASC")
+  List<SuggestedUserResponse> searchSummaries(@Param("query") String query, @Param("excludeId") int excludeId,
+      Pageable pageable);
 
   java.util.Optional<Profile> findOneByUsername(String username);
+
+  // Rows of the in-process search index, read in ID order when it is built and one at a time on reindex
+  @Query("SELECT p.id, p.username, p.displayName, p.followerCount FROM Profile p WHERE p.id > :afterId ORDER BY p.id")
+  List<Object[]> scanSearchEntries(@Param("afterId") int afterId, Pageable pageable);
+
+  @Query("SELECT p.id, p.username, p.displayName, p.followerCount FROM Profile p WHERE p.id = :id")
+  List<Object[]> findSearchEntry(@Param("id") int id);
+
+  // Batched load of list rows, e.g. one page of followers
+  @Query("SELECT new com.engineerpro.example.redis.dto.profile.ProfileSummary(p.id, p.username, p.displayName, "
+      + "p.profileImageUrl) FROM Profile p WHERE p.id IN :ids")
+  List<ProfileSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+  // One follow edge changes the follower count of one profile and the following count of the other
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE profile SET " +
+      "follower_count = GREATEST(follower_count + CASE WHEN id = :followingId THEN :delta ELSE 0 END, 0), " +
+      "following_count = GREATEST(following_count + CASE WHEN id = :followerId THEN :delta ELSE 0 END, 0) " +
+      "WHERE id IN (:followerId, :followingId)", nativeQuery = true)
+  int adjustFollowCounters(@Param("followerId") int followerId, @Param("followingId") int followingId,
+      @Param("delta") int delta);
+
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE profile SET post_count = GREATEST(post_count + :delta, 0) WHERE id = :profileId", nativeQuery = true)
+  int adjustPostCount(@Param("profileId") int profileId, @Param("delta") int delta);
+
+  // Periodic reconciliation of the stored counters against the source tables
+  @Modifying
+  @Transactional
+  @Query(value = "UPDATE profile p SET " +
+      "p.follower_count = (SELECT COUNT(*) FROM user_following f WHERE f.following_user_id = p.id), " +
+      "p.following_count = (SELECT COUNT(*) FROM user_following f WHERE f.follower_user_id = p.id), " +
+      "p.post_count = (SELECT COUNT(*) FROM post WHERE post.created_by_id = p.id) " +
+      "WHERE p.id BETWEEN :fromId AND :toId", nativeQuery = true)
+  int reconcileCounters(@Param("fromId") int fromId, @Param("toId") int toId);
+
+  @Query("SELECT COALESCE(MAX(p.id), 0) FROM Profile p")
+  int findMaxId();
 }
@@ -0,0 +1,348 @@
+package com.engineerpro.example.redis.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.engineerpro.example.redis.util.IntBitmap;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process trigram index over profile usernames and display names.
+ *
+ * Names are lowercased with diacritics stripped, and padded with two start
+ * markers so that the first grams of a name, and of each display-name word,
+ * double as prefix grams. A query of three or more characters intersects the
+ * posting lists of its trigrams and confirms each candidate with a substring
+ * check; a shorter query looks up its single prefix gram. Matches are ranked
+ * username prefix first, then display-name prefix, then by follower count.
+ *
+ * The index is built from the profile table at startup and rebuilt nightly.
+ * Profile creates and renames reindex the profile here and, through
+ * {@link #REINDEX_CHANNEL}, on every other instance. Callers fall back to
+ * the database until {@link #isReady()}.
+ */
+@Component
+public class ProfileSearchIndex implements MessageListener {
+
+    public static final String REINDEX_CHANNEL = "profile-search:reindex";
+
+    private static final Logger logger = LoggingUtil.getLogger(ProfileSearchIndex.class);
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final String PADDING = "\u0002\u0002";
+    private static final int GRAM = 3;
+
+    @Value("${profile.search-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${profile.search-index.scan-batch-size:10000}")
+    private int scanBatchSize;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private record Entry(String username, String displayName, int followerCount) {
+    }
+
+    private record Match(int profileId, int tier, int followerCount) {
+    }
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::tier)
+            .thenComparing(Comparator.comparingInt(Match::followerCount).reversed())
+            .thenComparingInt(Match::profileId);
+
+    private volatile Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private volatile Map<String, IntBitmap> postings = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private final Object writeLock = new Object();
+    private final AtomicBoolean building = new AtomicBoolean();
+    // Profiles reindexed while a build is running, reloaded onto the new index; guarded by writeLock
+    private Set<Integer> pendingIds;
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("profile.search_index.entries", this, index -> index.entries.size()).register(meterRegistry);
+        Gauge.builder("profile.search_index.grams", this, index -> index.postings.size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildInBackground();
+    }
+
+    @Scheduled(cron = "${profile.search-index.rebuild-cron:0 30 4 * * *}")
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "profile-search-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return up to limit matching profile IDs, best first, or null while the index is not ready
+     */
+    public List<Integer> search(String query, int excludeId, int limit) {
+        if (!ready) {
+            return null;
+        }
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean prefixOnly = normalized.length() < GRAM;
+        List<IntBitmap> lists = new ArrayList<>();
+        for (String gram : prefixOnly ? List.of((PADDING + normalized).substring(normalized.length() - 1))
+                : grams(normalized)) {
+            IntBitmap list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntBitmap::cardinality));
+
+        PriorityQueue<Match> best = new PriorityQueue<>(RANKING.reversed());
+        List<IntBitmap> others = lists.subList(1, lists.size());
+        lists.get(0).forEach(profileId -> {
+            if (profileId == excludeId || !others.stream().allMatch(list -> list.contains(profileId))) {
+                return;
+            }
+            Entry entry = entries.get(profileId);
+            int tier = entry != null ? tier(entry, normalized, prefixOnly) : -1;
+            if (tier < 0) {
+                return;
+            }
+            best.add(new Match(profileId, tier, followerCount(profileId, entry)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches.stream().map(Match::profileId).toList();
+    }
+
+    /**
+     * Reloads a created or renamed profile here and on every other instance.
+     */
+    public void reindex(int profileId) {
+        if (!enabled) {
+            return;
+        }
+        reload(profileId);
+        try {
+            stringRedisTemplate.convertAndSend(REINDEX_CHANNEL, String.valueOf(profileId));
+        } catch (Exception e) {
+            // Other instances catch up at the next rebuild
+            LoggingUtil.logServiceWarning(logger, "Failed to broadcast profile reindex", "profileId", profileId,
+                    "Error", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            reload(Integer.parseInt(payload.trim()));
+        } catch (NumberFormatException e) {
+            LoggingUtil.logServiceWarning(logger, "Malformed profile reindex message", "payload", payload);
+        }
+    }
+
+    public void rebuild() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            synchronized (writeLock) {
+                pendingIds = new LinkedHashSet<>();
+            }
+            Map<Integer, Entry> nextEntries = new ConcurrentHashMap<>();
+            Map<String, int[]> builders = new HashMap<>();
+            int afterId = 0;
+            while (true) {
+                List<Object[]> rows = profileRepository.scanSearchEntries(afterId, PageRequest.of(0, scanBatchSize));
+                for (Object[] row : rows) {
+                    int profileId = ((Number) row[0]).intValue();
+                    Entry entry = toEntry(row);
+                    nextEntries.put(profileId, entry);
+                    // Profiles arrive in ID order, so each posting list is built already sorted
+                    for (String gram : entryGrams(entry)) {
+                        int[] list = builders.computeIfAbsent(gram, key -> new int[] { 0, 0, 0, 0 });
+                        int size = list[0];
+                        if (size > 0 && list[size] == profileId) {
+                            continue;
+                        }
+                        if (size + 1 == list.length) {
+                            list = Arrays.copyOf(list, list.length * 2);
+                            builders.put(gram, list);
+                        }
+                        list[size + 1] = profileId;
+                        list[0] = size + 1;
+                    }
+                    afterId = profileId;
+                }
+                if (rows.size() < scanBatchSize) {
+                    break;
+                }
+            }
+            Map<String, IntBitmap> nextPostings = new ConcurrentHashMap<>();
+            builders.forEach((gram, list) -> nextPostings.put(gram,
+                    IntBitmap.ofSorted(Arrays.copyOfRange(list, 1, list[0] + 1), list[0])));
+
+            Set<Integer> reloaded;
+            synchronized (writeLock) {
+                entries = nextEntries;
+                postings = nextPostings;
+                reloaded = pendingIds;
+                pendingIds = null;
+                ready = true;
+            }
+            reloaded.forEach(this::reload);
+
+            LoggingUtil.logBusinessEvent(logger, "Profile search index built", "profiles", nextEntries.size(),
+                    "grams", nextPostings.size(), "reloaded", reloaded.size(),
+                    "durationMs", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            synchronized (writeLock) {
+                pendingIds = null;
+            }
+            LoggingUtil.logServiceWarning(logger, "Failed to build profile search index", "Error", e.getMessage());
+        } finally {
+            building.set(false);
+        }
+    }
+
+    private void reload(int profileId) {
+        List<Object[]> rows = profileRepository.findSearchEntry(profileId);
+        Entry entry = rows.isEmpty() ? null : toEntry(rows.get(0));
+        synchronized (writeLock) {
+            if (pendingIds != null) {
+                pendingIds.add(profileId);
+            }
+            Entry previous = entry != null ? entries.put(profileId, entry) : entries.remove(profileId);
+            Set<String> removed = previous != null ? entryGrams(previous) : Set.of();
+            Set<String> added = entry != null ? entryGrams(entry) : Set.of();
+            for (String gram : removed) {
+                if (!added.contains(gram)) {
+                    IntBitmap list = postings.getOrDefault(gram, IntBitmap.empty()).without(profileId);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    } else {
+                        postings.put(gram, list);
+                    }
+                }
+            }
+            for (String gram : added) {
+                if (!removed.contains(gram)) {
+                    postings.put(gram, postings.getOrDefault(gram, IntBitmap.empty()).with(profileId));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 0 for a username prefix, 1 for a display-name prefix, 2 for any
+     *         other substring, -1 when the trigram candidate does not match
+     */
+    private static int tier(Entry entry, String query, boolean prefixOnly) {
+        if (entry.username().startsWith(query)) {
+            return 0;
+        }
+        String displayName = entry.displayName();
+        if (displayName.startsWith(query) || displayName.contains(" " + query)) {
+            return 1;
+        }
+        if (prefixOnly) {
+            return -1;
+        }
+        return entry.username().contains(query) || displayName.contains(query) ? 2 : -1;
+    }
+
+    private int followerCount(int profileId, Entry entry) {
+        // The graph tracks follows as they happen; the indexed count is as of the last load
+        return followGraph.isReady() ? followGraph.followers(profileId).cardinality() : entry.followerCount();
+    }
+
+    private static Entry toEntry(Object[] row) {
+        return new Entry(normalize((String) row[1]), normalize((String) row[2]),
+                row[3] != null ? ((Number) row[3]).intValue() : 0);
+    }
+
+    private static Set<String> entryGrams(Entry entry) {
+        Set<String> grams = new LinkedHashSet<>(grams(PADDING + entry.username()));
+        if (!entry.displayName().isEmpty()) {
+            grams.addAll(grams(PADDING + entry.displayName()));
+            // Prefix grams of every later word, so short queries match any word of the name
+            for (String word : entry.displayName().split(" ")) {
+                grams.addAll(grams((PADDING + word).substring(0, Math.min(word.length(), GRAM - 1) + PADDING.length())));
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        // Letters like the Vietnamese d-with-stroke have no decomposition
+        stripped = stripped.replace('\u0111', 'd').replace('\u0110', 'D');
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
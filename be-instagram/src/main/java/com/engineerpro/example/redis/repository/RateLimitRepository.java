@@ -0,0 +1,124 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import com.engineerpro.example.redis.config.RateLimitConfig;
+import com.engineerpro.example.redis.config.RateLimitConfig.Bucket;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Token buckets shared by every instance.
+ *
+ * ratelimit:{key} is a hash of the tokens left and the Redis server time in
+ * milliseconds they were counted at, so instance clocks never disagree. A
+ * request takes one token from each of its buckets in a single script, and
+ * only when all of them have one; a bucket expires once it would be full
+ * again.
+ *
+ * The limiter runs in front of every limited request, so it has its own
+ * connection with a timeout of rate-limit.redis-timeout-ms rather than the
+ * shared client's default of a minute: a slow or unreachable Redis fails the
+ * take quickly and the filter falls back to local buckets.
+ */
+@Repository
+public class RateLimitRepository {
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // ARGV: (capacity, refill per ms) per key; returns 0 when allowed, else the ms until every bucket has a token
+    private static final RedisScript<Long> TAKE = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') "
+                    + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+                    + "local tokens = {} "
+                    + "local wait = 0 "
+                    + "for i = 1, #KEYS do "
+                    + "  local capacity = tonumber(ARGV[i * 2 - 1]) "
+                    + "  local rate = tonumber(ARGV[i * 2]) "
+                    + "  local state = redis.call('HMGET', KEYS[i], 't', 'ts') "
+                    + "  local left = tonumber(state[1]) or capacity "
+                    + "  local ts = tonumber(state[2]) or now "
+                    + "  left = math.min(capacity, left + math.max(0, now - ts) * rate) "
+                    + "  tokens[i] = left "
+                    + "  if left < 1 then wait = math.max(wait, math.ceil((1 - left) / rate)) end "
+                    + "end "
+                    + "if wait > 0 then return wait end "
+                    + "for i = 1, #KEYS do "
+                    + "  local capacity = tonumber(ARGV[i * 2 - 1]) "
+                    + "  local rate = tonumber(ARGV[i * 2]) "
+                    + "  redis.call('HSET', KEYS[i], 't', tostring(tokens[i] - 1), 'ts', now) "
+                    + "  redis.call('PEXPIRE', KEYS[i], math.ceil(capacity / rate) + 1000) "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    @Autowired
+    private RedisProperties redisProperties;
+
+    @Autowired
+    private RateLimitConfig config;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+
+    @PostConstruct
+    void init() {
+        RedisStandaloneConfiguration server = new RedisStandaloneConfiguration(redisProperties.getHost(),
+                redisProperties.getPort());
+        server.setDatabase(redisProperties.getDatabase());
+        server.setUsername(redisProperties.getUsername());
+        server.setPassword(redisProperties.getPassword());
+
+        Duration timeout = Duration.ofMillis(config.getRedisTimeoutMs());
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .commandTimeout(timeout)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                        // Fail commands while disconnected instead of queueing them until the timeout
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build());
+        if (redisProperties.getSsl().isEnabled()) {
+            client.useSsl();
+        }
+
+        connectionFactory = new LettuceConnectionFactory(server, client.build());
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @PreDestroy
+    void close() {
+        connectionFactory.destroy();
+    }
+
+    /**
+     * Takes one token from each bucket, or none when any of them is empty.
+     *
+     * @return 0 when allowed, otherwise the milliseconds until a retry can succeed
+     */
+    public long take(List<String> keys, List<Bucket> buckets) {
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        List<String> args = new ArrayList<>(buckets.size() * 2);
+        for (int i = 0; i < keys.size(); i++) {
+            redisKeys.add(KEY_PREFIX + keys.get(i));
+            args.add(String.valueOf(buckets.get(i).getCapacity()));
+            args.add(String.valueOf(buckets.get(i).getRefillPerSecond() / 1000));
+        }
+        Long wait = stringRedisTemplate.execute(TAKE, redisKeys, args.toArray());
+        return wait != null ? wait : 0;
+    }
+}
@@ -0,0 +1,184 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Precomputed follow suggestions.
+ *
+ * suggest:{profileId} is a sorted set of the top-K candidate profile IDs
+ * scored by friends-of-friends overlap plus popularity, merged into by the
+ * batch job and adjusted in place on follow and unfollow. suggest:popular
+ * holds the most followed profiles, used for profiles without suggestions of
+ * their own. suggest:batch:last is when the batch last finished, in ms.
+ */
+@Repository
+public class SuggestionRepository {
+    private static final String KEY_PREFIX = "suggest:";
+    private static final String POPULAR_KEY = "suggest:popular";
+    private static final String BATCH_LOCK_KEY = "suggest:batch:lock";
+    private static final String BATCH_LAST_KEY = "suggest:batch:last";
+
+    // ARGV: delta, top-K, TTL ms, then (candidate, popularity score) pairs; only a positive
+    // delta adds new candidates, and the set is trimmed back to top-K afterwards
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>(
+            "local delta = tonumber(ARGV[1]) "
+                    + "for i = 4, #ARGV, 2 do "
+                    + "  if redis.call('ZSCORE', KEYS[1], ARGV[i]) then "
+                    + "    redis.call('ZINCRBY', KEYS[1], delta, ARGV[i]) "
+                    + "  elseif delta > 0 then "
+                    + "    redis.call('ZADD', KEYS[1], delta + tonumber(ARGV[i + 1]), ARGV[i]) "
+                    + "  end "
+                    + "end "
+                    + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[2]) + 1)) "
+                    + "if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[3]) end "
+                    + "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    @Value("${profile.suggestions.top-k:50}")
+    private int topK;
+
+    @Value("${profile.suggestions.ttl-ms:259200000}")
+    private long ttlMs;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    /**
+     * @return the stored candidates, best first; empty when none are stored
+     */
+    public List<Integer> get(int profileId) {
+        return read(key(profileId));
+    }
+
+    public List<Integer> getPopular() {
+        return read(POPULAR_KEY);
+    }
+
+    /**
+     * Merges the candidates of each profile into those stored, in one
+     * pipeline: their scores are set, candidates added by follows since are
+     * kept, and the set is trimmed back to top-K. A profile with no
+     * candidates has its set deleted.
+     */
+    public void mergeAll(Map<Integer, Map<Integer, Double>> candidatesByProfile) {
+        if (candidatesByProfile.isEmpty()) {
+            return;
+        }
+        Duration ttl = Duration.ofMillis(ttlMs);
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                candidatesByProfile.forEach((profileId, candidates) -> {
+                    String key = key(profileId);
+                    if (candidates.isEmpty()) {
+                        ops.delete(key);
+                        return;
+                    }
+                    ops.opsForZSet().add(key, tuples(candidates));
+                    ops.opsForZSet().removeRange(key, 0, -(topK + 1));
+                    ops.expire(key, ttl);
+                });
+                return null;
+            }
+        });
+    }
+
+    public void replacePopular(Map<Integer, Double> candidates) {
+        stringRedisTemplate.delete(POPULAR_KEY);
+        if (!candidates.isEmpty()) {
+            stringRedisTemplate.opsForZSet().add(POPULAR_KEY, tuples(candidates));
+            stringRedisTemplate.expire(POPULAR_KEY, Duration.ofMillis(ttlMs));
+        }
+    }
+
+    /**
+     * Adds delta to each candidate already stored for the profile; with a
+     * positive delta, candidates not yet stored are added with delta plus
+     * their popularity score.
+     */
+    public void adjust(int profileId, int delta, Map<Integer, Double> popularityByCandidate) {
+        if (popularityByCandidate.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(3 + popularityByCandidate.size() * 2);
+        args.add(String.valueOf(delta));
+        args.add(String.valueOf(topK));
+        args.add(String.valueOf(ttlMs));
+        popularityByCandidate.forEach((candidate, popularity) -> {
+            args.add(String.valueOf(candidate));
+            args.add(String.valueOf(popularity));
+        });
+        stringRedisTemplate.execute(ADJUST, List.of(key(profileId)), args.toArray());
+    }
+
+    public void remove(int profileId, int candidateId) {
+        stringRedisTemplate.opsForZSet().remove(key(profileId), String.valueOf(candidateId));
+    }
+
+    /**
+     * @return a token for {@link #releaseBatchLock}, or null when another instance is running the batch
+     */
+    public String tryLockBatch(Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(BATCH_LOCK_KEY, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void releaseBatchLock(String token) {
+        stringRedisTemplate.execute(RELEASE_LOCK, List.of(BATCH_LOCK_KEY), token);
+    }
+
+    /**
+     * @return when the batch last finished, in ms, or null when it never has
+     */
+    public Long lastBatchAt() {
+        String value = stringRedisTemplate.opsForValue().get(BATCH_LAST_KEY);
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    public void markBatchDone() {
+        stringRedisTemplate.opsForValue().set(BATCH_LAST_KEY, String.valueOf(System.currentTimeMillis()));
+    }
+
+    private List<Integer> read(String key) {
+        Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(key, 0, topK - 1);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream().map(Integer::valueOf).toList();
+    }
+
+    private static Set<TypedTuple<String>> tuples(Map<Integer, Double> candidates) {
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        candidates.forEach((candidate, score) -> tuples.add(new DefaultTypedTuple<>(String.valueOf(candidate), score)));
+        return tuples;
+    }
+
+    private String key(int profileId) {
+        return KEY_PREFIX + profileId;
+    }
+}
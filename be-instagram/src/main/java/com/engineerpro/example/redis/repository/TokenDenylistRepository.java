@@ -0,0 +1,62 @@
+package com.engineerpro.example.redis.repository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Revoked JWTs.
+ *
+ * jwt:deny:{jti} marks a single token revoked and expires with the token.
+ * jwt:deny:user:{userId} holds an epoch second: every token of that user
+ * issued up to and including it is revoked, which covers "log out
+ * everywhere" with one key. Both are checked with one MGET.
+ */
+@Repository
+public class TokenDenylistRepository {
+    private static final String TOKEN_PREFIX = "jwt:deny:";
+    private static final String USER_PREFIX = "jwt:deny:user:";
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    public void revokeToken(String tokenId, Date expiresAt) {
+        long ttlMs = expiresAt.getTime() - System.currentTimeMillis();
+        if (ttlMs > 0) {
+            stringRedisTemplate.opsForValue().set(TOKEN_PREFIX + tokenId, "1", Duration.ofMillis(ttlMs));
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user until now. The marker only has
+     * to outlive the longest-lived token.
+     */
+    public void revokeAllForUser(long userId, Duration tokenLifetime) {
+        stringRedisTemplate.opsForValue().set(USER_PREFIX + userId,
+                String.valueOf(System.currentTimeMillis() / 1000), tokenLifetime);
+    }
+
+    /**
+     * @param tokenId the token's jti, null for tokens issued before tokens had one
+     */
+    public boolean isRevoked(String tokenId, long userId, Date issuedAt) {
+        // Unknown token IDs use a key that is never set, keeping this a single MGET of two keys
+        List<String> values = stringRedisTemplate.opsForValue()
+                .multiGet(Arrays.asList(TOKEN_PREFIX + (tokenId != null ? tokenId : ""), USER_PREFIX + userId));
+        if (values == null) {
+            return false;
+        }
+        if (tokenId != null && values.get(0) != null) {
+            return true;
+        }
+        String revokedBefore = values.get(1);
+        // Issued-at has second precision, so a token issued in the second of the revocation is revoked too;
+        // one issued by a login in that same second has to be requested again
+        return revokedBefore != null && issuedAt != null && issuedAt.getTime() / 1000 <= Long.parseLong(revokedBefore);
+    }
+}
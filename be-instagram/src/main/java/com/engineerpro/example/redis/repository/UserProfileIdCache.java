@@ -0,0 +1,65 @@
+package com.engineerpro.example.redis.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process LRU map from user ID to profile ID.
+ *
+ * A user has exactly one profile for life (enforced by the unique constraint
+ * on profile.user_id), so entries never go stale and need no invalidation
+ * across instances; the size bound only caps memory.
+ */
+@Component
+public class UserProfileIdCache {
+
+    @Value("${profile.id-cache.max-entries:100000}")
+    private int maxEntries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<Long, Integer> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        Gauge.builder("profile.id_cache.entries", this, UserProfileIdCache::size).register(meterRegistry);
+        FunctionCounter.builder("profile.id_cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("profile.id_cache.misses", misses, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * @return the cached profile ID, or null when the user has not been resolved yet
+     */
+    public synchronized Integer get(long userId) {
+        Integer profileId = entries.get(userId);
+        (profileId != null ? hits : misses).incrementAndGet();
+        return profileId;
+    }
+
+    public synchronized void put(long userId, int profileId) {
+        entries.put(userId, profileId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
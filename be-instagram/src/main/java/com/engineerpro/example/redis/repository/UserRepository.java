@@ -1,10 +1,14 @@
 package com.engineerpro.example.redis.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.engineerpro.example.redis.model.User;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,4 +19,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
     
     boolean existsByUsername(String username);
+
+    // Rows of the in-process username filter, read in ID order when it is built
+    @Query("SELECT u.id, u.username FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> scanUsernames(@Param("afterId") long afterId, Pageable pageable);
 }
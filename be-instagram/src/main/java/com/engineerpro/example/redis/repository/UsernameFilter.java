@@ -0,0 +1,319 @@
+package com.engineerpro.example.redis.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.engineerpro.example.redis.util.BloomHash;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process Bloom filter of taken usernames.
+ *
+ * A miss means the username is definitely free and needs no database read; a
+ * hit only means it may be taken and is confirmed in MySQL. Keys are folded
+ * towards what the case- and accent-insensitive column collation compares:
+ * compatibility forms such as fullwidth letters are decomposed, diacritics
+ * stripped, letters the collation expands, such as sharp s, spelled out, and the
+ * result lowercased. A query folding to anything but printable ASCII is
+ * always a possible hit. Stored names that fold to anything else are few, and
+ * are also kept in an exact set by their primary-strength collation key, which
+ * an ASCII query is checked against, so they cannot hide behind a different
+ * spelling that the column collation treats as equal.
+ *
+ * The filter is sized for twice the current user count, built from a batched
+ * scan of the user table at startup and rebuilt nightly, or as soon as it
+ * fills past that size. Registrations and renames are added as they happen,
+ * including to a filter that is being built, and broadcast to every other
+ * instance on {@link #ADD_CHANNEL} so no instance reports a taken name free.
+ * Freed usernames stay set until the next rebuild, which only costs a
+ * confirming read.
+ */
+@Component
+public class UsernameFilter implements MessageListener {
+
+    public static final String ADD_CHANNEL = "username-filter:add";
+
+    private static final Logger logger = LoggingUtil.getLogger(UsernameFilter.class);
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Letters the collation weighs as the spelled-out sequence, or as the base letter, that NFKD leaves alone
+    private static final String[][] EXPANSIONS = {
+            { "\u00df", "ss" }, { "\u00e6", "ae" }, { "\u0153", "oe" }, { "\u00f8", "o" }, { "\u0111", "d" },
+            { "\u0142", "l" } };
+    // Collators are not thread-safe
+    private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        collator.setDecomposition(Collator.FULL_DECOMPOSITION);
+        return collator;
+    });
+
+    @Value("${auth.username-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.username-filter.bits-per-entry:10}")
+    private int bitsPerEntry;
+
+    @Value("${auth.username-filter.hash-functions:7}")
+    private int hashFunctions;
+
+    @Value("${auth.username-filter.min-bits:65536}")
+    private long minBits;
+
+    @Value("${auth.username-filter.scan-batch-size:10000}")
+    private int scanBatchSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RedisTemplate<String, String> stringRedisTemplate;
+
+    private static final class Bits {
+        final AtomicLongArray words;
+        final long size;
+        final AtomicLong entries = new AtomicLong();
+        // Collation keys of the stored names whose key is not printable ASCII
+        final Set<String> unfolded = ConcurrentHashMap.newKeySet();
+
+        Bits(long size) {
+            this.words = new AtomicLongArray((int) (size >>> 6));
+            this.size = size;
+        }
+    }
+
+    // Null until the first build completes
+    private volatile Bits current;
+    // Filter being built; additions go to it as well so none are lost in the swap
+    private volatile Bits building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private Counter negatives;
+    private Counter positives;
+    private Counter falsePositives;
+
+    @PostConstruct
+    void initMetrics() {
+        negatives = Counter.builder("auth.username_filter.lookups").tag("result", "negative").register(meterRegistry);
+        positives = Counter.builder("auth.username_filter.lookups").tag("result", "positive").register(meterRegistry);
+        falsePositives = Counter.builder("auth.username_filter.false_positives").register(meterRegistry);
+        Gauge.builder("auth.username_filter.entries", this, filter -> filter.current != null
+                ? filter.current.entries.get() : 0).register(meterRegistry);
+        Gauge.builder("auth.username_filter.memory_bytes", this, filter -> filter.current != null
+                ? filter.current.size / 8 : 0).register(meterRegistry);
+        Gauge.builder("auth.username_filter.unfolded_entries", this, filter -> filter.current != null
+                ? filter.current.unfolded.size() : 0).register(meterRegistry);
+        Gauge.builder("auth.username_filter.expected_fpp", this, UsernameFilter::expectedFalsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildInBackground();
+    }
+
+    @Scheduled(cron = "${auth.username-filter.rebuild-cron:0 45 4 * * *}")
+    public void rebuildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "username-filter-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return false when the username is definitely free, true when it may be
+     *         taken, or null while the filter is not built
+     */
+    public Boolean mightContain(String username) {
+        Bits bits = current;
+        if (bits == null || username == null) {
+            return null;
+        }
+        String key = normalize(username);
+        if (!isFolded(key) || contains(bits, key)
+                || (!bits.unfolded.isEmpty() && bits.unfolded.contains(collationKey(key)))) {
+            positives.increment();
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    /**
+     * Counts a possible hit that the database showed to be free.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Adds a newly taken username here and on every other instance; call once
+     * it is committed.
+     */
+    public void add(String username) {
+        if (username == null) {
+            return;
+        }
+        addLocal(username);
+        try {
+            stringRedisTemplate.convertAndSend(ADD_CHANNEL, username);
+        } catch (Exception e) {
+            // Other instances catch up at the next rebuild; until then the unique constraint still holds
+            LoggingUtil.logServiceWarning(logger, "Failed to broadcast username filter addition",
+                    "username", username, "Error", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void addLocal(String username) {
+        String key = normalize(username);
+        Bits next = building;
+        if (next != null) {
+            add(next, key);
+        }
+        Bits bits = current;
+        if (bits != null && add(bits, key) > bits.size / bitsPerEntry) {
+            // Past the size it was built for, the false-positive rate climbs quickly
+            rebuildInBackground();
+        }
+    }
+
+    public void rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long size = BloomHash.bitsFor(Math.max(userRepository.count() * 2, 1024), bitsPerEntry, minBits);
+            Bits next = new Bits(size);
+            // Set before the scan starts: a username committed earlier is read by the scan, a later one is added here
+            building = next;
+            long afterId = 0;
+            while (true) {
+                List<Object[]> rows = userRepository.scanUsernames(afterId, PageRequest.of(0, scanBatchSize));
+                for (Object[] row : rows) {
+                    if (row[1] != null) {
+                        add(next, normalize((String) row[1]));
+                    }
+                    afterId = ((Number) row[0]).longValue();
+                }
+                if (rows.size() < scanBatchSize) {
+                    break;
+                }
+            }
+            current = next;
+
+            LoggingUtil.logBusinessEvent(logger, "Username filter built", "entries", next.entries.get(),
+                    "unfoldedEntries", next.unfolded.size(),
+                    "bits", size, "memoryBytes", size / 8, "expectedFpp", expectedFalsePositiveRate(),
+                    "durationMs", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            LoggingUtil.logServiceWarning(logger, "Failed to build username filter", "Error", e.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * (1 - e^(-kn/m))^k for the current fill.
+     */
+    private double expectedFalsePositiveRate() {
+        Bits bits = current;
+        if (bits == null) {
+            return 1;
+        }
+        double fill = 1 - Math.exp(-(double) hashFunctions * bits.entries.get() / bits.size);
+        return Math.pow(fill, hashFunctions);
+    }
+
+    private boolean contains(Bits bits, String key) {
+        long[] hash = BloomHash.of(key);
+        for (int i = 0; i < hashFunctions; i++) {
+            long offset = BloomHash.offset(hash, i, bits.size);
+            if ((bits.words.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the filter's entry count after the addition
+     */
+    private long add(Bits bits, String key) {
+        if (!isFolded(key)) {
+            bits.unfolded.add(collationKey(key));
+        }
+        long[] hash = BloomHash.of(key);
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long offset = BloomHash.offset(hash, i, bits.size);
+            long mask = 1L << offset;
+            changed |= (bits.words.getAndAccumulate((int) (offset >>> 6), mask, (a, b) -> a | b) & mask) == 0;
+        }
+        // A key whose bits were all set already, present or not, does not count towards the fill
+        return changed ? bits.entries.incrementAndGet() : bits.entries.get();
+    }
+
+    /**
+     * Printable ASCII only; the collation ignores control characters entirely.
+     */
+    private static boolean isFolded(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x20 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String collationKey(String key) {
+        return Base64.getEncoder().encodeToString(COLLATOR.get().getCollationKey(key).toByteArray());
+    }
+
+    private static String normalize(String username) {
+        String stripped = MARKS.matcher(Normalizer.normalize(username, Normalizer.Form.NFKD)).replaceAll("");
+        String key = stripped.toLowerCase(Locale.ROOT);
+        for (String[] expansion : EXPANSIONS) {
+            key = key.replace(expansion[0], expansion[1]);
+        }
+        return key.trim();
+    }
+}
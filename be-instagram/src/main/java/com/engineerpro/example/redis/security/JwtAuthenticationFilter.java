@@ -1,13 +1,17 @@
 package com.engineerpro.example.redis.security;
 
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.repository.TokenDenylistRepository;
 import com.engineerpro.example.redis.service.CustomUserDetailsService;
 import com.engineerpro.example.redis.util.LoggingUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,6 +22,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer JWT. In stateless mode the
+ * principal is rebuilt from the token's claims without touching the
+ * database; tokens issued without those claims, or all tokens when
+ * stateless mode is off, load the user by username and are refused for a
+ * disabled or locked account. Either way the token is checked against the
+ * Redis denylist before it is accepted.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -29,6 +41,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenDenylistRepository tokenDenylistRepository;
+
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    // Whether tokens are accepted while the denylist cannot be read
+    @Value("${jwt.denylist.fail-open:true}")
+    private boolean denylistFailOpen;
+
+    public JwtAuthenticationFilter() {
+    }
+
+    // Wired without Spring, as the benchmarks under src/jmh do
+    JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, CustomUserDetailsService userDetailsService,
+            TokenDenylistRepository tokenDenylistRepository, boolean stateless, boolean denylistFailOpen) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.userDetailsService = userDetailsService;
+        this.tokenDenylistRepository = tokenDenylistRepository;
+        this.stateless = stateless;
+        this.denylistFailOpen = denylistFailOpen;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -48,26 +83,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     "Token length", jwt.length(),
                     "Token start", jwt.substring(0, Math.min(20, jwt.length())) + "...");
                 
-                if (jwtTokenUtil.validateToken(jwt)) {
-                    String username = jwtTokenUtil.extractUsername(jwt);
+                Claims claims = jwtTokenUtil.verify(jwt);
+                if (claims != null) {
+                    String username = claims.getSubject();
                     LoggingUtil.logServiceDebug(logger, "JWT Token validated", 
                         "Username", username,
                         "Request URI", requestURI);
                     
                     try {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                        UserPrincipal claimsPrincipal = stateless ? jwtTokenUtil.toPrincipal(claims) : null;
+                        UserDetails userDetails = claimsPrincipal != null ? claimsPrincipal
+                                : userDetailsService.loadUserByUsername(username);
                         LoggingUtil.logServiceDebug(logger, "User details loaded", 
                             "Username", userDetails.getUsername(),
-                            "Authorities", userDetails.getAuthorities().size());
+                            "Authorities", userDetails.getAuthorities().size(),
+                            "From claims", claimsPrincipal != null);
                         
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                            LoggingUtil.logServiceWarning(logger, "JWT Token of disabled or locked account rejected", 
+                                "Username", username,
+                                "Request URI", requestURI);
+                        } else if (isRevoked(claims, ((UserPrincipal) userDetails).getId())) {
+                            LoggingUtil.logServiceWarning(logger, "Revoked JWT Token rejected", 
+                                "Username", username,
+                                "Request URI", requestURI);
+                        } else {
+                            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        LoggingUtil.logServiceDebug(logger, "Authentication set in security context", 
-                            "Username", username,
-                            "Request URI", requestURI);
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                            LoggingUtil.logServiceDebug(logger, "Authentication set in security context", 
+                                "Username", username,
+                                "Request URI", requestURI);
+                        }
                     } catch (Exception e) {
                         LoggingUtil.logServiceWarning(logger, "Error loading user details", 
                             "Username", username,
@@ -97,6 +146,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isRevoked(Claims claims, long userId) {
+        try {
+            return tokenDenylistRepository.isRevoked(claims.getId(), userId, claims.getIssuedAt());
+        } catch (Exception e) {
+            LoggingUtil.logServiceWarning(logger, "Failed to check JWT denylist", 
+                "User ID", userId,
+                "Fail open", denylistFailOpen,
+                "Error", e.getMessage());
+            return !denylistFailOpen;
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         LoggingUtil.logServiceDebug(logger, "Extracting JWT from request", 
@@ -2,60 +2,96 @@ package com.engineerpro.example.redis.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.engineerpro.example.redis.dto.UserPrincipal;
+
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-
+import java.util.UUID;
+
+/**
+ * Issues and reads JWTs. Tokens carry the user ID, profile ID and
+ * authorities as claims, so a request can be authenticated from the token
+ * alone; each token also has a short random ID (jti) so it can be revoked
+ * through the denylist. Verification reuses one key and parser, and tokens
+ * already verified are served from {@link VerifiedTokenCache}.
+ */
 @Component
 public class JwtTokenUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String PROFILE_ID_CLAIM = "pid";
+    public static final String AUTHORITIES_CLAIM = "auth";
+    private static final String PICTURE_CLAIM = "picture";
+    private static final String PROVIDER_CLAIM = "provider";
+    private static final String PROVIDER_ID_CLAIM = "providerId";
+
     @Value("${jwt.secret:defaultSecretKey123456789012345678901234567890}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    public JwtTokenUtil() {
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    // Wired without Spring, as the benchmarks under src/jmh do
+    JwtTokenUtil(String secret, long expiration, VerifiedTokenCache verifiedTokenCache) {
+        this.secret = secret;
+        this.expiration = expiration;
+        this.verifiedTokenCache = verifiedTokenCache;
+        init();
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @PostConstruct
+    void init() {
+        // Derived once; the parser is immutable and shared by all requests
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private SecretKey getSigningKey() {
+        return signingKey;
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verifies the token's signature and expiry with a single parse.
+     *
+     * @return the token's claims, or null when it is invalid or expired
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        Claims claims = verifiedTokenCache.get(token);
+        if (claims != null) {
+            return claims;
+        }
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (ExpiredJwtException e) {
-            throw new RuntimeException("JWT token has expired", e);
-        } catch (UnsupportedJwtException e) {
-            throw new RuntimeException("JWT token is unsupported", e);
-        } catch (MalformedJwtException e) {
-            throw new RuntimeException("JWT token is malformed", e);
-        } catch (SecurityException e) {
-            throw new RuntimeException("JWT token has invalid signature", e);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("JWT token is empty", e);
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
+        verifiedTokenCache.put(token, claims);
+        return claims;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -63,16 +99,58 @@ public class JwtTokenUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
-    public String generateToken(String username, String provider, String providerId) {
+    /**
+     * A token that authenticates without loading the user: the principal is
+     * rebuilt from its claims by {@link #toPrincipal(Claims)}.
+     */
+    public String generateToken(UserPrincipal principal, int profileId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("provider", provider);
-        claims.put("providerId", providerId);
-        return createToken(claims, username);
+        claims.put(USER_ID_CLAIM, principal.getId());
+        claims.put(PROFILE_ID_CLAIM, profileId);
+        claims.put(AUTHORITIES_CLAIM, principal.getAuthorities() != null
+                ? principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()
+                : List.of());
+        if (principal.getPicture() != null) {
+            claims.put(PICTURE_CLAIM, principal.getPicture());
+        }
+        if (principal.getProvider() != null) {
+            claims.put(PROVIDER_CLAIM, principal.getProvider());
+            claims.put(PROVIDER_ID_CLAIM, principal.getProviderId());
+        }
+        return createToken(claims, principal.getUsername());
+    }
+
+    /**
+     * @return the principal carried by the token, or null for a token issued
+     *         without the user claims, which must be resolved from the database
+     */
+    @SuppressWarnings("unchecked")
+    public UserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number profileId = claims.get(PROFILE_ID_CLAIM, Number.class);
+        if (userId == null || profileId == null) {
+            return null;
+        }
+        List<String> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        UserPrincipal principal = new UserPrincipal(userId.longValue(), claims.getSubject(), null,
+                authorities != null ? authorities.stream().map(SimpleGrantedAuthority::new).toList() : List.of());
+        principal.setProfileId(profileId.intValue());
+        principal.setPicture(claims.get(PICTURE_CLAIM, String.class));
+        principal.setProvider(claims.get(PROVIDER_CLAIM, String.class));
+        principal.setProviderId(claims.get(PROVIDER_ID_CLAIM, String.class));
+        // Account state is not in the token: a disabled or locked account keeps a stateless token until it
+        // expires or is revoked, but cannot refresh it
+        principal.setEnabled(true);
+        principal.setAccountNonExpired(true);
+        principal.setAccountNonLocked(true);
+        principal.setCredentialsNonExpired(true);
+        return principal;
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(newTokenId())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -80,36 +158,15 @@ public class JwtTokenUtil {
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public String refreshToken(String token) {
-        final Claims claims = extractAllClaims(token);
-        // Create new claims with updated issued at time
-        Map<String, Object> newClaims = new HashMap<>(claims);
-        newClaims.put("iat", new Date(System.currentTimeMillis()));
-        return createToken(newClaims, claims.getSubject());
-    }
-
-    public String extractProvider(String token) {
-        return extractClaim(token, claims -> claims.get("provider", String.class));
+    public Long getExpiration() {
+        return expiration;
     }
 
-    public String extractProviderId(String token) {
-        return extractClaim(token, claims -> claims.get("providerId", String.class));
+    // 16 random bytes in URL-safe base64, 22 characters
+    private static String newTokenId() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer bytes = ByteBuffer.allocate(16);
+        bytes.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
     }
 }
@@ -2,10 +2,14 @@ package com.engineerpro.example.redis.security;
 
 import com.engineerpro.example.redis.model.User;
 import com.engineerpro.example.redis.config.SecurityConfig;
+import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.model.Profile;
 import com.engineerpro.example.redis.repository.UserRepository;
 import com.engineerpro.example.redis.repository.ProfileRepository;
+import com.engineerpro.example.redis.repository.ProfileSearchIndex;
+import com.engineerpro.example.redis.repository.UsernameFilter;
 import com.engineerpro.example.redis.security.JwtTokenUtil;
+import com.engineerpro.example.redis.service.profile.ProfileService;
 import com.engineerpro.example.redis.util.LoggingUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,6 +44,15 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     @Autowired
     private ProfileRepository profileRepository;
 
+    @Autowired
+    private ProfileSearchIndex profileSearchIndex;
+
+    @Autowired
+    private UsernameFilter usernameFilter;
+
+    @Autowired
+    private ProfileService profileService;
+
     /**
      * Extract a clean username from email address
      * 
@@ -76,7 +89,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         int counter = 1;
 
         // Check if username exists and add numbers until we find a unique one
-        while (userRepository.findByUsername(username).isPresent()) {
+        // Candidates the username filter rules out need no database read
+        while (!Boolean.FALSE.equals(usernameFilter.mightContain(username))
+                && userRepository.existsByUsername(username)) {
             username = baseUsername + counter;
             counter++;
 
@@ -117,9 +132,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                     "Provider ID", user.getProviderId(),
                     "Enabled", user.isEnabled());
 
-            // Generate JWT token
-            String token = jwtTokenUtil.generateToken(user.getUsername(), oauth2User.getProvider(),
-                    oauth2User.getProviderId());
+            // Generate JWT token carrying the user and profile IDs
+            UserPrincipal userPrincipal = UserPrincipal.create(user);
+            String token = jwtTokenUtil.generateToken(userPrincipal, profileService.getProfileId(userPrincipal));
 
             // Log JWT token details (without exposing the actual token)
             LoggingUtil.logServiceDebug(logger, "JWT Token Generated",
@@ -192,6 +207,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             user.setEnabled(true);
 
             User savedUser = userRepository.save(user);
+            usernameFilter.add(savedUser.getUsername());
             LoggingUtil.logBusinessEvent(logger, "User Updated Successfully", "User ID", savedUser.getId());
 
             // Also update the profile username if it's an email
@@ -202,6 +218,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                     String oldProfileUsername = profile.getUsername();
                     profile.setUsername(uniqueUsername);
                     profileRepository.save(profile);
+                    profileSearchIndex.reindex(profile.getId());
                     LoggingUtil.logBusinessEvent(logger, "Profile Username Updated",
                             "User ID", user.getId(),
                             "Old Profile Username", oldProfileUsername,
@@ -237,6 +254,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                     "Provider ID", newUser.getProviderId());
 
             User savedUser = userRepository.save(newUser);
+            usernameFilter.add(savedUser.getUsername());
             LoggingUtil.logBusinessEvent(logger, "New User Created Successfully", "User ID", savedUser.getId());
 
             // Create profile for new user
@@ -248,6 +266,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                     .build();
 
             profileRepository.save(profile);
+            profileSearchIndex.reindex(profile.getId());
             LoggingUtil.logBusinessEvent(logger, "Profile Created Successfully", "User ID", savedUser.getId());
 
             return savedUser;
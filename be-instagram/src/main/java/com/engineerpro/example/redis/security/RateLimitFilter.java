@@ -0,0 +1,210 @@
+package com.engineerpro.example.redis.security;
+
+import com.engineerpro.example.redis.config.RateLimitConfig;
+import com.engineerpro.example.redis.config.RateLimitConfig.Bucket;
+import com.engineerpro.example.redis.config.RateLimitConfig.EndpointClass;
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.repository.RateLimitRepository;
+import com.engineerpro.example.redis.util.LoggingUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limits the write endpoints that fan out to feeds, notifications and
+ * the database, before any of that work starts. Runs after JWT
+ * authentication so authenticated requests are limited per user as well as
+ * per IP, using token buckets held in Redis so the limits hold across
+ * instances. While Redis is unreachable, in-process buckets with the same
+ * limits take over, so each instance enforces them on its own traffic
+ * until Redis is retried.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggingUtil.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimitConfig config;
+
+    @Autowired
+    private RateLimitRepository rateLimitRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Counter> rejected = new HashMap<>();
+    private Counter fallbacks;
+    private Map<String, double[]> localBuckets;
+    private volatile long redisRetryAt;
+
+    @PostConstruct
+    void init() {
+        for (EndpointClass endpointClass : config.getClasses()) {
+            rejected.put(endpointClass.getName(), Counter.builder("http.rate_limit.rejected")
+                    .tag("class", endpointClass.getName()).register(meterRegistry));
+        }
+        fallbacks = Counter.builder("http.rate_limit.local_fallback").register(meterRegistry);
+        // Per key: tokens left and the time in ms they were counted at
+        localBuckets = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                return size() > config.getLocalMaxBuckets();
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || config.getClasses().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        EndpointClass endpointClass = match(request);
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(2);
+        List<Bucket> buckets = new ArrayList<>(2);
+        Long userId = currentUserId();
+        if (endpointClass.getUser() != null && userId != null) {
+            keys.add(endpointClass.getName() + ":u:" + userId);
+            buckets.add(endpointClass.getUser());
+        }
+        if (endpointClass.getIp() != null) {
+            keys.add(endpointClass.getName() + ":ip:" + clientIp(request));
+            buckets.add(endpointClass.getIp());
+        }
+        if (keys.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitMs = take(keys, buckets);
+        if (waitMs > 0) {
+            rejected.get(endpointClass.getName()).increment();
+            LoggingUtil.logServiceDebug(logger, "Request rate limited", "class", endpointClass.getName(),
+                    "userId", userId, "waitMs", waitMs);
+            reject(request, response, waitMs);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private long take(List<String> keys, List<Bucket> buckets) {
+        if (System.currentTimeMillis() >= redisRetryAt) {
+            try {
+                return rateLimitRepository.take(keys, buckets);
+            } catch (Exception e) {
+                redisRetryAt = System.currentTimeMillis() + config.getRedisRetryMs();
+                LoggingUtil.logServiceWarning(logger, "Rate limit store unavailable, using local buckets",
+                        "retryInMs", config.getRedisRetryMs(), "Error", e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return takeLocal(keys, buckets);
+    }
+
+    /**
+     * Same all-or-nothing take as the Redis script, against this instance's buckets.
+     */
+    private long takeLocal(List<String> keys, List<Bucket> buckets) {
+        long now = System.currentTimeMillis();
+        synchronized (localBuckets) {
+            long wait = 0;
+            List<double[]> states = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                Bucket bucket = buckets.get(i);
+                double rate = bucket.getRefillPerSecond() / 1000;
+                double[] state = localBuckets.computeIfAbsent(keys.get(i),
+                        key -> new double[] { bucket.getCapacity(), now });
+                state[0] = Math.min(bucket.getCapacity(), state[0] + Math.max(0, now - state[1]) * rate);
+                state[1] = now;
+                if (state[0] < 1) {
+                    wait = Math.max(wait, (long) Math.ceil((1 - state[0]) / rate));
+                }
+                states.add(state);
+            }
+            if (wait == 0) {
+                states.forEach(state -> state[0] -= 1);
+            }
+            return wait;
+        }
+    }
+
+    private EndpointClass match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (EndpointClass endpointClass : config.getClasses()) {
+            if (!endpointClass.getMethods().isEmpty()
+                    && endpointClass.getMethods().stream().noneMatch(request.getMethod()::equalsIgnoreCase)) {
+                continue;
+            }
+            if (endpointClass.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                return endpointClass;
+            }
+        }
+        return null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (config.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                // Earlier entries are whatever the client sent and can be forged
+                return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitMs) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpServletResponse.SC_TOO_MANY_REQUESTS);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMs + 999) / 1000));
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpServletResponse.SC_TOO_MANY_REQUESTS);
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, retry later");
+        body.put("path", request.getServletPath());
+
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+}
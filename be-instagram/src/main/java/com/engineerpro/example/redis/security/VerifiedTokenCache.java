@@ -0,0 +1,119 @@
+package com.engineerpro.example.redis.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded LRU of recently verified JWTs, so a client sending the same token
+ * on every request pays for the signature check and JSON parse once.
+ *
+ * Entries are keyed by the first 128 bits of the token's SHA-256 rather than
+ * the token itself: a fixed 16 bytes per entry, and no bearer tokens kept on
+ * the heap. An entry is only served until the token's own expiry; revocation
+ * is still checked per request against the denylist.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    @Value("${jwt.verified-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private record Digest(long high, long low) {
+    }
+
+    private record Entry(Claims claims, long expiresAtMs) {
+    }
+
+    private Map<Digest, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VerifiedTokenCache() {
+    }
+
+    // Wired without Spring, as the benchmarks under src/jmh do
+    VerifiedTokenCache(int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Digest, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        Gauge.builder("jwt.verified_cache.entries", this, VerifiedTokenCache::size).register(meterRegistry);
+        FunctionCounter.builder("jwt.verified_cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("jwt.verified_cache.misses", misses, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * @return the claims of a token verified earlier and not yet expired, or null
+     */
+    public Claims get(String token) {
+        Digest digest = digest(token);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(digest);
+            if (entry != null && entry.expiresAtMs() <= System.currentTimeMillis()) {
+                entries.remove(digest);
+                entry = null;
+            }
+        }
+        (entry != null ? hits : misses).incrementAndGet();
+        return entry != null ? entry.claims() : null;
+    }
+
+    /**
+     * Caches the claims of a token whose signature has just been verified.
+     */
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        Digest digest = digest(token);
+        Entry entry = new Entry(claims, claims.getExpiration().getTime());
+        synchronized (this) {
+            entries.put(digest, entry);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static Digest digest(String token) {
+        ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Digest(hash.getLong(), hash.getLong());
+    }
+}
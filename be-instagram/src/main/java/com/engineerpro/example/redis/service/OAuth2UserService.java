@@ -11,6 +11,7 @@ import com.engineerpro.example.redis.dto.Oauth2UserInfoDto;
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.model.User;
 import com.engineerpro.example.redis.repository.UserRepository;
+import com.engineerpro.example.redis.repository.UsernameFilter;
 import com.engineerpro.example.redis.util.LoggingUtil;
 
 import java.util.Optional;
@@ -23,6 +24,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
     private static final Logger logger = LoggingUtil.getLogger(OAuth2UserService.class);
     
     private final UserRepository userRepository;
+    private final UsernameFilter usernameFilter;
 
     @Override
     @SneakyThrows
@@ -79,6 +81,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
             .build();
         
         User savedUser = userRepository.save(user);
+        usernameFilter.add(savedUser.getUsername());
         LoggingUtil.logBusinessEvent(logger, "New OAuth2 user registered successfully", "userId", savedUser.getId(), "username", savedUser.getUsername());
         return savedUser;
     }
@@ -1,26 +1,30 @@
 package com.engineerpro.example.redis.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.dto.SuggestedUserResponse;
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.model.Authority;
-import com.engineerpro.example.redis.model.Profile;
 import com.engineerpro.example.redis.model.User;
-import com.engineerpro.example.redis.model.UserFollowing;
 import com.engineerpro.example.redis.repository.AuthorityRepository;
-import com.engineerpro.example.redis.repository.FollowerRepository;
 import com.engineerpro.example.redis.repository.ProfileRepository;
-import com.engineerpro.example.redis.repository.PostRepository;
+import com.engineerpro.example.redis.repository.ProfileSearchIndex;
 import com.engineerpro.example.redis.repository.UserRepository;
+import com.engineerpro.example.redis.repository.UsernameFilter;
 import com.engineerpro.example.redis.service.profile.ProfileService;
+import com.engineerpro.example.redis.service.profile.SuggestionService;
 import com.engineerpro.example.redis.util.LoggingUtil;
 
 import org.slf4j.Logger;
@@ -37,14 +41,17 @@ public class UserServiceImpl implements UserService {
     private ProfileRepository profileRepository;
 
     @Autowired
-    private FollowerRepository followerRepository;
+    private SuggestionService suggestionService;
 
     @Autowired
-    private PostRepository postRepository;
+    private ProfileSearchIndex profileSearchIndex;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UsernameFilter usernameFilter;
+
     @Autowired
     private AuthorityRepository authorityRepository;
 
@@ -56,34 +63,19 @@ public class UserServiceImpl implements UserService {
         LoggingUtil.logBusinessEvent(logger, "Getting suggested users", "user", userPrincipal.getUsername(), "limit", limit);
         
         try {
-            Profile currentProfile = profileService.getUserProfile(userPrincipal);
-            LoggingUtil.logServiceDebug(logger, "Retrieved current user profile", "profileId", currentProfile.getId());
-            
-            // Get users that the current user already follows
-            List<UserFollowing> followings = followerRepository.findByFollowerUserId(currentProfile.getId());
-            List<Integer> followingIds = followings.stream()
-                .map(UserFollowing::getFollowingUserId)
-                .collect(Collectors.toList());
+            int currentProfileId = profileService.getProfileId(userPrincipal);
+            LoggingUtil.logServiceDebug(logger, "Retrieved current user profile", "profileId", currentProfileId);
             
-            // Add current user's ID to exclude them from suggestions
-            followingIds.add(currentProfile.getId());
+            // Precomputed friends-of-friends candidates, already excluding the user and whom they follow
+            List<Integer> suggestedIds = suggestionService.getSuggestedProfileIds(currentProfileId, limit);
             
-            LoggingUtil.logServiceDebug(logger, "Current user following analysis", 
-                "currentUserId", currentProfile.getId(), 
-                "followingCount", followings.size(),
-                "excludedIds", followingIds);
-            
-            // Get profiles that the current user doesn't follow
-            List<Profile> suggestedProfiles = profileRepository.findByIdNotIn(followingIds);
-            
-            LoggingUtil.logServiceDebug(logger, "Profile filtering results", 
-                "totalProfiles", profileRepository.count(), 
-                "availableProfiles", suggestedProfiles.size());
-            
-            // Convert to DTOs and limit results
-            List<SuggestedUserResponse> suggestedUsers = suggestedProfiles.stream()
-                .limit(limit)
-                .map(this::convertToSuggestedUserResponse)
+            Map<Integer, SuggestedUserResponse> byId = new HashMap<>();
+            if (!suggestedIds.isEmpty()) {
+                profileRepository.findSuggestedByIdIn(suggestedIds).forEach(user -> byId.put(user.getId(), user));
+            }
+            List<SuggestedUserResponse> suggestedUsers = suggestedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
             
             LoggingUtil.logBusinessEvent(logger, "Suggested users retrieved successfully", 
@@ -102,26 +94,26 @@ public class UserServiceImpl implements UserService {
         LoggingUtil.logBusinessEvent(logger, "Searching users", "user", userPrincipal.getUsername(), "query", query, "limit", limit);
         
         try {
-            Profile currentProfile = profileService.getUserProfile(userPrincipal);
-            LoggingUtil.logServiceDebug(logger, "Retrieved current user profile for search", "profileId", currentProfile.getId());
-            
-            // Search profiles by username or display name (case-insensitive)
-            List<Profile> searchResults = profileRepository.findByUsernameContainingIgnoreCaseOrDisplayNameContainingIgnoreCase(query, query);
-            
-            LoggingUtil.logServiceDebug(logger, "Search query results", 
-                "query", query, 
-                "totalResults", searchResults.size());
-            
-            // Filter out current user and convert to DTOs
-            List<SuggestedUserResponse> searchUsers = searchResults.stream()
-                .filter(profile -> profile.getId() != currentProfile.getId()) // Exclude current user
-                .limit(limit)
-                .map(this::convertToSuggestedUserResponse)
-                .collect(Collectors.toList());
+            int currentProfileId = profileService.getProfileId(userPrincipal);
+            LoggingUtil.logServiceDebug(logger, "Retrieved current user profile for search", "profileId", currentProfileId);
+            
+            List<SuggestedUserResponse> searchUsers;
+            List<Integer> matchedIds = profileSearchIndex.search(query, currentProfileId, limit);
+            if (matchedIds != null) {
+                // Ranked by the in-process index; only the matched rows are read, by primary key
+                Map<Integer, SuggestedUserResponse> byId = new HashMap<>();
+                if (!matchedIds.isEmpty()) {
+                    profileRepository.findSuggestedByIdIn(matchedIds).forEach(user -> byId.put(user.getId(), user));
+                }
+                searchUsers = matchedIds.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+            } else {
+                // Index still building: search profiles by username or display name (case-insensitive),
+                // excluding the current user, limited in the database and projected without loading entities
+                searchUsers = profileRepository.searchSummaries(query, currentProfileId, PageRequest.of(0, limit));
+            }
             
             LoggingUtil.logBusinessEvent(logger, "User search completed successfully", 
                 "query", query,
-                "totalResults", searchResults.size(),
                 "filteredResults", searchUsers.size(),
                 "requestedLimit", limit);
             
@@ -132,46 +124,6 @@ public class UserServiceImpl implements UserService {
         }
     }
     
-    private SuggestedUserResponse convertToSuggestedUserResponse(Profile profile) {
-        LoggingUtil.logServiceDebug(logger, "Converting profile to suggested user response", 
-            "profileId", profile.getId(), "username", profile.getUsername());
-        
-        try {
-            // Get follower count for this profile
-            int followersCount = followerRepository.countByFollowingUserId(profile.getId());
-            
-            // Get following count for this profile
-            int followingCount = followerRepository.countByFollowerUserId(profile.getId());
-            
-            // Get posts count for this profile
-            int postsCount = postRepository.countByCreatedBy(profile);
-            
-            SuggestedUserResponse response = SuggestedUserResponse.builder()
-                .id(profile.getId()) // Profile ID for follow/unfollow operations
-                .uid(profile.getUser().getId().toString()) // Use user ID as uid for frontend compatibility
-                .username(profile.getUsername())
-                .profilePicURL(profile.getProfileImageUrl()) // Map from profileImageUrl
-                .fullName(profile.getDisplayName()) // Map from displayName
-                .bio(profile.getBio())
-                .followersCount(followersCount)
-                .followingCount(followingCount)
-                .postsCount(postsCount)
-                .build();
-            
-            LoggingUtil.logServiceDebug(logger, "Profile conversion completed", 
-                "profileId", profile.getId(), 
-                "followersCount", followersCount,
-                "followingCount", followingCount,
-                "postsCount", postsCount);
-            
-            return response;
-        } catch (Exception e) {
-            LoggingUtil.logServiceWarning(logger, "Error converting profile to suggested user", 
-                "profileId", profile.getId(), "error", e.getMessage());
-            throw e;
-        }
-    }
-
     @Override
     public User createUser(String username, String password, String name) {
         LoggingUtil.logBusinessEvent(logger, "Creating new user", "username", username, "name", name);
@@ -202,7 +154,14 @@ public class UserServiceImpl implements UserService {
                 });
             user.setAuthorities(Set.of(userAuthority));
             
-            User savedUser = userRepository.save(user);
+            User savedUser;
+            try {
+                savedUser = userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // Taken by a concurrent registration, or by a name the column collation treats as equal
+                throw new RuntimeException("Username already exists: " + username);
+            }
+            usernameFilter.add(savedUser.getUsername());
             
             LoggingUtil.logBusinessEvent(logger, "User created successfully", 
                 "userId", savedUser.getId(), "username", username);
@@ -221,6 +180,15 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        // A definite negative from the in-process filter skips the database; only possible hits are confirmed
+        Boolean mightExist = usernameFilter.mightContain(username);
+        if (Boolean.FALSE.equals(mightExist)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByUsername(username);
+        if (mightExist != null && !exists) {
+            usernameFilter.recordFalsePositive();
+        }
+        return exists;
     }
 }
@@ -0,0 +1,16 @@
+package com.engineerpro.example.redis.service.feed;
+
+import java.util.List;
+
+import com.engineerpro.example.redis.dto.feed.PostCard;
+
+public interface CommentPreviewService {
+  void applyPreviews(List<PostCard> cards);
+
+  void evict(int postId);
+
+  /**
+   * Evicts the previews that may embed the profile's old name or picture.
+   */
+  void evictForProfile(int profileId);
+}
@@ -0,0 +1,144 @@
+package com.engineerpro.example.redis.service.feed;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.dto.feed.CommentResponse;
+import com.engineerpro.example.redis.dto.feed.PostCard;
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
+import com.engineerpro.example.redis.repository.CommentPreviewRepository;
+import com.engineerpro.example.redis.repository.CommentRepository;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import org.slf4j.Logger;
+
+/**
+ * Attaches the latest comments to each post card of a feed page. Previews are
+ * read from Redis in one MGET; the misses are loaded with a single per-post
+ * LIMIT query and written back unless the post was evicted meanwhile, and a
+ * post's preview is evicted whenever one of its comments is created or deleted
+ * and whenever one of its commenters renames.
+ */
+@Service
+public class CommentPreviewServiceImpl implements CommentPreviewService {
+
+  private static final Logger logger = LoggingUtil.getLogger(CommentPreviewServiceImpl.class);
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private CommentPreviewRepository commentPreviewRepository;
+
+  @Value("${post.comment-preview.size:2}")
+  private int previewSize;
+
+  @Override
+  public void applyPreviews(List<PostCard> cards) {
+    if (cards == null || cards.isEmpty()) {
+      return;
+    }
+    List<Integer> postIds = cards.stream().map(PostCard::getId).distinct().toList();
+    Map<Integer, List<CommentResponse>> previews = new HashMap<>();
+    try {
+      previews.putAll(commentPreviewRepository.getPreviews(postIds));
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to read comment previews from cache", "Error", e.getMessage());
+    }
+
+    List<Integer> missing = postIds.stream().filter(id -> !previews.containsKey(id)).toList();
+    if (!missing.isEmpty()) {
+      Map<Integer, String> versions = null;
+      try {
+        versions = commentPreviewRepository.getVersions(missing);
+      } catch (Exception e) {
+        LoggingUtil.logServiceWarning(logger, "Failed to read comment preview versions", "Error", e.getMessage());
+      }
+      Map<Integer, List<CommentResponse>> loaded = loadPreviews(missing);
+      previews.putAll(loaded);
+      try {
+        // Without the versions read first, a concurrent eviction could not be detected
+        if (versions != null) {
+          commentPreviewRepository.putPreviews(loaded, versions);
+        }
+      } catch (Exception e) {
+        LoggingUtil.logServiceWarning(logger, "Failed to cache comment previews", "Error", e.getMessage());
+      }
+      LoggingUtil.logServiceDebug(logger, "Comment previews loaded", "Requested", postIds.size(), "Loaded", missing.size());
+    }
+
+    for (PostCard card : cards) {
+      card.setPreviewComments(previews.getOrDefault(card.getId(), List.of()));
+    }
+  }
+
+  @Override
+  public void evict(int postId) {
+    try {
+      commentPreviewRepository.delete(postId);
+    } catch (Exception e) {
+      // The entry still expires on its own TTL
+      LoggingUtil.logServiceWarning(logger, "Failed to evict comment preview", "Post ID", postId, "Error", e.getMessage());
+    }
+  }
+
+  @Override
+  public void evictForProfile(int profileId) {
+    try {
+      List<Integer> postIds = commentRepository.findPostIdsByProfileId(profileId);
+      commentPreviewRepository.delete(postIds);
+      LoggingUtil.logServiceDebug(logger, "Comment previews evicted for profile", "Profile ID", profileId,
+          "Posts", postIds.size());
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to evict comment previews for profile", "Profile ID", profileId,
+          "Error", e.getMessage());
+    }
+  }
+
+  private Map<Integer, List<CommentResponse>> loadPreviews(List<Integer> postIds) {
+    Map<Integer, List<CommentResponse>> previews = new HashMap<>();
+    for (Integer postId : postIds) {
+      previews.put(postId, new ArrayList<>());
+    }
+    for (Object[] row : commentRepository.findLatestByPostIds(postIds, previewSize)) {
+      CommentResponse comment = CommentResponse.builder()
+          .id(((Number) row[0]).intValue())
+          .content((String) row[2])
+          .createdAt(toDate(row[3]))
+          .createdBy(ProfileSummary.builder()
+              .id(((Number) row[4]).intValue())
+              .username((String) row[5])
+              .displayName((String) row[6])
+              .profileImageUrl((String) row[7])
+              .build())
+          .build();
+      previews.get(((Number) row[1]).intValue()).add(comment);
+    }
+    // Shown in reading order under the card, oldest of the latest first
+    Comparator<CommentResponse> order = Comparator.comparing(CommentResponse::getCreatedAt)
+        .thenComparingInt(CommentResponse::getId);
+    previews.values().forEach(list -> list.sort(order));
+    return previews;
+  }
+
+  private Date toDate(Object value) {
+    if (value instanceof LocalDateTime time) {
+      return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+    if (value instanceof Timestamp timestamp) {
+      return new Date(timestamp.getTime());
+    }
+    return (Date) value;
+  }
+}
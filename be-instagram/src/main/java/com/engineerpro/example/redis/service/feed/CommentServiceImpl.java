@@ -1,13 +1,21 @@
 package com.engineerpro.example.redis.service.feed;
 
 import java.util.Date;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.feed.CommentResponse;
 import com.engineerpro.example.redis.dto.feed.CreateCommentRequest;
+import com.engineerpro.example.redis.dto.feed.CreateCommentResponse;
+import com.engineerpro.example.redis.dto.feed.GetCommentsResponse;
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
 import com.engineerpro.example.redis.exception.CommentNotFoundException;
+import com.engineerpro.example.redis.exception.InvalidInputException;
 import com.engineerpro.example.redis.exception.NoPermissionException;
 import com.engineerpro.example.redis.exception.PostNotFoundException;
 import com.engineerpro.example.redis.model.Comment;
@@ -17,6 +25,7 @@ import com.engineerpro.example.redis.repository.CommentRepository;
 import com.engineerpro.example.redis.repository.PostRepository;
 import com.engineerpro.example.redis.service.profile.ProfileService;
 import com.engineerpro.example.redis.service.NotificationService;
+import com.engineerpro.example.redis.util.KeysetCursor;
 import com.engineerpro.example.redis.util.LoggingUtil;
 
 import org.slf4j.Logger;
@@ -38,8 +47,17 @@ public class CommentServiceImpl implements CommentService {
   @Autowired
   private NotificationService notificationService;
 
+  @Autowired
+  private PostCounterService postCounterService;
+
+  @Autowired
+  private CommentPreviewService commentPreviewService;
+
+  @Value("${post.comments.max-page-size:100}")
+  private int maxCommentsPageSize;
+
   @Override
-  public Post createComment(UserPrincipal userPrincipal, CreateCommentRequest request) {
+  public CreateCommentResponse createComment(UserPrincipal userPrincipal, CreateCommentRequest request) {
     LoggingUtil.logBusinessEvent(logger, "Creating comment", 
       "Username", userPrincipal.getUsername(), 
       "Post ID", request.getPostId());
@@ -54,7 +72,15 @@ public class CommentServiceImpl implements CommentService {
       comment.setCreatedBy(profile);
       comment.setPost(post);
       
-      commentRepository.save(comment);
+      String change = postCounterService.beginChange(post.getId());
+      try {
+        commentRepository.save(comment);
+      } catch (Exception e) {
+        postCounterService.cancelChange(post.getId(), change);
+        throw e;
+      }
+      postCounterService.adjustComments(post.getId(), 1, change);
+      commentPreviewService.evict(post.getId());
       
       // Create comment notification
       notificationService.createCommentNotification(profile, comment, post);
@@ -64,7 +90,19 @@ public class CommentServiceImpl implements CommentService {
         "Username", userPrincipal.getUsername(),
         "Post ID", request.getPostId());
       
-      return post;
+      postCounterService.applyCounts(post);
+      CommentResponse created = CommentResponse.builder()
+          .id(comment.getId())
+          .content(comment.getContent())
+          .createdAt(comment.getCreatedAt())
+          .createdBy(ProfileSummary.builder()
+              .id(profile.getId())
+              .username(profile.getUsername())
+              .displayName(profile.getDisplayName())
+              .profileImageUrl(profile.getProfileImageUrl())
+              .build())
+          .build();
+      return CreateCommentResponse.builder().post(post).comment(created).build();
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to create comment", 
         "Username", userPrincipal.getUsername(),
@@ -81,10 +119,10 @@ public class CommentServiceImpl implements CommentService {
       "Comment ID", commentId);
     
     try {
-      Profile profile = profileService.getUserProfile(userPrincipal);
+      int profileId = profileService.getProfileId(userPrincipal);
       Comment comment = commentRepository.findById(commentId).orElseThrow(CommentNotFoundException::new);
       
-      if (comment.getCreatedBy().getId() != profile.getId()) {
+      if (comment.getCreatedBy().getId() != profileId) {
         LoggingUtil.logServiceWarning(logger, "Permission denied for comment deletion", 
           "Username", userPrincipal.getUsername(),
           "Comment ID", commentId,
@@ -92,12 +130,21 @@ public class CommentServiceImpl implements CommentService {
         throw new NoPermissionException();
       }
       
-      commentRepository.delete(comment);
+      String change = postCounterService.beginChange(comment.getPost().getId());
+      try {
+        commentRepository.delete(comment);
+      } catch (Exception e) {
+        postCounterService.cancelChange(comment.getPost().getId(), change);
+        throw e;
+      }
+      postCounterService.adjustComments(comment.getPost().getId(), -1, change);
+      commentPreviewService.evict(comment.getPost().getId());
       
       LoggingUtil.logBusinessEvent(logger, "Comment deleted successfully", 
         "Comment ID", commentId,
         "Username", userPrincipal.getUsername());
       
+      postCounterService.applyCounts(comment.getPost());
       return comment.getPost();
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to delete comment", 
@@ -107,4 +154,39 @@ public class CommentServiceImpl implements CommentService {
       throw e;
     }
   }
+
+  @Override
+  public GetCommentsResponse getComments(int postId, String cursor, int limit) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving comments", "Post ID", postId, "Limit", limit);
+
+    try {
+      if (limit <= 0) {
+        throw new InvalidInputException();
+      }
+      int pageSize = Math.min(limit, maxCommentsPageSize);
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      if (after == null && !postRepository.existsById(postId)) {
+        throw new PostNotFoundException();
+      }
+
+      // Fetch one extra row to know whether another page exists
+      PageRequest page = PageRequest.of(0, pageSize + 1);
+      List<CommentResponse> comments = after == null
+          ? commentRepository.findPageByPostId(postId, page)
+          : commentRepository.findPageByPostIdAfter(postId, new Date(after.getSortKey()), (int) after.getId(), page);
+
+      String nextCursor = null;
+      if (comments.size() > pageSize) {
+        comments = comments.subList(0, pageSize);
+        CommentResponse last = comments.get(pageSize - 1);
+        nextCursor = new KeysetCursor(last.getCreatedAt().getTime(), last.getId()).encode();
+      }
+
+      LoggingUtil.logServiceDebug(logger, "Comments retrieved successfully", "Post ID", postId, "Count", comments.size());
+      return GetCommentsResponse.builder().comments(comments).nextCursor(nextCursor).build();
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to retrieve comments", "Post ID", postId, "Error", e.getMessage());
+      throw e;
+    }
+  }
 }
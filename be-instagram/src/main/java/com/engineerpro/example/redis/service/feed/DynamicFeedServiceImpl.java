@@ -1,15 +1,18 @@
 package com.engineerpro.example.redis.service.feed;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.feed.GetFeedResponse;
-import com.engineerpro.example.redis.model.Post;
+import com.engineerpro.example.redis.dto.feed.PostCard;
 import com.engineerpro.example.redis.model.Profile;
 import com.engineerpro.example.redis.model.UserFollowing;
+import com.engineerpro.example.redis.repository.FollowGraph;
 import com.engineerpro.example.redis.repository.FollowerRepository;
 import com.engineerpro.example.redis.repository.PostRepository;
 import com.engineerpro.example.redis.service.profile.ProfileService;
@@ -31,6 +34,15 @@ public class DynamicFeedServiceImpl implements FeedService {
   @Autowired
   private FollowerRepository followerRepository;
 
+  @Autowired
+  private FollowGraph followGraph;
+
+  @Autowired
+  private PostCounterService postCounterService;
+
+  @Autowired
+  private CommentPreviewService commentPreviewService;
+
   @Override
   public GetFeedResponse getFeed(UserPrincipal userPrincipal, int limit, int page) {
     LoggingUtil.logBusinessEvent(logger, "Getting dynamic feed", "username", userPrincipal.getUsername(), "limit", limit, "page", page);
@@ -40,9 +52,10 @@ public class DynamicFeedServiceImpl implements FeedService {
       LoggingUtil.logServiceDebug(logger, "Profile retrieved for dynamic feed", "profileId", profile.getId());
 
       // Get users that the current user follows
-      List<UserFollowing> followings = followerRepository.findByFollowerUserId(profile.getId());
-      List<Integer> followingProfileIdList = followings.stream().map(following -> following.getFollowingUserId())
-          .toList();
+      List<Integer> followingProfileIdList = followGraph.isReady()
+          ? Arrays.stream(followGraph.following(profile.getId()).toArray()).boxed().toList()
+          : followerRepository.findByFollowerUserId(profile.getId()).stream()
+              .map(UserFollowing::getFollowingUserId).toList();
       
       // Include current user's own posts in the feed
       List<Integer> allProfileIds = new java.util.ArrayList<>(followingProfileIdList);
@@ -54,18 +67,15 @@ public class DynamicFeedServiceImpl implements FeedService {
       if (followingProfileIdList.isEmpty()) {
         LoggingUtil.logServiceDebug(logger, "User doesn't follow anyone, showing only own posts", "username", userPrincipal.getUsername());
         
-        int totalPost = postRepository.countByCreatedBy(profile);
+        int totalPost = profile.getPostCount();
         int totalPage = (int) Math.ceil((double) totalPost / limit);
         
         int adjustedPage = Math.max(0, page);
-        int offset = adjustedPage * limit;
         
-        // Use the method that eagerly loads profile data
-        List<Post> posts = postRepository.findByCreatedByIdWithProfile(profile.getId());
-        // Apply pagination manually since findByCreatedByIdWithProfile doesn't support pagination
-        int startIndex = Math.min(offset, posts.size());
-        int endIndex = Math.min(startIndex + limit, posts.size());
-        List<Post> paginatedPosts = posts.subList(startIndex, endIndex);
+        List<PostCard> paginatedPosts = postRepository.findCardsByCreatedByIds(List.of(profile.getId()),
+            PageRequest.of(adjustedPage, limit));
+        postCounterService.applyCardCounts(paginatedPosts);
+        commentPreviewService.applyPreviews(paginatedPosts);
         
         LoggingUtil.logServiceDebug(logger, "Own posts pagination", "totalPost", totalPost, "currentPageSize", paginatedPosts.size());
         
@@ -86,13 +96,11 @@ public class DynamicFeedServiceImpl implements FeedService {
       
       LoggingUtil.logServiceDebug(logger, "Dynamic feed pagination", "page", page, "adjustedPage", adjustedPage, "limit", limit, "offset", offset, "totalPage", totalPage);
 
-      // Use the new method that eagerly loads profile data
-      List<Post> posts = postRepository.findByCreatedByProfileIdsWithProfile(allProfileIds);
-      
-      // Apply pagination manually since the new method doesn't support pagination
-      int startIndex = Math.min(offset, posts.size());
-      int endIndex = Math.min(startIndex + limit, posts.size());
-      List<Post> paginatedPosts = posts.subList(startIndex, endIndex);
+      // Card projections, paginated in the database
+      List<PostCard> paginatedPosts = postRepository.findCardsByCreatedByIds(allProfileIds,
+          PageRequest.of(adjustedPage, limit));
+      postCounterService.applyCardCounts(paginatedPosts);
+      commentPreviewService.applyPreviews(paginatedPosts);
 
       LoggingUtil.logServiceDebug(logger, "Posts retrieved for dynamic feed", "postsCount", paginatedPosts.size(), "page", page, "limit", limit, "offset", offset);
 
@@ -0,0 +1,12 @@
+package com.engineerpro.example.redis.service.feed;
+
+import java.util.List;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.feed.GetLikeStateResponse;
+
+public interface LikeStateService {
+  GetLikeStateResponse getLikeState(UserPrincipal userPrincipal, List<Integer> postIds);
+
+  void recordLike(int profileId, int postId);
+}
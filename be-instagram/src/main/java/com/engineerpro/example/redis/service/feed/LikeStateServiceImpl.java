@@ -0,0 +1,177 @@
+package com.engineerpro.example.redis.service.feed;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.feed.GetLikeStateResponse;
+import com.engineerpro.example.redis.exception.InvalidInputException;
+import com.engineerpro.example.redis.repository.LikeFilterRepository;
+import com.engineerpro.example.redis.repository.PostLikeRepository;
+import com.engineerpro.example.redis.service.profile.ProfileService;
+import com.engineerpro.example.redis.util.BloomHash;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+
+/**
+ * Answers "which of these posts did I like" for a feed page. Each profile has
+ * a Bloom filter of liked post IDs in Redis; posts the filter rules out are
+ * not liked, and only the filter's positives are confirmed with one primary
+ * key lookup against post_user_likes. Filters are built lazily on first use,
+ * sized from the profile's like count, and rebuilt after they expire or fill up.
+ */
+@Service
+public class LikeStateServiceImpl implements LikeStateService {
+
+  private static final Logger logger = LoggingUtil.getLogger(LikeStateServiceImpl.class);
+
+  @Autowired
+  private ProfileService profileService;
+
+  @Autowired
+  private PostLikeRepository postLikeRepository;
+
+  @Autowired
+  private LikeFilterRepository likeFilterRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${post.like-state.max-batch-size:100}")
+  private int maxBatchSize;
+
+  @Value("${post.like-state.filter.bits-per-entry:10}")
+  private int bitsPerEntry;
+
+  @Value("${post.like-state.filter.hash-functions:7}")
+  private int hashFunctions;
+
+  @Value("${post.like-state.filter.min-bits:8192}")
+  private long minBits;
+
+  private Counter filterNegatives;
+  private Counter filterPositives;
+  private Counter falsePositives;
+  private Counter filterMisses;
+  private Counter filterBuilds;
+
+  @PostConstruct
+  void initMetrics() {
+    filterNegatives = Counter.builder("post.like_state.filter_negatives").register(meterRegistry);
+    filterPositives = Counter.builder("post.like_state.filter_positives").register(meterRegistry);
+    falsePositives = Counter.builder("post.like_state.false_positives").register(meterRegistry);
+    filterMisses = Counter.builder("post.like_state.filter_misses").register(meterRegistry);
+    filterBuilds = Counter.builder("post.like_state.filter_builds").register(meterRegistry);
+  }
+
+  @Override
+  public GetLikeStateResponse getLikeState(UserPrincipal userPrincipal, List<Integer> postIds) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving like state", "Username", userPrincipal.getUsername(),
+        "Post Count", postIds != null ? postIds.size() : 0);
+
+    try {
+      if (postIds == null || postIds.size() > maxBatchSize) {
+        throw new InvalidInputException();
+      }
+      List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(postIds));
+      if (ids.isEmpty()) {
+        return GetLikeStateResponse.builder().likedPostIds(List.of()).build();
+      }
+      int profileId = profileService.getProfileId(userPrincipal);
+
+      List<Integer> positives = filterPositives(profileId, ids);
+      List<Integer> candidates = positives != null ? positives : ids;
+      List<Integer> liked = candidates.isEmpty()
+          ? List.of()
+          : postLikeRepository.findLikedPostIds(profileId, candidates);
+      if (positives != null) {
+        // Any positive the database rejects was a false positive of the filter
+        falsePositives.increment(positives.size() - liked.size());
+      }
+
+      LoggingUtil.logServiceDebug(logger, "Like state retrieved", "Profile ID", profileId,
+          "Requested", ids.size(), "Candidates", candidates.size(), "Liked", liked.size());
+      return GetLikeStateResponse.builder().likedPostIds(liked).build();
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to retrieve like state", "Username", userPrincipal.getUsername(),
+          "Error", e.getMessage());
+      throw e;
+    }
+  }
+
+  @Override
+  public void recordLike(int profileId, int postId) {
+    try {
+      long[] hash = BloomHash.of(postId);
+      likeFilterRepository.add(profileId, hash[0], hash[1], bitsPerEntry);
+    } catch (Exception e) {
+      // A filter missing this like would answer a false negative, so never leave it behind
+      LoggingUtil.logServiceWarning(logger, "Failed to record like in filter, dropping filter",
+          "Profile ID", profileId, "Post ID", postId, "Error", e.getMessage());
+      likeFilterRepository.delete(profileId);
+    }
+  }
+
+  /**
+   * Posts the filter cannot rule out, or null when the profile has no ready
+   * filter yet (one is built for the next lookup).
+   */
+  private List<Integer> filterPositives(int profileId, List<Integer> ids) {
+    List<long[]> hashes = ids.stream().map(BloomHash::of).toList();
+    List<Boolean> flags = likeFilterRepository.mightContain(profileId, hashes);
+    if (flags == null) {
+      filterMisses.increment();
+      buildFilter(profileId);
+      return null;
+    }
+    List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i++) {
+      if (flags.get(i)) {
+        candidates.add(ids.get(i));
+      }
+    }
+    filterPositives.increment(candidates.size());
+    filterNegatives.increment(ids.size() - candidates.size());
+    return candidates;
+  }
+
+  private void buildFilter(int profileId) {
+    try {
+      long likeCount = postLikeRepository.countByProfileId(profileId);
+      // Leave room for the filter to double before it has to be rebuilt
+      long bits = BloomHash.bitsFor(Math.max(likeCount * 2, 256), bitsPerEntry, minBits);
+      if (!likeFilterRepository.beginBuild(profileId, bits, hashFunctions)) {
+        return;
+      }
+      // Likes committed after this snapshot are added to the bitmap by recordLike
+      List<Integer> postIds = postLikeRepository.findPostIdsByProfileId(profileId);
+      byte[] bitmap = new byte[(int) (bits / 8)];
+      for (Integer postId : postIds) {
+        long[] hash = BloomHash.of(postId);
+        for (int i = 0; i < hashFunctions; i++) {
+          long offset = BloomHash.offset(hash, i, bits);
+          // Redis bitmaps number bits from the most significant bit of each byte
+          bitmap[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+        }
+      }
+      likeFilterRepository.completeBuild(profileId, bitmap, postIds.size());
+      filterBuilds.increment();
+      LoggingUtil.logBusinessEvent(logger, "Like filter built", "Profile ID", profileId,
+          "Entries", postIds.size(), "Bits", bits);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to build like filter", "Profile ID", profileId,
+          "Error", e.getMessage());
+      likeFilterRepository.delete(profileId);
+    }
+  }
+}
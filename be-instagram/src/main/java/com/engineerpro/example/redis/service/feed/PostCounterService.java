@@ -0,0 +1,31 @@
+package com.engineerpro.example.redis.service.feed;
+
+import java.util.List;
+
+import com.engineerpro.example.redis.dto.feed.PostCard;
+import com.engineerpro.example.redis.dto.feed.PostThumbnail;
+import com.engineerpro.example.redis.model.Post;
+
+public interface PostCounterService {
+  /**
+   * Registers a like or comment change before its source row is written.
+   * @return the token that adjustLikes, adjustComments or cancelChange ends the change with
+   */
+  String beginChange(int postId);
+
+  void cancelChange(int postId, String change);
+
+  long adjustLikes(int postId, int delta, String change);
+
+  long adjustComments(int postId, int delta, String change);
+
+  void applyCounts(List<Post> posts);
+
+  void applyCounts(Post post);
+
+  void applyCardCounts(List<PostCard> cards);
+
+  void applyThumbnailCounts(List<PostThumbnail> thumbnails);
+
+  void removeCounts(int postId);
+}
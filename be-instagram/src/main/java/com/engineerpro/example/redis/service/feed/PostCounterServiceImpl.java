@@ -0,0 +1,304 @@
+package com.engineerpro.example.redis.service.feed;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.dto.feed.PostCard;
+import com.engineerpro.example.redis.dto.feed.PostThumbnail;
+import com.engineerpro.example.redis.model.Post;
+import com.engineerpro.example.redis.repository.CommentRepository;
+import com.engineerpro.example.redis.repository.JobLockRepository;
+import com.engineerpro.example.redis.repository.PostCounterRepository;
+import com.engineerpro.example.redis.repository.PostRepository;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps like and comment counts per post in Redis so rendering a post never
+ * touches its likes or comments collections. Counters are seeded lazily from
+ * post.like_count / post.comment_count and written behind to them. Until the
+ * first full reconcile has backfilled those columns, counters are seeded by
+ * counting the source tables instead. Periodically the stored columns are
+ * reconciled against the source tables and live counters overwritten with the
+ * counted values, so any drift in either is repaired.
+ */
+@Service
+public class PostCounterServiceImpl implements PostCounterService {
+
+  private static final Logger logger = LoggingUtil.getLogger(PostCounterServiceImpl.class);
+
+  private static final int FLUSH_BATCH_SIZE = 500;
+  private static final int RECONCILE_BATCH_SIZE = 1000;
+  private static final int RECONCILE_RETRIES = 3;
+  private static final String FLUSH_JOB = "post-counters-flush";
+  private static final String RECONCILE_JOB = "post-counters-reconcile";
+  private static final Duration FLUSH_LOCK_TTL = Duration.ofMinutes(1);
+  private static final Duration RECONCILE_LOCK_TTL = Duration.ofHours(1);
+
+  @Autowired
+  private PostCounterRepository postCounterRepository;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private JobLockRepository jobLockRepository;
+
+  @Value("${post.counters.write-behind-enabled:true}")
+  private boolean writeBehindEnabled;
+
+  // Set once the first full reconcile has filled the counter columns
+  private volatile boolean columnsBackfilled;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillCounters() {
+    if (columnsBackfilled()) {
+      return;
+    }
+    Thread backfill = new Thread(this::reconcileCounters, "post-counters-backfill");
+    backfill.setDaemon(true);
+    backfill.start();
+  }
+
+  @Override
+  public String beginChange(int postId) {
+    return postCounterRepository.beginChange(postId);
+  }
+
+  @Override
+  public void cancelChange(int postId, String change) {
+    postCounterRepository.cancelChange(postId, change);
+  }
+
+  @Override
+  public long adjustLikes(int postId, int delta, String change) {
+    return adjust(postId, PostCounterRepository.LIKES, 0, delta, change);
+  }
+
+  @Override
+  public long adjustComments(int postId, int delta, String change) {
+    return adjust(postId, PostCounterRepository.COMMENTS, 1, delta, change);
+  }
+
+  private long adjust(int postId, String field, int index, int delta, String change) {
+    Long updated = postCounterRepository.increment(postId, field, delta, change);
+    if (updated != null) {
+      return updated;
+    }
+    if (!columnsBackfilled()) {
+      // Called after the source row was written, so a fresh count already includes this change
+      return seedFromSourceTables(List.of(postId)).get(postId)[index];
+    }
+    // The columns hold only applied increments, so apply this change on top of them
+    long[] seeded = seedFromColumns(List.of(postId)).get(postId);
+    updated = postCounterRepository.increment(postId, field, delta, change);
+    return updated != null ? updated : seeded[index] + delta;
+  }
+
+  @Override
+  public void applyCounts(Post post) {
+    if (post != null) {
+      applyCounts(List.of(post));
+    }
+  }
+
+  @Override
+  public void applyCounts(List<Post> posts) {
+    if (posts == null || posts.isEmpty()) {
+      return;
+    }
+    Map<Integer, long[]> counts = getOrSeedCounts(posts.stream().map(Post::getId).distinct().toList());
+    for (Post post : posts) {
+      long[] postCounts = counts.get(post.getId());
+      if (postCounts != null) {
+        post.setLikeCount((int) postCounts[0]);
+        post.setCommentCount((int) postCounts[1]);
+      }
+    }
+  }
+
+  @Override
+  public void applyCardCounts(List<PostCard> cards) {
+    if (cards == null || cards.isEmpty()) {
+      return;
+    }
+    Map<Integer, long[]> counts = getOrSeedCounts(cards.stream().map(PostCard::getId).distinct().toList());
+    for (PostCard card : cards) {
+      long[] postCounts = counts.get(card.getId());
+      if (postCounts != null) {
+        card.setLikeCount((int) postCounts[0]);
+        card.setCommentCount((int) postCounts[1]);
+      }
+    }
+  }
+
+  @Override
+  public void applyThumbnailCounts(List<PostThumbnail> thumbnails) {
+    if (thumbnails == null || thumbnails.isEmpty()) {
+      return;
+    }
+    Map<Integer, long[]> counts = getOrSeedCounts(thumbnails.stream().map(PostThumbnail::getId).distinct().toList());
+    for (PostThumbnail thumbnail : thumbnails) {
+      long[] postCounts = counts.get(thumbnail.getId());
+      if (postCounts != null) {
+        thumbnail.setLikeCount((int) postCounts[0]);
+        thumbnail.setCommentCount((int) postCounts[1]);
+      }
+    }
+  }
+
+  @Override
+  public void removeCounts(int postId) {
+    postCounterRepository.delete(postId);
+  }
+
+  private Map<Integer, long[]> getOrSeedCounts(List<Integer> postIds) {
+    Map<Integer, long[]> counts = new HashMap<>(postCounterRepository.getCounts(postIds));
+    List<Integer> missing = postIds.stream().filter(id -> !counts.containsKey(id)).toList();
+    if (!missing.isEmpty()) {
+      LoggingUtil.logServiceDebug(logger, "Seeding post counters", "postIds", missing);
+      counts.putAll(seed(missing));
+    }
+    return counts;
+  }
+
+  private Map<Integer, long[]> seed(List<Integer> postIds) {
+    return columnsBackfilled() ? seedFromColumns(postIds) : seedFromSourceTables(postIds);
+  }
+
+  private Map<Integer, long[]> seedFromColumns(List<Integer> postIds) {
+    Map<Integer, long[]> counts = new HashMap<>();
+    for (Object[] row : postRepository.findCountersByIds(postIds)) {
+      int postId = ((Number) row[0]).intValue();
+      long likes = ((Number) row[1]).longValue();
+      long comments = ((Number) row[2]).longValue();
+      postCounterRepository.seed(postId, likes, comments);
+      counts.put(postId, new long[] { likes, comments });
+    }
+    // Another request may have seeded first and applied changes since; its values win
+    counts.putAll(postCounterRepository.getCounts(postIds));
+    postIds.forEach(id -> counts.putIfAbsent(id, new long[] { 0, 0 }));
+    return counts;
+  }
+
+  private Map<Integer, long[]> seedFromSourceTables(List<Integer> postIds) {
+    long countedAt = postCounterRepository.now();
+    Map<Integer, long[]> counts = count(postIds);
+    counts.forEach((postId, postCounts) ->
+        postCounterRepository.seedCounted(postId, postCounts[0], postCounts[1], countedAt));
+    // Another request may have seeded first; its values win. Posts whose seed was refused because
+    // a change raced the count keep the counted values for this response only
+    counts.putAll(postCounterRepository.getCounts(postIds));
+    return counts;
+  }
+
+  private Map<Integer, long[]> count(List<Integer> postIds) {
+    Map<Integer, long[]> counts = new HashMap<>();
+    postIds.forEach(id -> counts.put(id, new long[] { 0, 0 }));
+    for (Object[] row : postRepository.countLikesByPostIds(postIds)) {
+      counts.get(((Number) row[0]).intValue())[0] = ((Number) row[1]).longValue();
+    }
+    for (Object[] row : commentRepository.countByPostIds(postIds)) {
+      counts.get(((Number) row[0]).intValue())[1] = ((Number) row[1]).longValue();
+    }
+    return counts;
+  }
+
+  private boolean columnsBackfilled() {
+    if (!columnsBackfilled) {
+      // Checked against Redis until it flips, since another instance may have run the backfill
+      columnsBackfilled = jobLockRepository.isDone(RECONCILE_JOB);
+    }
+    return columnsBackfilled;
+  }
+
+  @Scheduled(fixedDelayString = "${post.counters.flush-interval-ms:5000}")
+  public void flushDirtyCounters() {
+    if (!writeBehindEnabled) {
+      return;
+    }
+    String token = jobLockRepository.tryLock(FLUSH_JOB, FLUSH_LOCK_TTL);
+    if (token == null) {
+      return;
+    }
+    int flushed = 0;
+    try {
+      List<String> batch;
+      while (!(batch = postCounterRepository.popDirty(FLUSH_BATCH_SIZE)).isEmpty()) {
+        Set<String> pending = new HashSet<>(batch);
+        try {
+          List<Integer> postIds = new ArrayList<>(batch.stream().map(Integer::valueOf).toList());
+          Map<Integer, long[]> counts = postCounterRepository.getCounts(postIds);
+          for (Map.Entry<Integer, long[]> entry : counts.entrySet()) {
+            postRepository.updateCounters(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            pending.remove(String.valueOf(entry.getKey()));
+            flushed++;
+          }
+          pending.clear();
+        } catch (Exception e) {
+          LoggingUtil.logServiceWarning(logger, "Failed to flush post counters", "pending", pending.size(),
+              "Error", e.getMessage());
+          postCounterRepository.markDirty(pending);
+          return;
+        }
+      }
+    } finally {
+      jobLockRepository.release(FLUSH_JOB, token);
+    }
+    if (flushed > 0) {
+      LoggingUtil.logServiceDebug(logger, "Post counters flushed", "count", flushed);
+    }
+  }
+
+  @Scheduled(cron = "${post.counters.reconcile-cron:0 30 3 * * *}")
+  public void reconcileCounters() {
+    String token = jobLockRepository.tryLock(RECONCILE_JOB, RECONCILE_LOCK_TTL);
+    if (token == null) {
+      LoggingUtil.logServiceDebug(logger, "Post counter reconcile already running elsewhere");
+      return;
+    }
+    try {
+      int maxId = postRepository.findMaxId();
+      int updated = 0;
+      List<Integer> skipped = new ArrayList<>();
+      for (int fromId = 1; fromId <= maxId; fromId += RECONCILE_BATCH_SIZE) {
+        int toId = fromId + RECONCILE_BATCH_SIZE - 1;
+        long countedAt = postCounterRepository.now();
+        updated += postRepository.reconcileCounters(fromId, toId);
+        // Clients read the Redis counters, so correct the live ones too
+        List<Integer> postIds = IntStream.rangeClosed(fromId, toId).boxed().toList();
+        skipped.addAll(postCounterRepository.overwriteSettled(count(postIds), countedAt));
+      }
+      // Posts changing while they were counted are counted again after the full pass
+      for (int attempt = 0; attempt < RECONCILE_RETRIES && !skipped.isEmpty(); attempt++) {
+        long countedAt = postCounterRepository.now();
+        skipped = postCounterRepository.overwriteSettled(count(skipped), countedAt);
+      }
+      jobLockRepository.markDone(RECONCILE_JOB);
+      columnsBackfilled = true;
+      LoggingUtil.logBusinessEvent(logger, "Post counters reconciled", "maxPostId", maxId, "rows", updated,
+          "unsettled", skipped.size());
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to reconcile post counters", "Error", e.getMessage());
+    } finally {
+      jobLockRepository.release(RECONCILE_JOB, token);
+    }
+  }
+}
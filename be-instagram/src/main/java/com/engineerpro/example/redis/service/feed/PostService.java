@@ -1,9 +1,11 @@
 package com.engineerpro.example.redis.service.feed;
 
-import java.util.List;
-
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.feed.CreatePostRequest;
+import com.engineerpro.example.redis.dto.feed.GetPostLikersResponse;
+import com.engineerpro.example.redis.dto.feed.GetProfileGridResponse;
+import com.engineerpro.example.redis.dto.feed.GetUserPostResponse;
+import com.engineerpro.example.redis.dto.feed.LikePostResponse;
 import com.engineerpro.example.redis.model.Post;
 
 public interface PostService {
@@ -15,11 +17,13 @@ public interface PostService {
 
   void deletePost(UserPrincipal userPrincipal, int postId);
 
-  Post likePost(UserPrincipal userPrincipal, int postId);
+  LikePostResponse likePost(UserPrincipal userPrincipal, int postId);
+
+  LikePostResponse unlikePost(UserPrincipal userPrincipal, int postId);
 
-  Post unlikePost(UserPrincipal userPrincipal, int postId);
+  GetPostLikersResponse getPostLikers(int postId, String cursor, int limit);
 
-  List<Post> getUserPosts(int userId);
+  GetProfileGridResponse getUserPosts(int userId, String cursor, int limit);
 
-  List<Post> getLikedPosts(int userId);
+  GetUserPostResponse getLikedPosts(int userId, String cursor, int limit);
 }
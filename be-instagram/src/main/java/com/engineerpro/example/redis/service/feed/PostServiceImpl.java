@@ -5,18 +5,31 @@ import java.util.List;
 
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.config.MessageQueueConfig;
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.feed.CreatePostRequest;
+import com.engineerpro.example.redis.dto.feed.GetPostLikersResponse;
+import com.engineerpro.example.redis.dto.feed.GetProfileGridResponse;
+import com.engineerpro.example.redis.dto.feed.GetUserPostResponse;
+import com.engineerpro.example.redis.dto.feed.LikePostResponse;
+import com.engineerpro.example.redis.dto.feed.PostCard;
+import com.engineerpro.example.redis.dto.feed.PostLikerResponse;
+import com.engineerpro.example.redis.dto.feed.PostThumbnail;
+import com.engineerpro.example.redis.exception.InvalidInputException;
 import com.engineerpro.example.redis.exception.NoPermissionException;
 import com.engineerpro.example.redis.exception.PostNotFoundException;
 import com.engineerpro.example.redis.model.Post;
 import com.engineerpro.example.redis.model.Profile;
+import com.engineerpro.example.redis.repository.PostLikeRepository;
 import com.engineerpro.example.redis.repository.PostRepository;
+import com.engineerpro.example.redis.service.profile.ProfileCounterService;
 import com.engineerpro.example.redis.service.profile.ProfileService;
 import com.engineerpro.example.redis.service.NotificationService;
+import com.engineerpro.example.redis.util.KeysetCursor;
 import com.engineerpro.example.redis.util.LoggingUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.engineerpro.example.redis.repository.FeedRepository;
@@ -34,12 +47,36 @@ public class PostServiceImpl implements PostService {
   @Autowired
   private PostRepository postRepository;
 
+  @Autowired
+  private PostLikeRepository postLikeRepository;
+
   @Autowired
   private FeedRepository feedRepository;
 
   @Autowired
   private NotificationService notificationService;
 
+  @Autowired
+  private PostCounterService postCounterService;
+
+  @Autowired
+  private LikeStateService likeStateService;
+
+  @Autowired
+  private CommentPreviewService commentPreviewService;
+
+  @Autowired
+  private ProfileCounterService profileCounterService;
+
+  @Value("${post.likers.max-page-size:100}")
+  private int maxLikersPageSize;
+
+  @Value("${post.grid.max-page-size:60}")
+  private int maxGridPageSize;
+
+  @Value("${post.liked-posts.max-page-size:60}")
+  private int maxLikedPostsPageSize;
+
   @Autowired
   RabbitTemplate rabbitTemplate;
 
@@ -71,6 +108,7 @@ public class PostServiceImpl implements PostService {
       post.setImageUrl(request.getImageUrl());
 
       Post savedPost = postRepository.save(post);
+      profileCounterService.onPostCreated(profile.getId());
       LoggingUtil.logBusinessEvent(logger, "Post created successfully",
           "Post ID", savedPost.getId(),
           "Username", userPrincipal.getUsername(),
@@ -99,6 +137,7 @@ public class PostServiceImpl implements PostService {
 
     try {
       Post post = postRepository.findById(postId).orElseThrow(PostNotFoundException::new);
+      postCounterService.applyCounts(post);
       LoggingUtil.logServiceDebug(logger, "Post retrieved successfully", "Post ID", postId);
       return post;
     } catch (PostNotFoundException e) {
@@ -112,10 +151,10 @@ public class PostServiceImpl implements PostService {
     LoggingUtil.logBusinessEvent(logger, "Deleting post", "Username", userPrincipal.getUsername(), "Post ID", postId);
 
     try {
-      Profile profile = profileService.getUserProfile(userPrincipal);
+      int profileId = profileService.getProfileId(userPrincipal);
       Post post = postRepository.findById(postId).orElseThrow(PostNotFoundException::new);
 
-      if (post.getCreatedBy().getId() != profile.getId()) {
+      if (post.getCreatedBy().getId() != profileId) {
         LoggingUtil.logServiceWarning(logger, "Permission denied for post deletion",
             "Username", userPrincipal.getUsername(), "Post ID", postId, "Post Owner ID", post.getCreatedBy().getId());
         throw new NoPermissionException();
@@ -127,6 +166,9 @@ public class PostServiceImpl implements PostService {
 
       // Delete the post (cascade will handle comments and notifications)
       postRepository.delete(post);
+      profileCounterService.onPostDeleted(profileId);
+      postCounterService.removeCounts(postId);
+      commentPreviewService.evict(postId);
       LoggingUtil.logBusinessEvent(logger, "Post deleted successfully", "Post ID", postId, "Username", userPrincipal.getUsername());
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to delete post", "Username", userPrincipal.getUsername(), "Post ID", postId, "Error", e.getMessage());
@@ -135,25 +177,37 @@ public class PostServiceImpl implements PostService {
   }
 
   @Override
-  public Post likePost(UserPrincipal userPrincipal, int postId) {
+  public LikePostResponse likePost(UserPrincipal userPrincipal, int postId) {
     LoggingUtil.logBusinessEvent(logger, "Liking post", "Username", userPrincipal.getUsername(), "Post ID", postId);
 
     try {
       Profile profile = profileService.getUserProfile(userPrincipal);
-      Post post = getPost(postId);
-      post.getUserLikes().add(profile);
-
-      postRepository.save(post);
-
-      // Create like notification
-      notificationService.createLikeNotification(profile, post);
+      // Loads the post row and its author only, never the likes collection
+      Post post = postRepository.findById(postId).orElseThrow(PostNotFoundException::new);
 
-      // Fetch the updated post with all relationships to return complete data
-      Post updatedPost = postRepository.findByIdWithAllRelationships(postId);
+      String change = postCounterService.beginChange(postId);
+      boolean added;
+      try {
+        added = postLikeRepository.insertLike(postId, profile.getId()) > 0;
+      } catch (Exception e) {
+        postCounterService.cancelChange(postId, change);
+        throw e;
+      }
+      long likeCount;
+      if (added) {
+        likeCount = postCounterService.adjustLikes(postId, 1, change);
+        likeStateService.recordLike(profile.getId(), postId);
+        // Create like notification
+        notificationService.createLikeNotification(profile, post);
+      } else {
+        postCounterService.cancelChange(postId, change);
+        postCounterService.applyCounts(post);
+        likeCount = post.getLikeCount();
+      }
 
-      LoggingUtil.logBusinessEvent(logger, "Post liked successfully", "Post ID", postId, "Username", userPrincipal.getUsername());
+      LoggingUtil.logBusinessEvent(logger, "Post liked successfully", "Post ID", postId, "Username", userPrincipal.getUsername(), "Added", added);
 
-      return updatedPost;
+      return LikePostResponse.builder().postId(postId).liked(true).likeCount(likeCount).build();
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to like post", "Username", userPrincipal.getUsername(), "Post ID", postId, "Error", e.getMessage());
       throw e;
@@ -161,22 +215,36 @@ public class PostServiceImpl implements PostService {
   }
 
   @Override
-  public Post unlikePost(UserPrincipal userPrincipal, int postId) {
+  public LikePostResponse unlikePost(UserPrincipal userPrincipal, int postId) {
     LoggingUtil.logBusinessEvent(logger, "Unliking post", "Username", userPrincipal.getUsername(), "Post ID", postId);
 
     try {
-      Profile profile = profileService.getUserProfile(userPrincipal);
-      Post post = getPost(postId);
-      post.getUserLikes().remove(profile);
-
-      postRepository.save(post);
+      int profileId = profileService.getProfileId(userPrincipal);
+      if (!postRepository.existsById(postId)) {
+        throw new PostNotFoundException();
+      }
 
-      // Fetch the updated post with all relationships to return complete data
-      Post updatedPost = postRepository.findByIdWithAllRelationships(postId);
+      String change = postCounterService.beginChange(postId);
+      boolean removed;
+      try {
+        removed = postLikeRepository.deleteLike(postId, profileId) > 0;
+      } catch (Exception e) {
+        postCounterService.cancelChange(postId, change);
+        throw e;
+      }
+      long likeCount;
+      if (removed) {
+        likeCount = postCounterService.adjustLikes(postId, -1, change);
+      } else {
+        postCounterService.cancelChange(postId, change);
+        Post post = Post.builder().id(postId).build();
+        postCounterService.applyCounts(post);
+        likeCount = post.getLikeCount();
+      }
 
-      LoggingUtil.logBusinessEvent(logger, "Post unliked successfully", "Post ID", postId, "Username", userPrincipal.getUsername());
+      LoggingUtil.logBusinessEvent(logger, "Post unliked successfully", "Post ID", postId, "Username", userPrincipal.getUsername(), "Removed", removed);
 
-      return updatedPost;
+      return LikePostResponse.builder().postId(postId).liked(false).likeCount(likeCount).build();
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to unlike post", "Username", userPrincipal.getUsername(), "Post ID", postId, "Error", e.getMessage());
       throw e;
@@ -184,16 +252,71 @@ public class PostServiceImpl implements PostService {
   }
 
   @Override
-  public List<Post> getUserPosts(int userId) {
-    LoggingUtil.logServiceDebug(logger, "Retrieving user posts", "User ID", userId);
+  public GetPostLikersResponse getPostLikers(int postId, String cursor, int limit) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving post likers", "Post ID", postId, "Limit", limit);
+
+    try {
+      if (limit <= 0) {
+        throw new InvalidInputException();
+      }
+      int pageSize = Math.min(limit, maxLikersPageSize);
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      if (after == null && !postRepository.existsById(postId)) {
+        throw new PostNotFoundException();
+      }
+
+      // Fetch one extra row to know whether another page exists
+      PageRequest page = PageRequest.of(0, pageSize + 1);
+      List<PostLikerResponse> likers = after == null
+          ? postLikeRepository.findLikers(postId, page)
+          : postLikeRepository.findLikersBefore(postId, KeysetCursor.fromEpochMicros(after.getSortKey()),
+              (int) after.getId(), page);
+
+      String nextCursor = null;
+      if (likers.size() > pageSize) {
+        likers = likers.subList(0, pageSize);
+        PostLikerResponse last = likers.get(pageSize - 1);
+        nextCursor = new KeysetCursor(KeysetCursor.toEpochMicros(last.getLikedAt()), last.getProfile().getId())
+            .encode();
+      }
+
+      LoggingUtil.logServiceDebug(logger, "Post likers retrieved successfully", "Post ID", postId, "Count", likers.size());
+      return GetPostLikersResponse.builder().likers(likers).nextCursor(nextCursor).build();
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to retrieve post likers", "Post ID", postId, "Error", e.getMessage());
+      throw e;
+    }
+  }
+
+  @Override
+  public GetProfileGridResponse getUserPosts(int userId, String cursor, int limit) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving user posts", "User ID", userId, "Limit", limit);
 
     try {
+      if (limit <= 0) {
+        throw new InvalidInputException();
+      }
+      int pageSize = Math.min(limit, maxGridPageSize);
+      KeysetCursor after = KeysetCursor.decode(cursor);
       Profile profile = profileService.getUserProfile(userId);
-      // Use the new method that eagerly loads all relationships
-      List<Post> posts = postRepository.findByCreatedByIdWithAllRelationships(profile.getId());
+
+      // Thumbnails only, one extra row to know whether another page exists
+      PageRequest page = PageRequest.of(0, pageSize + 1);
+      List<PostThumbnail> posts = after == null
+          ? postRepository.findThumbnails(profile.getId(), page)
+          : postRepository.findThumbnailsBefore(profile.getId(), new Date(after.getSortKey()), (int) after.getId(),
+              page);
+
+      String nextCursor = null;
+      if (posts.size() > pageSize) {
+        posts = posts.subList(0, pageSize);
+        PostThumbnail last = posts.get(pageSize - 1);
+        nextCursor = new KeysetCursor(last.getCreatedAt().getTime(), last.getId()).encode();
+      }
+      postCounterService.applyThumbnailCounts(posts);
 
       LoggingUtil.logServiceDebug(logger, "User posts retrieved successfully", "User ID", userId, "Posts Count", posts.size());
-      return posts;
+      return GetProfileGridResponse.builder().posts(posts).nextCursor(nextCursor).build();
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to retrieve user posts", "User ID", userId, "Error", e.getMessage());
       throw e;
@@ -201,16 +324,34 @@ public class PostServiceImpl implements PostService {
   }
 
   @Override
-  public List<Post> getLikedPosts(int userId) {
-    LoggingUtil.logServiceDebug(logger, "Retrieving liked posts", "User ID", userId);
+  public GetUserPostResponse getLikedPosts(int userId, String cursor, int limit) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving liked posts", "User ID", userId, "Limit", limit);
 
     try {
+      if (limit <= 0) {
+        throw new InvalidInputException();
+      }
+      int pageSize = Math.min(limit, maxLikedPostsPageSize);
+      KeysetCursor after = KeysetCursor.decode(cursor);
       Profile profile = profileService.getUserProfile(userId);
-      // Get posts that the user has liked
-      List<Post> likedPosts = postRepository.findByUserLikesIdWithAllRelationships(profile.getId());
+
+      // Walk the profile's rows of the likes join table in like order, one extra row for hasMore
+      PageRequest page = PageRequest.of(0, pageSize + 1);
+      List<PostCard> likedPosts = after == null
+          ? postLikeRepository.findLikedCards(profile.getId(), page)
+          : postLikeRepository.findLikedCardsBefore(profile.getId(), KeysetCursor.fromEpochMicros(after.getSortKey()),
+              (int) after.getId(), page);
+
+      String nextCursor = null;
+      if (likedPosts.size() > pageSize) {
+        likedPosts = likedPosts.subList(0, pageSize);
+        PostCard last = likedPosts.get(pageSize - 1);
+        nextCursor = new KeysetCursor(KeysetCursor.toEpochMicros(last.getLikedAt()), last.getId()).encode();
+      }
+      postCounterService.applyCardCounts(likedPosts);
 
       LoggingUtil.logServiceDebug(logger, "Liked posts retrieved successfully", "User ID", userId, "Liked Posts Count", likedPosts.size());
-      return likedPosts;
+      return GetUserPostResponse.builder().posts(likedPosts).nextCursor(nextCursor).build();
     } catch (Exception e) {
       LoggingUtil.logServiceWarning(logger, "Failed to retrieve liked posts", "User ID", userId, "Error", e.getMessage());
       throw e;
@@ -222,7 +363,9 @@ public class PostServiceImpl implements PostService {
     LoggingUtil.logServiceDebug(logger, "Retrieving post with all relationships", "Post ID", postId);
 
     try {
-      Post post = postRepository.findById(postId).orElseThrow(PostNotFoundException::new);
+      // Author only: comments and likers are paged through their own endpoints
+      Post post = postRepository.findByIdWithProfile(postId).orElseThrow(PostNotFoundException::new);
+      postCounterService.applyCounts(post);
       LoggingUtil.logServiceDebug(logger, "Post with relationships retrieved successfully", "Post ID", postId);
       return post;
     } catch (PostNotFoundException e) {
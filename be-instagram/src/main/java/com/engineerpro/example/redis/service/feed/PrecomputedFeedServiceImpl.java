@@ -7,8 +7,7 @@ import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.feed.GetFeedResponse;
-import com.engineerpro.example.redis.model.Post;
-import com.engineerpro.example.redis.model.Profile;
+import com.engineerpro.example.redis.dto.feed.PostCard;
 import com.engineerpro.example.redis.repository.FeedRepository;
 import com.engineerpro.example.redis.repository.PostRepository;
 import com.engineerpro.example.redis.service.profile.ProfileService;
@@ -30,22 +29,30 @@ public class PrecomputedFeedServiceImpl implements FeedService {
   @Autowired
   private FeedRepository feedRepository;
 
+  @Autowired
+  private PostCounterService postCounterService;
+
+  @Autowired
+  private CommentPreviewService commentPreviewService;
+
   @Override
   public GetFeedResponse getFeed(UserPrincipal userPrincipal, int limit, int page) {
     LoggingUtil.logBusinessEvent(logger, "Getting precomputed feed", "username", userPrincipal.getUsername(), "limit", limit, "page", page);
     
     try {
-      Profile profile = profileService.getUserProfile(userPrincipal);
-      LoggingUtil.logServiceDebug(logger, "Profile retrieved for feed", "profileId", profile.getId());
+      int profileId = profileService.getProfileId(userPrincipal);
+      LoggingUtil.logServiceDebug(logger, "Profile retrieved for feed", "profileId", profileId);
 
-      List<Long> postIds = feedRepository.getFeed(profile.getId(), limit, page);
+      List<Long> postIds = feedRepository.getFeed(profileId, limit, page);
       LoggingUtil.logServiceDebug(logger, "Feed post IDs retrieved", "postIdsCount", postIds.size(), "postIds", postIds);
 
-      // Use the method that eagerly loads profile data
-      List<Post> posts = postRepository.findByIdInWithProfile(postIds.stream().map(Long::intValue).toList());
+      // Card projections: one query, no entity graph to serialize
+      List<PostCard> posts = postRepository.findCardsByIdIn(postIds.stream().map(Long::intValue).toList());
+      postCounterService.applyCardCounts(posts);
+      commentPreviewService.applyPreviews(posts);
       LoggingUtil.logServiceDebug(logger, "Posts retrieved from repository", "postsCount", posts.size());
 
-      Long totalPost = feedRepository.getFeedSize(profile.getId());
+      Long totalPost = feedRepository.getFeedSize(profileId);
       int totalPage = (int) Math.ceil((double) totalPost / limit);
       
       LoggingUtil.logServiceDebug(logger, "Feed pagination calculated", "totalPost", totalPost, "totalPage", totalPage);
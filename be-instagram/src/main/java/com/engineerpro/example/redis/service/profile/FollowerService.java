@@ -1,6 +1,9 @@
 package com.engineerpro.example.redis.service.profile;
 
+import java.util.List;
+
 import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.profile.GetFollowStateResponse;
 import com.engineerpro.example.redis.dto.profile.GetFollowerResponse;
 import com.engineerpro.example.redis.dto.profile.GetFollowingResponse;
 
@@ -9,8 +12,12 @@ public interface FollowerService {
 
   void unfolowUser(UserPrincipal userPrincipal, int profileId);
 
-  GetFollowerResponse getFollowers(int profileId, int page, int limit);
+  GetFollowerResponse getFollowers(int profileId, String cursor, int limit);
+
+  GetFollowingResponse getFollowings(int profileId, String cursor, int limit);
+
+  GetFollowStateResponse getFollowState(UserPrincipal userPrincipal, List<Integer> profileIds);
 
-  GetFollowingResponse getFollowings(int profileId, int page, int limit);
+  GetFollowStateResponse getFollowState(int viewerProfileId, List<Integer> profileIds);
 
 }
\ No newline at end of file
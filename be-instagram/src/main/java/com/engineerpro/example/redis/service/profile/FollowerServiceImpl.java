@@ -1,20 +1,35 @@
 package com.engineerpro.example.redis.service.profile;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.profile.GetFollowStateResponse;
 import com.engineerpro.example.redis.dto.profile.GetFollowerResponse;
 import com.engineerpro.example.redis.dto.profile.GetFollowingResponse;
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
 import com.engineerpro.example.redis.exception.InvalidInputException;
+import com.engineerpro.example.redis.exception.UserNotFoundException;
 import com.engineerpro.example.redis.model.Profile;
 import com.engineerpro.example.redis.model.UserFollowing;
+import com.engineerpro.example.redis.repository.FollowGraph;
 import com.engineerpro.example.redis.repository.FollowerRepository;
+import com.engineerpro.example.redis.repository.ProfileRepository;
 import com.engineerpro.example.redis.service.NotificationService;
+import com.engineerpro.example.redis.util.IntBitmap;
+import com.engineerpro.example.redis.util.KeysetCursor;
 import com.engineerpro.example.redis.util.LoggingUtil;
 
 import org.slf4j.Logger;
@@ -30,6 +45,20 @@ public class FollowerServiceImpl implements FollowerService {
   private FollowerRepository followerRepository;
   @Autowired
   private NotificationService notificationService;
+  @Autowired
+  private ProfileCounterService profileCounterService;
+  @Autowired
+  private ProfileRepository profileRepository;
+  @Autowired
+  private FollowGraph followGraph;
+  @Autowired
+  private SuggestionService suggestionService;
+
+  @Value("${profile.follows.max-page-size:100}")
+  private int maxPageSize;
+
+  @Value("${profile.follow-state.max-batch-size:300}")
+  private int maxStateBatchSize;
 
   @Override
   public void folowUser(UserPrincipal userPrincipal, int profileId) {
@@ -56,6 +85,9 @@ public class FollowerServiceImpl implements FollowerService {
       userFollowing.setCreatedAt(new Date());
       
       followerRepository.save(userFollowing);
+      profileCounterService.onFollow(profile.getId(), profileId);
+      followGraph.recordFollow(profile.getId(), profileId);
+      suggestionService.onFollow(profile.getId(), profileId);
       
       // Create follow notification
       Profile targetProfile = profileService.getUserProfile(profileId);
@@ -83,6 +115,9 @@ public class FollowerServiceImpl implements FollowerService {
       }
       
       followerRepository.delete(existedUserFollowing);
+      profileCounterService.onUnfollow(profile.getId(), profileId);
+      followGraph.recordUnfollow(profile.getId(), profileId);
+      suggestionService.onUnfollow(profile.getId(), profileId);
       
       // Create unfollow notification
       Profile targetProfile = profileService.getUserProfile(profileId);
@@ -96,26 +131,17 @@ public class FollowerServiceImpl implements FollowerService {
   }
 
   @Override
-  public GetFollowerResponse getFollowers(int profileId, int page, int limit) {
-    LoggingUtil.logBusinessEvent(logger, "Getting followers", "profileId", profileId, "page", page, "limit", limit);
+  public GetFollowerResponse getFollowers(int profileId, String cursor, int limit) {
+    LoggingUtil.logBusinessEvent(logger, "Getting followers", "profileId", profileId, "limit", limit);
     
     try {
-      profileService.getUserProfile(profileId);
-      int totalFollower = followerRepository.countByFollowingUserId(profileId);
-      int totalPage = (int) Math.ceil((double) totalFollower / limit);
-      int offset = (page - 1) * limit;
-      
-      LoggingUtil.logServiceDebug(logger, "Followers pagination", "totalFollower", totalFollower, "totalPage", totalPage, "offset", offset);
-      
-      List<Profile> followerProfiles = followerRepository.findByFollowingUserId(profileId, limit, offset).stream()
-          .map(userFollowing -> profileService.getUserProfile(userFollowing.getFollowerUserId())).toList();
-
+      FollowPage page = loadPage(profileId, cursor, limit, true);
       GetFollowerResponse response = GetFollowerResponse.builder()
-          .totalPage(totalPage)
-          .followers(followerProfiles)
+          .followers(page.profiles)
+          .nextCursor(page.nextCursor)
           .build();
       
-      LoggingUtil.logBusinessEvent(logger, "Followers retrieved successfully", "profileId", profileId, "followersCount", followerProfiles.size(), "totalPage", totalPage);
+      LoggingUtil.logBusinessEvent(logger, "Followers retrieved successfully", "profileId", profileId, "followersCount", page.profiles.size());
       
       return response;
     } catch (Exception e) {
@@ -125,26 +151,17 @@ public class FollowerServiceImpl implements FollowerService {
   }
 
   @Override
-  public GetFollowingResponse getFollowings(int profileId, int page, int limit) {
-    LoggingUtil.logBusinessEvent(logger, "Getting followings", "profileId", profileId, "page", page, "limit", limit);
+  public GetFollowingResponse getFollowings(int profileId, String cursor, int limit) {
+    LoggingUtil.logBusinessEvent(logger, "Getting followings", "profileId", profileId, "limit", limit);
     
     try {
-      profileService.getUserProfile(profileId);
-      int totalFollowing = followerRepository.countByFollowerUserId(profileId);
-      int totalPage = (int) Math.ceil((double) totalFollowing / limit);
-      int offset = (page - 1) * limit;
-      
-      LoggingUtil.logServiceDebug(logger, "Followings pagination", "totalFollowing", totalFollowing, "totalPage", totalPage, "offset", offset);
-      
-      List<Profile> followingProfiles = followerRepository.findByFollowerUserId(profileId, limit, offset).stream()
-          .map(userFollowing -> profileService.getUserProfile(userFollowing.getFollowingUserId())).toList();
-
+      FollowPage page = loadPage(profileId, cursor, limit, false);
       GetFollowingResponse response = GetFollowingResponse.builder()
-          .totalPage(totalPage)
-          .followings(followingProfiles)
+          .followings(page.profiles)
+          .nextCursor(page.nextCursor)
           .build();
       
-      LoggingUtil.logBusinessEvent(logger, "Followings retrieved successfully", "profileId", profileId, "followingsCount", followingProfiles.size(), "totalPage", totalPage);
+      LoggingUtil.logBusinessEvent(logger, "Followings retrieved successfully", "profileId", profileId, "followingsCount", page.profiles.size());
       
       return response;
     } catch (Exception e) {
@@ -152,4 +169,101 @@ public class FollowerServiceImpl implements FollowerService {
       throw e;
     }
   }
-}
\ No newline at end of file
+
+  @Override
+  public GetFollowStateResponse getFollowState(UserPrincipal userPrincipal, List<Integer> profileIds) {
+    return getFollowState(profileService.getProfileId(userPrincipal), profileIds);
+  }
+
+  @Override
+  public GetFollowStateResponse getFollowState(int viewerId, List<Integer> profileIds) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving follow state", "profileId", viewerId,
+        "profileCount", profileIds != null ? profileIds.size() : 0);
+
+    try {
+      if (profileIds == null || profileIds.size() > maxStateBatchSize) {
+        throw new InvalidInputException();
+      }
+      List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(profileIds));
+      if (ids.isEmpty()) {
+        return GetFollowStateResponse.builder().followingIds(List.of()).followedByIds(List.of()).build();
+      }
+
+      List<Integer> followingIds;
+      List<Integer> followedByIds;
+      if (followGraph.isReady()) {
+        IntBitmap following = followGraph.following(viewerId);
+        IntBitmap followers = followGraph.followers(viewerId);
+        followingIds = ids.stream().filter(following::contains).toList();
+        followedByIds = ids.stream().filter(followers::contains).toList();
+      } else {
+        Set<Integer> following = new HashSet<>();
+        Set<Integer> followers = new HashSet<>();
+        for (UserFollowing edge : followerRepository.findEdgesBetween(viewerId, ids)) {
+          if (edge.getFollowerUserId() == viewerId) {
+            following.add(edge.getFollowingUserId());
+          } else {
+            followers.add(edge.getFollowerUserId());
+          }
+        }
+        followingIds = ids.stream().filter(following::contains).toList();
+        followedByIds = ids.stream().filter(followers::contains).toList();
+      }
+
+      LoggingUtil.logServiceDebug(logger, "Follow state retrieved", "profileId", viewerId, "requested", ids.size(),
+          "following", followingIds.size(), "followedBy", followedByIds.size(), "fromGraph", followGraph.isReady());
+      return GetFollowStateResponse.builder().followingIds(followingIds).followedByIds(followedByIds).build();
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to retrieve follow state", "profileId", viewerId,
+          "Error", e.getMessage());
+      throw e;
+    }
+  }
+
+  private record FollowPage(List<ProfileSummary> profiles, String nextCursor) {
+  }
+
+  /**
+   * One keyset page of follow edges, newest first, then one batched load of
+   * the profiles on the other end. Every page costs the same regardless of depth.
+   */
+  private FollowPage loadPage(int profileId, String cursor, int limit, boolean followers) {
+    if (limit <= 0) {
+      throw new InvalidInputException();
+    }
+    int pageSize = Math.min(limit, maxPageSize);
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    if (after == null && !profileRepository.existsById(profileId)) {
+      throw new UserNotFoundException();
+    }
+    int beforeId = after == null ? Integer.MAX_VALUE : (int) after.getSortKey();
+
+    // Fetch one extra edge to know whether another page exists
+    PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+    List<UserFollowing> edges = followers
+        ? followerRepository.findFollowerEdges(profileId, beforeId, pageRequest)
+        : followerRepository.findFollowingEdges(profileId, beforeId, pageRequest);
+
+    String nextCursor = null;
+    if (edges.size() > pageSize) {
+      edges = edges.subList(0, pageSize);
+      UserFollowing last = edges.get(pageSize - 1);
+      nextCursor = new KeysetCursor(last.getId(), otherEnd(last, followers)).encode();
+    }
+
+    List<Integer> ids = edges.stream().map(edge -> otherEnd(edge, followers)).toList();
+    Map<Integer, ProfileSummary> byId = new HashMap<>();
+    if (!ids.isEmpty()) {
+      profileRepository.findSummariesByIdIn(ids).forEach(summary -> byId.put(summary.getId(), summary));
+    }
+    List<ProfileSummary> profiles = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+    LoggingUtil.logServiceDebug(logger, "Follow page loaded", "profileId", profileId, "followers", followers,
+        "edges", edges.size(), "hasMore", nextCursor != null);
+    return new FollowPage(profiles, nextCursor);
+  }
+
+  private int otherEnd(UserFollowing edge, boolean followers) {
+    return followers ? edge.getFollowerUserId() : edge.getFollowingUserId();
+  }
+}
@@ -0,0 +1,10 @@
+package com.engineerpro.example.redis.service.profile;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.profile.GetMutualFollowersResponse;
+
+public interface MutualFollowerService {
+  GetMutualFollowersResponse getMutualFollowers(UserPrincipal userPrincipal, int targetProfileId, int limit);
+
+  GetMutualFollowersResponse getMutualFollowers(int viewerProfileId, int targetProfileId, int limit);
+}
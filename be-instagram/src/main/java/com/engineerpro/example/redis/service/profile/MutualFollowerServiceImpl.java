@@ -0,0 +1,133 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.profile.GetMutualFollowersResponse;
+import com.engineerpro.example.redis.dto.profile.ProfileSummary;
+import com.engineerpro.example.redis.exception.InvalidInputException;
+import com.engineerpro.example.redis.repository.FollowGraph;
+import com.engineerpro.example.redis.repository.FollowerRepository;
+import com.engineerpro.example.redis.repository.MutualFollowersRepository;
+import com.engineerpro.example.redis.repository.ProfileRepository;
+import com.engineerpro.example.redis.util.IntBitmap;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import org.slf4j.Logger;
+
+/**
+ * "Followed by A, B and 12 others you follow": the profiles the viewer
+ * follows that also follow the target. With the follow graph ready this is an
+ * intersection of the viewer's following set with the target's follower set
+ * that stops after the first names, plus a popcount for the total, so a
+ * celebrity target costs no more than the viewer's own following list.
+ * Until then it is answered by MySQL, driven from the viewer's followings,
+ * and cached per viewer and target for a short TTL.
+ */
+@Service
+public class MutualFollowerServiceImpl implements MutualFollowerService {
+
+  private static final Logger logger = LoggingUtil.getLogger(MutualFollowerServiceImpl.class);
+
+  @Autowired
+  private ProfileService profileService;
+
+  @Autowired
+  private FollowGraph followGraph;
+
+  @Autowired
+  private FollowerRepository followerRepository;
+
+  @Autowired
+  private ProfileRepository profileRepository;
+
+  @Autowired
+  private MutualFollowersRepository mutualFollowersRepository;
+
+  @Value("${profile.mutuals.max-names:10}")
+  private int maxNames;
+
+  @Override
+  public GetMutualFollowersResponse getMutualFollowers(UserPrincipal userPrincipal, int targetProfileId, int limit) {
+    return getMutualFollowers(profileService.getProfileId(userPrincipal), targetProfileId, limit);
+  }
+
+  @Override
+  public GetMutualFollowersResponse getMutualFollowers(int viewerId, int targetProfileId, int limit) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving mutual followers", "viewerId", viewerId,
+        "targetProfileId", targetProfileId, "limit", limit);
+
+    try {
+      if (limit <= 0) {
+        throw new InvalidInputException();
+      }
+      if (viewerId == targetProfileId) {
+        return GetMutualFollowersResponse.builder().profiles(List.of()).totalCount(0).build();
+      }
+
+      MutualFollowersRepository.Entry entry = followGraph.isReady()
+          ? fromGraph(viewerId, targetProfileId)
+          : fromDatabase(viewerId, targetProfileId);
+      List<Integer> ids = entry.profileIds().subList(0, Math.min(limit, entry.profileIds().size()));
+
+      Map<Integer, ProfileSummary> byId = new HashMap<>();
+      if (!ids.isEmpty()) {
+        profileRepository.findSummariesByIdIn(ids).forEach(summary -> byId.put(summary.getId(), summary));
+      }
+      List<ProfileSummary> profiles = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+      LoggingUtil.logServiceDebug(logger, "Mutual followers retrieved", "viewerId", viewerId,
+          "targetProfileId", targetProfileId, "totalCount", entry.totalCount());
+      return GetMutualFollowersResponse.builder().profiles(profiles).totalCount(entry.totalCount()).build();
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to retrieve mutual followers", "viewerId", viewerId,
+          "targetProfileId", targetProfileId, "Error", e.getMessage());
+      throw e;
+    }
+  }
+
+  private MutualFollowersRepository.Entry fromGraph(int viewerId, int targetProfileId) {
+    IntBitmap following = followGraph.following(viewerId);
+    IntBitmap followers = followGraph.followers(targetProfileId);
+    List<Integer> ids = new ArrayList<>(maxNames);
+    following.forEachIntersection(followers, id -> {
+      ids.add(id);
+      return ids.size() < maxNames;
+    });
+    int total = ids.size() < maxNames ? ids.size() : following.intersectionCount(followers);
+    return new MutualFollowersRepository.Entry(ids, total);
+  }
+
+  private MutualFollowersRepository.Entry fromDatabase(int viewerId, int targetProfileId) {
+    MutualFollowersRepository.Entry cached = null;
+    try {
+      cached = mutualFollowersRepository.get(viewerId, targetProfileId);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to read mutual followers from cache", "Error", e.getMessage());
+    }
+    if (cached != null) {
+      return cached;
+    }
+
+    List<Integer> ids = followerRepository.findMutualFollowerIds(viewerId, targetProfileId,
+        PageRequest.of(0, maxNames));
+    int total = ids.size() < maxNames ? ids.size()
+        : followerRepository.countMutualFollowers(viewerId, targetProfileId);
+    MutualFollowersRepository.Entry entry = new MutualFollowersRepository.Entry(ids, total);
+    try {
+      mutualFollowersRepository.put(viewerId, targetProfileId, entry);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to cache mutual followers", "Error", e.getMessage());
+    }
+    return entry;
+  }
+}
@@ -0,0 +1,21 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
+
+public interface ProfileCacheService {
+  GetProfileResponse getById(int profileId, IntFunction<GetProfileResponse> loader);
+
+  /**
+   * @param loader loads by profile ID once the username's ID is known from the cache
+   * @param usernameLoader loads by username when the username has not been seen yet
+   */
+  GetProfileResponse getByUsername(String username, IntFunction<GetProfileResponse> loader,
+      Supplier<GetProfileResponse> usernameLoader);
+
+  void evict(int profileId);
+
+  void evictUsername(String username);
+}
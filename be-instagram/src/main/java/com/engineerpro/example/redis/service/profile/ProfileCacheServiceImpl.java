@@ -0,0 +1,243 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
+import com.engineerpro.example.redis.repository.ProfileCacheRepository;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+
+/**
+ * Read-through cache of profile page responses in Redis.
+ *
+ * A hot entry expiring must not send every viewer to MySQL at once: within an
+ * instance concurrent misses for one profile share a single load, and across
+ * instances only the holder of the Redis load lock queries the database while
+ * the others poll the cache briefly before falling back to their own read.
+ * Entries are evicted on profile updates and whenever a counter shown on the
+ * page changes (follow, unfollow, post create and delete).
+ */
+@Service
+public class ProfileCacheServiceImpl implements ProfileCacheService {
+
+  private static final Logger logger = LoggingUtil.getLogger(ProfileCacheServiceImpl.class);
+
+  @Autowired
+  private ProfileCacheRepository profileCacheRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${profile.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${profile.cache.lock-wait-ms:200}")
+  private long lockWaitMs;
+
+  @Value("${profile.cache.lock-poll-ms:25}")
+  private long lockPollMs;
+
+  private final ConcurrentHashMap<Integer, CompletableFuture<GetProfileResponse>> inFlight = new ConcurrentHashMap<>();
+
+  private Counter hits;
+  private Counter misses;
+  private Counter loads;
+  private Counter lockWaits;
+  private Counter evictions;
+
+  @PostConstruct
+  void initMetrics() {
+    hits = Counter.builder("profile.cache.requests").tag("result", "hit").register(meterRegistry);
+    misses = Counter.builder("profile.cache.requests").tag("result", "miss").register(meterRegistry);
+    loads = Counter.builder("profile.cache.loads").register(meterRegistry);
+    lockWaits = Counter.builder("profile.cache.lock_waits").register(meterRegistry);
+    evictions = Counter.builder("profile.cache.evictions").register(meterRegistry);
+  }
+
+  @Override
+  public GetProfileResponse getById(int profileId, IntFunction<GetProfileResponse> loader) {
+    if (!enabled) {
+      return loader.apply(profileId);
+    }
+    GetProfileResponse cached = readCache(profileId);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    return loadShared(profileId, () -> loader.apply(profileId));
+  }
+
+  @Override
+  public GetProfileResponse getByUsername(String username, IntFunction<GetProfileResponse> loader,
+      Supplier<GetProfileResponse> usernameLoader) {
+    if (!enabled) {
+      return usernameLoader.get();
+    }
+    Integer profileId = null;
+    try {
+      profileId = profileCacheRepository.getIdByUsername(username);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to read username mapping", "username", username,
+          "Error", e.getMessage());
+    }
+    if (profileId != null) {
+      GetProfileResponse response = getById(profileId, loader);
+      // The mapping can outlive a rename, so only trust a response that still carries this username
+      if (username.equalsIgnoreCase(response.getProfile().getUsername())) {
+        return response;
+      }
+      evictUsername(username);
+    } else {
+      misses.increment();
+    }
+    // Username not mapped yet: load it directly and remember its ID. The entry itself is only
+    // filled through getById, which takes the load lock before reading the database.
+    GetProfileResponse response = usernameLoader.get();
+    loads.increment();
+    try {
+      profileCacheRepository.putUsername(username, response.getProfile().getId());
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to cache username mapping", "username", username,
+          "Error", e.getMessage());
+    }
+    return response;
+  }
+
+  @Override
+  public void evict(int profileId) {
+    try {
+      profileCacheRepository.evict(profileId);
+      evictions.increment();
+    } catch (Exception e) {
+      // The entry still expires on its own TTL
+      LoggingUtil.logServiceWarning(logger, "Failed to evict profile cache entry", "profileId", profileId,
+          "Error", e.getMessage());
+    }
+  }
+
+  @Override
+  public void evictUsername(String username) {
+    try {
+      profileCacheRepository.evictUsername(username);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to evict username mapping", "username", username,
+          "Error", e.getMessage());
+    }
+  }
+
+  private GetProfileResponse readCache(int profileId) {
+    try {
+      return profileCacheRepository.get(profileId);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to read profile cache", "profileId", profileId,
+          "Error", e.getMessage());
+      return null;
+    }
+  }
+
+  // Concurrent misses for one profile on this instance wait for the same load
+  private GetProfileResponse loadShared(int profileId, Supplier<GetProfileResponse> loader) {
+    CompletableFuture<GetProfileResponse> mine = new CompletableFuture<>();
+    CompletableFuture<GetProfileResponse> shared = inFlight.putIfAbsent(profileId, mine);
+    if (shared != null) {
+      try {
+        return shared.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+      }
+    }
+    try {
+      GetProfileResponse response = loadAndFill(profileId, loader);
+      mine.complete(response);
+      return response;
+    } catch (RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(profileId, mine);
+    }
+  }
+
+  private GetProfileResponse loadAndFill(int profileId, Supplier<GetProfileResponse> loader) {
+    String token = null;
+    try {
+      token = profileCacheRepository.tryLock(profileId);
+      if (token == null) {
+        // Another instance is loading this profile; give it a moment to fill the cache
+        lockWaits.increment();
+        GetProfileResponse filled = awaitFill(profileId);
+        if (filled != null) {
+          return filled;
+        }
+      }
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Profile cache lock unavailable", "profileId", profileId,
+          "Error", e.getMessage());
+    }
+
+    loads.increment();
+    GetProfileResponse response;
+    try {
+      response = loader.get();
+    } catch (RuntimeException e) {
+      if (token != null) {
+        releaseLock(profileId, token);
+      }
+      throw e;
+    }
+    if (token != null) {
+      put(response, token);
+    }
+    return response;
+  }
+
+  private void releaseLock(int profileId, String token) {
+    try {
+      profileCacheRepository.releaseLock(profileId, token);
+    } catch (Exception e) {
+      // The lock expires on its own shortly
+      LoggingUtil.logServiceWarning(logger, "Failed to release profile cache lock", "profileId", profileId,
+          "Error", e.getMessage());
+    }
+  }
+
+  private void put(GetProfileResponse response, String token) {
+    try {
+      profileCacheRepository.putIfLockHeld(response, token);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to fill profile cache", "profileId",
+          response.getProfile().getId(), "Error", e.getMessage());
+    }
+  }
+
+  private GetProfileResponse awaitFill(int profileId) {
+    long deadline = System.currentTimeMillis() + lockWaitMs;
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(lockPollMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      GetProfileResponse cached = profileCacheRepository.get(profileId);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,16 @@
+package com.engineerpro.example.redis.service.profile;
+
+public interface ProfileCounterService {
+  void onFollow(int followerId, int followingId);
+
+  void onUnfollow(int followerId, int followingId);
+
+  void onPostCreated(int profileId);
+
+  void onPostDeleted(int profileId);
+
+  /**
+   * Recomputes every profile's counters from the follow and post tables.
+   */
+  void reconcileCounters();
+}
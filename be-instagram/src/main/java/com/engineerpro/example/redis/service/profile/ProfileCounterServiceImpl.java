@@ -0,0 +1,122 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.repository.JobLockRepository;
+import com.engineerpro.example.redis.repository.ProfileRepository;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps follower, following and post counts on the profile row so a profile
+ * header is rendered from the profile alone. Each follow, unfollow, post
+ * create and post delete applies a single-statement increment after the
+ * source row is written; a periodic job recomputes the columns from the
+ * source tables to repair anything an increment missed. Until that job has
+ * completed once, it also runs at startup to backfill the columns.
+ */
+@Service
+public class ProfileCounterServiceImpl implements ProfileCounterService {
+
+  private static final Logger logger = LoggingUtil.getLogger(ProfileCounterServiceImpl.class);
+
+  private static final int RECONCILE_BATCH_SIZE = 1000;
+  private static final String RECONCILE_JOB = "profile-counters-reconcile";
+  private static final Duration RECONCILE_LOCK_TTL = Duration.ofHours(1);
+
+  @Autowired
+  private ProfileRepository profileRepository;
+
+  @Autowired
+  private ProfileCacheService profileCacheService;
+
+  @Autowired
+  private JobLockRepository jobLockRepository;
+
+  @Value("${profile.counters.reconcile-on-startup:true}")
+  private boolean reconcileOnStartup;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillCounters() {
+    if (!reconcileOnStartup || jobLockRepository.isDone(RECONCILE_JOB)) {
+      return;
+    }
+    Thread backfill = new Thread(this::reconcileCounters, "profile-counters-backfill");
+    backfill.setDaemon(true);
+    backfill.start();
+  }
+
+  @Override
+  public void onFollow(int followerId, int followingId) {
+    adjustFollow(followerId, followingId, 1);
+  }
+
+  @Override
+  public void onUnfollow(int followerId, int followingId) {
+    adjustFollow(followerId, followingId, -1);
+  }
+
+  @Override
+  public void onPostCreated(int profileId) {
+    adjustPosts(profileId, 1);
+  }
+
+  @Override
+  public void onPostDeleted(int profileId) {
+    adjustPosts(profileId, -1);
+  }
+
+  private void adjustFollow(int followerId, int followingId, int delta) {
+    try {
+      profileRepository.adjustFollowCounters(followerId, followingId, delta);
+      // Both profile pages show one of the changed counts
+      profileCacheService.evict(followerId);
+      profileCacheService.evict(followingId);
+    } catch (Exception e) {
+      // The edge is already written; reconciliation brings the counters back in line
+      LoggingUtil.logServiceWarning(logger, "Failed to adjust follow counters", "followerId", followerId,
+          "followingId", followingId, "delta", delta, "Error", e.getMessage());
+    }
+  }
+
+  private void adjustPosts(int profileId, int delta) {
+    try {
+      profileRepository.adjustPostCount(profileId, delta);
+      profileCacheService.evict(profileId);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to adjust post count", "profileId", profileId,
+          "delta", delta, "Error", e.getMessage());
+    }
+  }
+
+  @Override
+  @Scheduled(cron = "${profile.counters.reconcile-cron:0 45 3 * * *}")
+  public void reconcileCounters() {
+    String token = jobLockRepository.tryLock(RECONCILE_JOB, RECONCILE_LOCK_TTL);
+    if (token == null) {
+      LoggingUtil.logServiceDebug(logger, "Profile counter reconcile already running elsewhere");
+      return;
+    }
+    try {
+      int maxId = profileRepository.findMaxId();
+      int updated = 0;
+      for (int fromId = 1; fromId <= maxId; fromId += RECONCILE_BATCH_SIZE) {
+        updated += profileRepository.reconcileCounters(fromId, fromId + RECONCILE_BATCH_SIZE - 1);
+      }
+      jobLockRepository.markDone(RECONCILE_JOB);
+      LoggingUtil.logBusinessEvent(logger, "Profile counters reconciled", "maxProfileId", maxId, "rows", updated);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to reconcile profile counters", "Error", e.getMessage());
+    } finally {
+      jobLockRepository.release(RECONCILE_JOB, token);
+    }
+  }
+}
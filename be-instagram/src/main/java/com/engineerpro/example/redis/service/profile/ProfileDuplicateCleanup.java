@@ -0,0 +1,115 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.engineerpro.example.redis.repository.JobLockRepository;
+import com.engineerpro.example.redis.repository.ProfileDuplicateRepository;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import org.slf4j.Logger;
+
+/**
+ * One-time migration to one profile per user. Older sign-in code could create
+ * a second profile for the same user; every duplicate is merged into the
+ * user's oldest profile, the one profile lookups have always returned, and
+ * then the unique constraint on profile.user_id is added.
+ *
+ * Off by default: enable profile.dedupe.on-startup for the one deploy that
+ * migrates. One instance runs it under a Redis lock and the merge is a single
+ * transaction; once the constraint exists it is a single metadata query. Runs
+ * before the other startup listeners so the follow graph, search index and
+ * counter reconciliation are built from the merged rows.
+ */
+@Component
+public class ProfileDuplicateCleanup {
+
+  private static final Logger logger = LoggingUtil.getLogger(ProfileDuplicateCleanup.class);
+
+  private static final String JOB = "profile-dedupe";
+  private static final Duration LOCK_TTL = Duration.ofHours(1);
+
+  @Autowired
+  private ProfileDuplicateRepository profileDuplicateRepository;
+
+  @Autowired
+  private ProfileCounterService profileCounterService;
+
+  @Autowired
+  private JobLockRepository jobLockRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Value("${profile.dedupe.on-startup:false}")
+  private boolean onStartup;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void cleanupOnStartup() {
+    if (onStartup) {
+      cleanup();
+    }
+  }
+
+  public void cleanup() {
+    String token = null;
+    try {
+      if (profileDuplicateRepository.countUserUniqueConstraint() > 0) {
+        return;
+      }
+      token = jobLockRepository.tryLock(JOB, LOCK_TTL);
+      if (token == null) {
+        LoggingUtil.logServiceWarning(logger, "Duplicate profile cleanup already running elsewhere");
+        return;
+      }
+      // Another instance may have finished it between our check and taking the lock
+      if (profileDuplicateRepository.countUserUniqueConstraint() > 0) {
+        return;
+      }
+      long start = System.currentTimeMillis();
+      int duplicates = profileDuplicateRepository.countDuplicates();
+      if (duplicates > 0) {
+        transactionTemplate.executeWithoutResult(status -> merge());
+        // Moved follows and posts change the kept profiles' counts
+        profileCounterService.reconcileCounters();
+      }
+      // DDL commits implicitly in MySQL, so the constraint is added after the merge has committed
+      profileDuplicateRepository.addUserUniqueConstraint();
+
+      LoggingUtil.logBusinessEvent(logger, "Profile user unique constraint added", "duplicates", duplicates,
+          "durationMs", System.currentTimeMillis() - start);
+    } catch (Exception e) {
+      // The merge rolled back and lookups still pick the oldest profile, so running it again retries
+      LoggingUtil.logServiceWarning(logger, "Failed to clean up duplicate profiles", "Error", e.getMessage());
+    } finally {
+      if (token != null) {
+        jobLockRepository.release(JOB, token);
+      }
+    }
+  }
+
+  private void merge() {
+    int posts = profileDuplicateRepository.movePosts();
+    int comments = profileDuplicateRepository.moveComments();
+    int notifications = profileDuplicateRepository.moveReceivedNotifications()
+        + profileDuplicateRepository.moveSentNotifications();
+    int likes = profileDuplicateRepository.moveLikes();
+    int droppedLikes = profileDuplicateRepository.deleteLeftoverLikes();
+    int follows = profileDuplicateRepository.moveFollowings() + profileDuplicateRepository.moveFollowers();
+    int droppedFollows = profileDuplicateRepository.deleteLeftoverFollows();
+    int deleted = profileDuplicateRepository.deleteDuplicates();
+
+    LoggingUtil.logBusinessEvent(logger, "Duplicate profiles merged", "profiles", deleted, "posts", posts,
+        "comments", comments, "notifications", notifications, "likes", likes, "droppedLikes", droppedLikes,
+        "follows", follows, "droppedFollows", droppedFollows);
+  }
+}
@@ -0,0 +1,12 @@
+package com.engineerpro.example.redis.service.profile;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.profile.GetProfilePageResponse;
+
+public interface ProfilePageService {
+  /**
+   * Everything the profile page renders first, fetched in parallel and
+   * bounded by one deadline; sections not ready by then are listed as missing.
+   */
+  GetProfilePageResponse getProfilePage(UserPrincipal userPrincipal, int profileId, int gridLimit);
+}
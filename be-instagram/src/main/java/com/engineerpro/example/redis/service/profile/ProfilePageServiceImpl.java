@@ -0,0 +1,222 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.feed.GetProfileGridResponse;
+import com.engineerpro.example.redis.dto.profile.GetFollowStateResponse;
+import com.engineerpro.example.redis.dto.profile.GetMutualFollowersResponse;
+import com.engineerpro.example.redis.dto.profile.GetProfilePageResponse;
+import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
+import com.engineerpro.example.redis.exception.InvalidInputException;
+import com.engineerpro.example.redis.exception.UserNotFoundException;
+import com.engineerpro.example.redis.service.feed.PostService;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+
+/**
+ * The profile page in one request. The profile with its counts, the first
+ * grid page and the viewer's profile ID are fetched in parallel; once the
+ * viewer is known, the follow state and mutual followers are fetched from it,
+ * so the current user's profile is looked up once rather than once per call.
+ * The whole page shares one deadline: whatever has not finished by then is
+ * left null and named in the response's missing list, and the client fetches
+ * it from the section's own endpoint. Sub-fetches run on a small bounded pool;
+ * when it is saturated the affected sections are reported missing instead of
+ * queueing behind the deadline.
+ */
+@Service
+public class ProfilePageServiceImpl implements ProfilePageService {
+
+  private static final Logger logger = LoggingUtil.getLogger(ProfilePageServiceImpl.class);
+
+  static final String PROFILE = "profile";
+  static final String POSTS = "posts";
+  static final String RELATIONSHIP = "relationship";
+  static final String MUTUAL_FOLLOWERS = "mutualFollowers";
+
+  @Autowired
+  private ProfileService profileService;
+
+  @Autowired
+  private PostService postService;
+
+  @Autowired
+  private FollowerService followerService;
+
+  @Autowired
+  private MutualFollowerService mutualFollowerService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${profile.page.deadline-ms:250}")
+  private long deadlineMs;
+
+  @Value("${profile.page.threads:16}")
+  private int threads;
+
+  @Value("${profile.page.queue-capacity:256}")
+  private int queueCapacity;
+
+  @Value("${profile.page.mutual-names:3}")
+  private int mutualNames;
+
+  private ThreadPoolExecutor executor;
+
+  @PostConstruct
+  void initExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "profile-page-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public GetProfilePageResponse getProfilePage(UserPrincipal userPrincipal, int profileId, int gridLimit) {
+    LoggingUtil.logServiceDebug(logger, "Retrieving profile page", "username", userPrincipal.getUsername(),
+        "profileId", profileId, "gridLimit", gridLimit);
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+    try {
+      if (gridLimit <= 0) {
+        throw new InvalidInputException();
+      }
+      CompletableFuture<GetProfileResponse> profile = submit(() -> profileService.getUserProfileWithCounts(profileId));
+      CompletableFuture<GetProfileGridResponse> posts = submit(() -> postService.getUserPosts(profileId, null,
+          gridLimit));
+      CompletableFuture<Integer> viewer = submit(() -> profileService.getProfileId(userPrincipal));
+      // Null on the viewer's own profile, where there is no relationship to show
+      CompletableFuture<GetFollowStateResponse> relationship = viewer.thenApplyAsync(withContext(
+          viewerId -> viewerId == profileId ? null : followerService.getFollowState(viewerId, List.of(profileId))),
+          executor);
+      CompletableFuture<GetMutualFollowersResponse> mutualFollowers = viewer.thenApplyAsync(withContext(
+          viewerId -> viewerId == profileId ? null
+              : mutualFollowerService.getMutualFollowers(viewerId, profileId, mutualNames)),
+          executor);
+
+      try {
+        CompletableFuture.allOf(profile, posts, relationship, mutualFollowers)
+            .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException | ExecutionException e) {
+        // Collected section by section below
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      rethrowIfNotFound(profile);
+
+      List<String> missing = new ArrayList<>();
+      GetFollowStateResponse state = collect(relationship, RELATIONSHIP, missing);
+      GetProfilePageResponse response = GetProfilePageResponse.builder()
+          .profile(collect(profile, PROFILE, missing))
+          .posts(collect(posts, POSTS, missing))
+          .following(state != null ? !state.getFollowingIds().isEmpty() : null)
+          .followedBy(state != null ? !state.getFollowedByIds().isEmpty() : null)
+          .mutualFollowers(collect(mutualFollowers, MUTUAL_FOLLOWERS, missing))
+          .missing(missing)
+          .build();
+
+      LoggingUtil.logServiceDebug(logger, "Profile page retrieved", "profileId", profileId, "missing", missing,
+          "durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return response;
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to retrieve profile page", "username",
+          userPrincipal.getUsername(), "profileId", profileId, "Error", e.getMessage());
+      throw e;
+    }
+  }
+
+  /**
+   * A profile that does not exist is a 404 for the whole page, not a missing section.
+   */
+  private static void rethrowIfNotFound(CompletableFuture<?> profile) {
+    if (profile.isCompletedExceptionally()) {
+      try {
+        profile.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof UserNotFoundException notFound) {
+          throw notFound;
+        }
+      }
+    }
+  }
+
+  private <T> T collect(CompletableFuture<T> future, String section, List<String> missing) {
+    if (future.isDone() && !future.isCompletedExceptionally()) {
+      return future.join();
+    }
+    // A late result is simply dropped; cancelling stops dependents that have not started
+    future.cancel(false);
+    missing.add(section);
+    Counter.builder("profile.page.missing").tag("section", section).register(meterRegistry).increment();
+    return null;
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+    Map<String, String> context = MDC.getCopyOfContextMap();
+    try {
+      return CompletableFuture.supplyAsync(() -> {
+        restore(context);
+        try {
+          return supplier.get();
+        } finally {
+          MDC.clear();
+        }
+      }, executor);
+    } catch (RuntimeException e) {
+      // Pool saturated: the section is reported missing
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static <T> Function<Integer, T> withContext(Function<Integer, T> fn) {
+    Map<String, String> context = MDC.getCopyOfContextMap();
+    return viewerId -> {
+      restore(context);
+      try {
+        return fn.apply(viewerId);
+      } finally {
+        MDC.clear();
+      }
+    };
+  }
+
+  private static void restore(Map<String, String> context) {
+    if (context != null) {
+      MDC.setContextMap(context);
+    }
+  }
+}
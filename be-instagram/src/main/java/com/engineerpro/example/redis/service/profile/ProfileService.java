@@ -7,12 +7,28 @@ import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
 import com.engineerpro.example.redis.model.Profile;
 
 public interface ProfileService {
+  /**
+   * The current user's profile ID, creating the profile on first sign-in.
+   * Taken from the token when it carries one, otherwise cached per user, so
+   * it costs no query after the first call.
+   */
+  int getProfileId(UserPrincipal userPrincipal);
+
+  /**
+   * An unloaded reference to the current user's profile, for queries and
+   * associations that only need its ID; reading its other fields outside a
+   * transaction fails.
+   */
+  Profile getProfileReference(UserPrincipal userPrincipal);
+
   Profile getUserProfile(UserPrincipal userPrincipal);
 
   Profile getUserProfile(int id);
 
   GetProfileResponse getUserProfileWithCounts(int id);
 
+  GetProfileResponse getUserProfileWithCounts(UserPrincipal userPrincipal);
+
   GetProfileResponse getUserProfileByUsername(String username);
 
   Profile updateProfile(UserPrincipal userPrincipal, UpdateProfileRequest request);
@@ -4,58 +4,88 @@ import java.util.List;
 import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.engineerpro.example.redis.dto.UserPrincipal;
 import com.engineerpro.example.redis.dto.profile.UpdateProfileImageRequest;
 import com.engineerpro.example.redis.dto.profile.UpdateProfileRequest;
 import com.engineerpro.example.redis.dto.profile.GetProfileResponse;
+import com.engineerpro.example.redis.dto.profile.ProfileDetail;
 import com.engineerpro.example.redis.exception.UserNotFoundException;
 import com.engineerpro.example.redis.model.Profile;
 import com.engineerpro.example.redis.model.User;
 import com.engineerpro.example.redis.repository.ProfileRepository;
-import com.engineerpro.example.redis.repository.FollowerRepository;
-import com.engineerpro.example.redis.repository.PostRepository;
+import com.engineerpro.example.redis.repository.ProfileSearchIndex;
+import com.engineerpro.example.redis.repository.UserProfileIdCache;
 import com.engineerpro.example.redis.repository.UserRepository;
+import com.engineerpro.example.redis.service.feed.CommentPreviewService;
 
 @Service
 public class ProfileServiceImpl implements ProfileService {
 
   @Autowired
   private ProfileRepository profileRepository;
+
   @Autowired
-  private FollowerRepository followerRepository;
+  private UserRepository userRepository;
+
   @Autowired
-  private PostRepository postRepository;
+  private ProfileCacheService profileCacheService;
 
   @Autowired
-  private UserRepository userRepository;
+  private ProfileSearchIndex profileSearchIndex;
+
+  @Autowired
+  private UserProfileIdCache userProfileIdCache;
+
+  @Autowired
+  private CommentPreviewService commentPreviewService;
+
+  @Override
+  public int getProfileId(UserPrincipal userPrincipal) {
+    if (userPrincipal.getProfileId() != null) {
+      return userPrincipal.getProfileId();
+    }
+    Integer cached = userProfileIdCache.get(userPrincipal.getId());
+    if (cached != null) {
+      return cached;
+    }
+    List<Integer> ids = profileRepository.findIdsByUserId(userPrincipal.getId(), PageRequest.of(0, 1));
+    int profileId = ids.isEmpty() ? createProfile(userPrincipal).getId() : ids.get(0);
+    userProfileIdCache.put(userPrincipal.getId(), profileId);
+    return profileId;
+  }
+
+  @Override
+  public Profile getProfileReference(UserPrincipal userPrincipal) {
+    return profileRepository.getReferenceById(getProfileId(userPrincipal));
+  }
 
   @Override
   public Profile getUserProfile(UserPrincipal userPrincipal) {
-    User user = userRepository.findById(userPrincipal.getId()).orElseThrow(UserNotFoundException::new);
+    return getUserProfile(getProfileId(userPrincipal));
+  }
 
-    // Get all profiles for this user (handles duplicates)
-    List<Profile> profiles = profileRepository.findByUser(user);
-
-    Profile profile;
-    if (profiles.isEmpty()) {
-      // No profile found, create a new one
-      profile = Profile.builder()
-          .user(user)
-          .displayName(userPrincipal.getName())
-          .username(userPrincipal.getUsername())
-          .build();
+  private Profile createProfile(UserPrincipal userPrincipal) {
+    User user = userRepository.findById(userPrincipal.getId()).orElseThrow(UserNotFoundException::new);
+    Profile profile = Profile.builder()
+        .user(user)
+        .displayName(userPrincipal.getName())
+        .username(userPrincipal.getUsername())
+        .build();
+    try {
       profileRepository.save(profile);
-    } else if (profiles.size() == 1) {
-      // Single profile found, use it
-      profile = profiles.get(0);
-    } else {
-      // Multiple profiles found, use the first one (oldest by ID)
-      // TODO: Consider cleaning up duplicate profiles in the future
-      profile = profiles.get(0);
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent first request created it; the unique user_id constraint kept it to one
+      List<Integer> ids = profileRepository.findIdsByUserId(userPrincipal.getId(), PageRequest.of(0, 1));
+      if (ids.isEmpty()) {
+        throw e;
+      }
+      return getUserProfile(ids.get(0));
     }
-
+    profileSearchIndex.reindex(profile.getId());
     return profile;
   }
 
@@ -66,32 +96,33 @@ public class ProfileServiceImpl implements ProfileService {
 
   @Override
   public GetProfileResponse getUserProfileWithCounts(int id) {
-    Profile profile = getUserProfile(id);
-
-    // Get follower count for this profile
-    int followersCount = followerRepository.countByFollowingUserId(profile.getId());
-
-    // Get following count for this profile
-    int followingCount = followerRepository.countByFollowerUserId(profile.getId());
-
-    // Get posts count for this profile
-    int postsCount = postRepository.countByCreatedBy(profile);
+    return profileCacheService.getById(id, this::loadProfileResponse);
+  }
 
-    return GetProfileResponse.builder()
-        .profile(profile)
-        .followersCount(followersCount)
-        .followingCount(followingCount)
-        .postsCount(postsCount)
-        .build();
+  @Override
+  public GetProfileResponse getUserProfileWithCounts(UserPrincipal userPrincipal) {
+    return toProfileResponse(getUserProfile(userPrincipal));
   }
 
   @Override
   public Profile updateProfile(UserPrincipal userPrincipal, UpdateProfileRequest request) {
     Profile profile = this.getUserProfile(userPrincipal);
+    String previousUsername = profile.getUsername();
+    String previousDisplayName = profile.getDisplayName();
     profile.setBio(request.getBio());
     profile.setDisplayName(request.getDisplayName());
     profile.setUsername(request.getUsername());
     profileRepository.save(profile);
+    profileCacheService.evict(profile.getId());
+    profileSearchIndex.reindex(profile.getId());
+    if (previousUsername != null && !previousUsername.equalsIgnoreCase(profile.getUsername())) {
+      profileCacheService.evictUsername(previousUsername);
+    }
+    // Comment previews embed the author's name
+    if (!Objects.equals(previousUsername, profile.getUsername())
+        || !Objects.equals(previousDisplayName, profile.getDisplayName())) {
+      commentPreviewService.evictForProfile(profile.getId());
+    }
     return profile;
   }
 
@@ -100,28 +131,35 @@ public class ProfileServiceImpl implements ProfileService {
     Profile profile = this.getUserProfile(userPrincipal);
 
     profileRepository.save(profile);
+    profileCacheService.evict(profile.getId());
     return profile;
   }
 
   @Override
   public GetProfileResponse getUserProfileByUsername(String username) {
-    Profile profile = profileRepository.findOneByUsername(username)
-        .orElseThrow(UserNotFoundException::new);
-
-    // Get follower count for this profile
-    int followersCount = followerRepository.countByFollowingUserId(profile.getId());
-
-    // Get following count for this profile
-    int followingCount = followerRepository.countByFollowerUserId(profile.getId());
+    return profileCacheService.getByUsername(username, this::loadProfileResponse,
+        () -> toProfileResponse(profileRepository.findOneByUsername(username).orElseThrow(UserNotFoundException::new)));
+  }
 
-    // Get posts count for this profile
-    int postsCount = postRepository.countByCreatedBy(profile);
+  private GetProfileResponse loadProfileResponse(int id) {
+    return toProfileResponse(getUserProfile(id));
+  }
 
+  // Counts are maintained on the profile row by ProfileCounterService, no aggregate queries here
+  private GetProfileResponse toProfileResponse(Profile profile) {
+    ProfileDetail detail = ProfileDetail.builder()
+        .id(profile.getId())
+        .userId(profile.getUserId())
+        .username(profile.getUsername())
+        .displayName(profile.getDisplayName())
+        .profileImageUrl(profile.getProfileImageUrl())
+        .bio(profile.getBio())
+        .build();
     return GetProfileResponse.builder()
-        .profile(profile)
-        .followersCount(followersCount)
-        .followingCount(followingCount)
-        .postsCount(postsCount)
+        .profile(detail)
+        .followersCount(profile.getFollowerCount())
+        .followingCount(profile.getFollowingCount())
+        .postsCount(profile.getPostCount())
         .build();
   }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.util.List;
+
+public interface SuggestionService {
+  /**
+   * @return up to limit profile IDs to suggest, best first, excluding the profile and whom it follows
+   */
+  List<Integer> getSuggestedProfileIds(int profileId, int limit);
+
+  void onFollow(int followerId, int followingId);
+
+  void onUnfollow(int followerId, int followingId);
+
+  void recomputeAll();
+}
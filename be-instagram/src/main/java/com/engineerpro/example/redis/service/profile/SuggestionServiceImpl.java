@@ -0,0 +1,313 @@
+package com.engineerpro.example.redis.service.profile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.engineerpro.example.redis.repository.FollowGraph;
+import com.engineerpro.example.redis.repository.FollowerRepository;
+import com.engineerpro.example.redis.repository.ProfileRepository;
+import com.engineerpro.example.redis.repository.SuggestionRepository;
+import com.engineerpro.example.redis.util.IntBitmap;
+import com.engineerpro.example.redis.util.LoggingUtil;
+
+import org.slf4j.Logger;
+
+/**
+ * Friends-of-friends follow suggestions. A candidate scores one point per
+ * profile the user follows that follows the candidate, plus a small
+ * log-scaled popularity bonus. Scores for every profile are computed from the
+ * in-process follow graph by a parallel batch, run by one instance at a time
+ * and at most once per batch interval across the cluster, and merged into the
+ * top-K per profile stored in Redis. A follow adds the new followee's own
+ * followings to the follower's candidates, and an unfollow takes them back
+ * out, so the stored lists stay current between batches. Reading suggestions
+ * is one sorted-set lookup plus a filter against the follow graph.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+  private static final Logger logger = LoggingUtil.getLogger(SuggestionServiceImpl.class);
+
+  private static final int BATCH_CHUNK_SIZE = 500;
+  private static final Duration BATCH_LOCK_TTL = Duration.ofHours(1);
+
+  @Autowired
+  private FollowGraph followGraph;
+
+  @Autowired
+  private FollowerRepository followerRepository;
+
+  @Autowired
+  private ProfileRepository profileRepository;
+
+  @Autowired
+  private SuggestionRepository suggestionRepository;
+
+  @Value("${profile.suggestions.enabled:true}")
+  private boolean enabled;
+
+  @Value("${profile.suggestions.top-k:50}")
+  private int topK;
+
+  @Value("${profile.suggestions.max-followings-sampled:200}")
+  private int maxFollowingsSampled;
+
+  @Value("${profile.suggestions.max-candidates-per-following:500}")
+  private int maxCandidatesPerFollowing;
+
+  @Value("${profile.suggestions.popularity-weight:0.5}")
+  private double popularityWeight;
+
+  @Value("${profile.suggestions.parallelism:4}")
+  private int parallelism;
+
+  @Value("${profile.suggestions.batch-interval-ms:86400000}")
+  private long batchIntervalMs;
+
+  // Last popular list read or computed, served while Redis is unavailable
+  private volatile List<Integer> popularFallback = List.of();
+
+  @Override
+  public List<Integer> getSuggestedProfileIds(int profileId, int limit) {
+    Set<Integer> candidates = new LinkedHashSet<>();
+    try {
+      candidates.addAll(suggestionRepository.get(profileId));
+      if (candidates.size() < limit) {
+        candidates.addAll(popularProfileIds());
+      }
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to read suggestions", "profileId", profileId,
+          "Error", e.getMessage());
+      candidates.addAll(popularFallback());
+    }
+    candidates.remove(profileId);
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+
+    Set<Integer> followed;
+    if (followGraph.isReady()) {
+      IntBitmap following = followGraph.following(profileId);
+      followed = candidates.stream().filter(following::contains).collect(Collectors.toSet());
+    } else {
+      followed = followerRepository.findEdgesBetween(profileId, candidates).stream()
+          .filter(edge -> edge.getFollowerUserId() == profileId)
+          .map(edge -> edge.getFollowingUserId())
+          .collect(Collectors.toSet());
+    }
+    return candidates.stream().filter(id -> !followed.contains(id)).limit(limit).toList();
+  }
+
+  @Override
+  public void onFollow(int followerId, int followingId) {
+    try {
+      suggestionRepository.remove(followerId, followingId);
+      adjust(followerId, followingId, 1);
+    } catch (Exception e) {
+      // The next batch recomputes this profile's suggestions
+      LoggingUtil.logServiceWarning(logger, "Failed to update suggestions on follow", "followerId", followerId,
+          "followingId", followingId, "Error", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onUnfollow(int followerId, int followingId) {
+    try {
+      adjust(followerId, followingId, -1);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to update suggestions on unfollow", "followerId", followerId,
+          "followingId", followingId, "Error", e.getMessage());
+    }
+  }
+
+  /**
+   * Checked on every instance; the batch starts once the follow graph is
+   * built and the last batch, wherever it ran, is older than the interval.
+   */
+  @Scheduled(fixedDelayString = "${profile.suggestions.batch-check-ms:600000}")
+  public void recomputeInBackground() {
+    if (!enabled || !followGraph.isReady() || batchIsRecent()) {
+      return;
+    }
+    Thread thread = new Thread(this::recomputeAll, "suggestions-build");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void recomputeAll() {
+    if (!followGraph.isReady()) {
+      return;
+    }
+    String token = suggestionRepository.tryLockBatch(BATCH_LOCK_TTL);
+    if (token == null) {
+      LoggingUtil.logServiceDebug(logger, "Suggestion batch already running elsewhere");
+      return;
+    }
+    long start = System.currentTimeMillis();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      if (batchIsRecent()) {
+        // Another instance finished it between our check and taking the lock
+        return;
+      }
+      int maxId = profileRepository.findMaxId();
+      AtomicInteger stored = new AtomicInteger();
+      pool.submit(() -> IntStream.rangeClosed(0, maxId / BATCH_CHUNK_SIZE).parallel().forEach(chunk -> {
+        Map<Integer, Map<Integer, Double>> batch = new HashMap<>();
+        int from = Math.max(1, chunk * BATCH_CHUNK_SIZE);
+        int to = Math.min(maxId, chunk * BATCH_CHUNK_SIZE + BATCH_CHUNK_SIZE - 1);
+        int withCandidates = 0;
+        for (int profileId = from; profileId <= to; profileId++) {
+          // Profiles that follow no one any more get their stale set deleted
+          Map<Integer, Double> candidates = followGraph.following(profileId).isEmpty()
+              ? Map.of() : topCandidates(profileId);
+          batch.put(profileId, candidates);
+          withCandidates += candidates.isEmpty() ? 0 : 1;
+        }
+        suggestionRepository.mergeAll(batch);
+        stored.addAndGet(withCandidates);
+      })).get();
+      refreshPopular();
+      suggestionRepository.markBatchDone();
+
+      LoggingUtil.logBusinessEvent(logger, "Suggestions recomputed", "maxProfileId", maxId,
+          "profiles", stored.get(), "durationMs", System.currentTimeMillis() - start);
+    } catch (Exception e) {
+      LoggingUtil.logServiceWarning(logger, "Failed to recompute suggestions", "Error", e.getMessage());
+    } finally {
+      pool.shutdown();
+      suggestionRepository.releaseBatchLock(token);
+    }
+  }
+
+  /**
+   * Scores the followings of the profile's followings, sampling at most
+   * maxFollowingsSampled followings and maxCandidatesPerFollowing of each of
+   * theirs so a profile following celebrities stays cheap. Each batch samples
+   * afresh, so a truncated list contributes different candidates each run.
+   */
+  private Map<Integer, Double> topCandidates(int profileId) {
+    IntBitmap following = followGraph.following(profileId);
+    Map<Integer, int[]> overlap = new HashMap<>();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    forEachSampled(following, maxFollowingsSampled, random.nextLong(), friendId -> {
+      forEachSampled(followGraph.following(friendId), maxCandidatesPerFollowing, random.nextLong(), candidateId -> {
+        if (candidateId != profileId && !following.contains(candidateId)) {
+          overlap.computeIfAbsent(candidateId, id -> new int[1])[0]++;
+        }
+        return true;
+      });
+      return true;
+    });
+
+    PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+    for (Map.Entry<Integer, int[]> entry : overlap.entrySet()) {
+      best.add(Map.entry(entry.getKey(), entry.getValue()[0] + popularity(entry.getKey())));
+      if (best.size() > topK) {
+        best.poll();
+      }
+    }
+    Map<Integer, Double> candidates = new HashMap<>();
+    best.forEach(entry -> candidates.put(entry.getKey(), entry.getValue()));
+    return candidates;
+  }
+
+  private void adjust(int followerId, int followingId, int delta) {
+    if (!followGraph.isReady()) {
+      return;
+    }
+    IntBitmap following = followGraph.following(followerId);
+    Map<Integer, Double> candidates = new HashMap<>();
+    // Seeded by the edge so an unfollow takes back the sample its follow added
+    long seed = ((long) followerId << 32) | followingId;
+    forEachSampled(followGraph.following(followingId), maxCandidatesPerFollowing, seed, candidateId -> {
+      if (candidateId != followerId && !following.contains(candidateId)) {
+        candidates.put(candidateId, popularity(candidateId));
+      }
+      return true;
+    });
+    suggestionRepository.adjust(followerId, delta, candidates);
+  }
+
+  /**
+   * Visits at most limit values, starting at a position picked by the seed and
+   * wrapping around, so each value is equally likely to be taken rather than
+   * always the lowest (oldest) IDs.
+   */
+  private static void forEachSampled(IntBitmap values, int limit, long seed, IntPredicate visitor) {
+    if (values.cardinality() <= limit) {
+      values.forEachWhile(visitor);
+      return;
+    }
+    int start = values.select(new SplittableRandom(seed).nextInt(values.cardinality()));
+    int[] taken = new int[1];
+    boolean[] stopped = new boolean[1];
+    values.forEachWhileFrom(start, value -> {
+      stopped[0] = !visitor.test(value);
+      return !stopped[0] && ++taken[0] < limit;
+    });
+    if (!stopped[0] && taken[0] < limit) {
+      values.forEachWhile(value -> value < start && visitor.test(value) && ++taken[0] < limit);
+    }
+  }
+
+  private boolean batchIsRecent() {
+    Long lastBatchAt = suggestionRepository.lastBatchAt();
+    return lastBatchAt != null && System.currentTimeMillis() - lastBatchAt < batchIntervalMs;
+  }
+
+  private double popularity(int profileId) {
+    return popularityWeight * Math.log10(1 + followGraph.followers(profileId).cardinality());
+  }
+
+  private List<Integer> popularProfileIds() {
+    List<Integer> popular = suggestionRepository.getPopular();
+    if (popular.isEmpty()) {
+      return refreshPopular();
+    }
+    popularFallback = List.copyOf(popular);
+    return popular;
+  }
+
+  private List<Integer> popularFallback() {
+    List<Integer> popular = popularFallback;
+    if (popular.isEmpty()) {
+      // Only until the first list is loaded; reads the follower_count index
+      popular = List.copyOf(profileRepository.findPopularIds(PageRequest.of(0, topK)));
+      popularFallback = popular;
+    }
+    return popular;
+  }
+
+  private List<Integer> refreshPopular() {
+    List<Integer> popular = profileRepository.findPopularIds(PageRequest.of(0, topK));
+    Map<Integer, Double> scores = new HashMap<>();
+    for (int i = 0; i < popular.size(); i++) {
+      // Keep the database order when read back best first
+      scores.put(popular.get(i), (double) (popular.size() - i));
+    }
+    popularFallback = List.copyOf(popular);
+    suggestionRepository.replacePopular(scores);
+    return new ArrayList<>(popular);
+  }
+}
@@ -0,0 +1,55 @@
+package com.engineerpro.example.redis.util;
+
+/**
+ * Double hashing for Bloom filters: k bit offsets are derived from two
+ * 31-bit hashes as (h1 + i * h2) mod m, so the same offsets can be computed
+ * in Java and in Redis Lua scripts (whose numbers are doubles).
+ */
+public class BloomHash {
+
+    private BloomHash() {
+    }
+
+    /**
+     * @return {h1, h2}, both non-negative and below 2^31, h2 odd
+     */
+    public static long[] of(long key) {
+        long h = mix64(key);
+        return new long[] { (h >>> 33) & 0x7fffffffL, (h & 0x7fffffffL) | 1 };
+    }
+
+    /**
+     * Hashes a string key through 64-bit FNV-1a before mixing. In-process
+     * only: Lua scripts cannot reproduce it cheaply.
+     */
+    public static long[] of(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return of(h);
+    }
+
+    public static long offset(long[] hash, int i, long bits) {
+        return (hash[0] + i * hash[1]) % bits;
+    }
+
+    /**
+     * Smallest power of two that holds the given entries at the given density.
+     */
+    public static long bitsFor(long entries, int bitsPerEntry, long minBits) {
+        long needed = Math.max(minBits, entries * bitsPerEntry);
+        return Long.highestOneBit(needed - 1) << 1;
+    }
+
+    // Murmur3 finalizer
+    private static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,471 @@
+package com.engineerpro.example.redis.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable compressed set of non-negative ints, used for follow-graph adjacency.
+ *
+ * Small or sparse sets are a single sorted int[]. Larger sets are split
+ * Roaring-style into 65536-value chunks keyed by the high 16 bits; a chunk is
+ * a sorted char[] of low bits while it holds at most 4096 values and a
+ * 1024-word bitmap above that, so a dense chunk costs one bit per value.
+ * {@link #with} and {@link #without} return a new set that shares every
+ * chunk except the one they change, so a writer never disturbs readers.
+ */
+public final class IntBitmap {
+
+    private static final int FLAT_MAX = 1024;
+    private static final int ARRAY_CONTAINER_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final int[] NO_VALUES = new int[0];
+
+    private static final IntBitmap EMPTY = new IntBitmap(NO_VALUES, null, null, 0);
+
+    // Exactly one of flat or (keys, containers) is set
+    private final int[] flat;
+    private final char[] keys;
+    private final Object[] containers;
+    private final int cardinality;
+
+    private IntBitmap(int[] flat, char[] keys, Object[] containers, int cardinality) {
+        this.flat = flat;
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    public static IntBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param values distinct non-negative values in ascending order; kept as is when length matches
+     */
+    public static IntBitmap ofSorted(int[] values, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        int chunks = 1;
+        for (int i = 1; i < length; i++) {
+            if (high(values[i]) != high(values[i - 1])) {
+                chunks++;
+            }
+        }
+        // A chunk costs a key, a reference and an array header; stay flat while that outweighs 2 bytes per value
+        if (length <= FLAT_MAX || (long) chunks * 32 + length * 2L >= length * 4L) {
+            return new IntBitmap(length == values.length ? values : Arrays.copyOf(values, length), null, null, length);
+        }
+        char[] keys = new char[chunks];
+        Object[] containers = new Object[chunks];
+        int chunk = 0;
+        int start = 0;
+        for (int i = 1; i <= length; i++) {
+            if (i == length || high(values[i]) != high(values[start])) {
+                keys[chunk] = high(values[start]);
+                containers[chunk] = container(values, start, i);
+                chunk++;
+                start = i;
+            }
+        }
+        return new IntBitmap(null, keys, containers, length);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public boolean contains(int value) {
+        if (flat != null) {
+            return Arrays.binarySearch(flat, value) >= 0;
+        }
+        int index = Arrays.binarySearch(keys, high(value));
+        return index >= 0 && containerContains(containers[index], low(value));
+    }
+
+    public IntBitmap with(int value) {
+        if (contains(value)) {
+            return this;
+        }
+        if (flat != null) {
+            int insertAt = -Arrays.binarySearch(flat, value) - 1;
+            int[] values = new int[flat.length + 1];
+            System.arraycopy(flat, 0, values, 0, insertAt);
+            values[insertAt] = value;
+            System.arraycopy(flat, insertAt, values, insertAt + 1, flat.length - insertAt);
+            return ofSorted(values, values.length);
+        }
+        int index = Arrays.binarySearch(keys, high(value));
+        if (index >= 0) {
+            Object[] nextContainers = containers.clone();
+            nextContainers[index] = containerWith(containers[index], low(value));
+            return new IntBitmap(null, keys, nextContainers, cardinality + 1);
+        }
+        int insertAt = -index - 1;
+        char[] nextKeys = new char[keys.length + 1];
+        Object[] nextContainers = new Object[containers.length + 1];
+        System.arraycopy(keys, 0, nextKeys, 0, insertAt);
+        System.arraycopy(containers, 0, nextContainers, 0, insertAt);
+        nextKeys[insertAt] = high(value);
+        nextContainers[insertAt] = new char[] { low(value) };
+        System.arraycopy(keys, insertAt, nextKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(containers, insertAt, nextContainers, insertAt + 1, containers.length - insertAt);
+        return new IntBitmap(null, nextKeys, nextContainers, cardinality + 1);
+    }
+
+    public IntBitmap without(int value) {
+        if (!contains(value)) {
+            return this;
+        }
+        if (cardinality == 1) {
+            return EMPTY;
+        }
+        if (flat != null) {
+            int removeAt = Arrays.binarySearch(flat, value);
+            int[] values = new int[flat.length - 1];
+            System.arraycopy(flat, 0, values, 0, removeAt);
+            System.arraycopy(flat, removeAt + 1, values, removeAt, values.length - removeAt);
+            return new IntBitmap(values, null, null, values.length);
+        }
+        if (cardinality - 1 <= FLAT_MAX) {
+            int[] values = toArray();
+            int removeAt = Arrays.binarySearch(values, value);
+            System.arraycopy(values, removeAt + 1, values, removeAt, values.length - removeAt - 1);
+            return new IntBitmap(Arrays.copyOf(values, values.length - 1), null, null, values.length - 1);
+        }
+        int index = Arrays.binarySearch(keys, high(value));
+        Object container = containerWithout(containers[index], low(value));
+        if (container != null) {
+            Object[] nextContainers = containers.clone();
+            nextContainers[index] = container;
+            return new IntBitmap(null, keys, nextContainers, cardinality - 1);
+        }
+        char[] nextKeys = new char[keys.length - 1];
+        Object[] nextContainers = new Object[containers.length - 1];
+        System.arraycopy(keys, 0, nextKeys, 0, index);
+        System.arraycopy(containers, 0, nextContainers, 0, index);
+        System.arraycopy(keys, index + 1, nextKeys, index, nextKeys.length - index);
+        System.arraycopy(containers, index + 1, nextContainers, index, nextContainers.length - index);
+        return new IntBitmap(null, nextKeys, nextContainers, cardinality - 1);
+    }
+
+    public void forEach(IntConsumer consumer) {
+        forEachWhile(value -> {
+            consumer.accept(value);
+            return true;
+        });
+    }
+
+    /**
+     * Visits values in ascending order until the visitor returns false.
+     */
+    public void forEachWhile(IntPredicate visitor) {
+        forEachWhileFrom(0, visitor);
+    }
+
+    /**
+     * Visits values greater than or equal to {@code from} in ascending order
+     * until the visitor returns false.
+     */
+    public void forEachWhileFrom(int from, IntPredicate visitor) {
+        if (flat != null) {
+            int start = Arrays.binarySearch(flat, from);
+            for (int i = start >= 0 ? start : -start - 1; i < flat.length; i++) {
+                if (!visitor.test(flat[i])) {
+                    return;
+                }
+            }
+            return;
+        }
+        int first = Arrays.binarySearch(keys, high(from));
+        for (int i = first >= 0 ? first : -first - 1; i < keys.length; i++) {
+            int base = keys[i] << 16;
+            char fromLow = keys[i] == high(from) ? low(from) : 0;
+            if (containers[i] instanceof char[] array) {
+                int start = Arrays.binarySearch(array, fromLow);
+                for (int j = start >= 0 ? start : -start - 1; j < array.length; j++) {
+                    if (!visitor.test(base | array[j])) {
+                        return;
+                    }
+                }
+            } else {
+                long[] bitmap = (long[]) containers[i];
+                for (int word = fromLow >>> 6; word < BITMAP_WORDS; word++) {
+                    long bits = word == fromLow >>> 6 ? bitmap[word] & (-1L << fromLow) : bitmap[word];
+                    while (bits != 0) {
+                        int bit = Long.numberOfTrailingZeros(bits);
+                        if (!visitor.test(base | (word << 6) | bit)) {
+                            return;
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the value at the given position in ascending order
+     */
+    public int select(int rank) {
+        if (rank < 0 || rank >= cardinality) {
+            throw new IndexOutOfBoundsException(rank);
+        }
+        if (flat != null) {
+            return flat[rank];
+        }
+        for (int i = 0; i < keys.length; i++) {
+            int base = keys[i] << 16;
+            if (containers[i] instanceof char[] array) {
+                if (rank < array.length) {
+                    return base | array[rank];
+                }
+                rank -= array.length;
+            } else {
+                long[] bitmap = (long[]) containers[i];
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    int count = Long.bitCount(bitmap[word]);
+                    if (rank < count) {
+                        long bits = bitmap[word];
+                        for (int skip = 0; skip < rank; skip++) {
+                            bits &= bits - 1;
+                        }
+                        return base | (word << 6) | Long.numberOfTrailingZeros(bits);
+                    }
+                    rank -= count;
+                }
+            }
+        }
+        throw new IllegalStateException("Cardinality does not match the containers");
+    }
+
+    public int[] toArray() {
+        if (flat != null) {
+            return flat.clone();
+        }
+        int[] values = new int[cardinality];
+        int[] position = new int[1];
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Visits the values present in both sets in ascending order until the
+     * visitor returns false.
+     */
+    public void forEachIntersection(IntBitmap other, IntPredicate visitor) {
+        if (isEmpty() || other.isEmpty()) {
+            return;
+        }
+        if (flat != null || other.flat != null) {
+            // Probe the smaller side into the larger one
+            IntBitmap small = cardinality <= other.cardinality ? this : other;
+            IntBitmap large = small == this ? other : this;
+            small.forEachWhile(value -> !large.contains(value) || visitor.test(value));
+            return;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                if (!intersectContainers(keys[i] << 16, containers[i], other.containers[j], visitor)) {
+                    return;
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    public int intersectionCount(IntBitmap other) {
+        if (flat == null && other.flat == null) {
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < keys.length && j < other.keys.length) {
+                if (keys[i] < other.keys[j]) {
+                    i++;
+                } else if (keys[i] > other.keys[j]) {
+                    j++;
+                } else {
+                    if (containers[i] instanceof long[] a && other.containers[j] instanceof long[] b) {
+                        for (int word = 0; word < BITMAP_WORDS; word++) {
+                            count += Long.bitCount(a[word] & b[word]);
+                        }
+                    } else {
+                        int[] chunkCount = new int[1];
+                        intersectContainers(0, containers[i], other.containers[j], value -> {
+                            chunkCount[0]++;
+                            return true;
+                        });
+                        count += chunkCount[0];
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+        int[] count = new int[1];
+        forEachIntersection(other, value -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Approximate retained heap size, assuming compressed object pointers.
+     */
+    public long sizeInBytes() {
+        if (flat != null) {
+            return 24 + 16 + flat.length * 4L;
+        }
+        long bytes = 24 + 16 + keys.length * 2L + 16 + containers.length * 4L;
+        for (Object container : containers) {
+            bytes += 16 + (container instanceof char[] array ? array.length * 2L : BITMAP_WORDS * 8L);
+        }
+        return bytes;
+    }
+
+    private static Object container(int[] values, int from, int to) {
+        if (to - from <= ARRAY_CONTAINER_MAX) {
+            char[] array = new char[to - from];
+            for (int i = from; i < to; i++) {
+                array[i - from] = low(values[i]);
+            }
+            return array;
+        }
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = from; i < to; i++) {
+            char low = low(values[i]);
+            bitmap[low >>> 6] |= 1L << low;
+        }
+        return bitmap;
+    }
+
+    private static boolean containerContains(Object container, char low) {
+        if (container instanceof char[] array) {
+            return Arrays.binarySearch(array, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static Object containerWith(Object container, char low) {
+        if (container instanceof char[] array) {
+            if (array.length < ARRAY_CONTAINER_MAX) {
+                int insertAt = -Arrays.binarySearch(array, low) - 1;
+                char[] next = new char[array.length + 1];
+                System.arraycopy(array, 0, next, 0, insertAt);
+                next[insertAt] = low;
+                System.arraycopy(array, insertAt, next, insertAt + 1, array.length - insertAt);
+                return next;
+            }
+            long[] bitmap = new long[BITMAP_WORDS];
+            for (char value : array) {
+                bitmap[value >>> 6] |= 1L << value;
+            }
+            bitmap[low >>> 6] |= 1L << low;
+            return bitmap;
+        }
+        long[] bitmap = ((long[]) container).clone();
+        bitmap[low >>> 6] |= 1L << low;
+        return bitmap;
+    }
+
+    /**
+     * @return the container without the value, or null when it becomes empty
+     */
+    private static Object containerWithout(Object container, char low) {
+        if (container instanceof char[] array) {
+            if (array.length == 1) {
+                return null;
+            }
+            int removeAt = Arrays.binarySearch(array, low);
+            char[] next = new char[array.length - 1];
+            System.arraycopy(array, 0, next, 0, removeAt);
+            System.arraycopy(array, removeAt + 1, next, removeAt, next.length - removeAt);
+            return next;
+        }
+        long[] bitmap = ((long[]) container).clone();
+        bitmap[low >>> 6] &= ~(1L << low);
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        if (count > ARRAY_CONTAINER_MAX) {
+            return bitmap;
+        }
+        char[] array = new char[count];
+        int position = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                array[position++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return array;
+    }
+
+    private static boolean intersectContainers(int base, Object left, Object right, IntPredicate visitor) {
+        if (left instanceof long[] a && right instanceof long[] b) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = a[word] & b[word];
+                while (bits != 0) {
+                    if (!visitor.test(base | (word << 6) | Long.numberOfTrailingZeros(bits))) {
+                        return false;
+                    }
+                    bits &= bits - 1;
+                }
+            }
+            return true;
+        }
+        if (left instanceof long[]) {
+            return intersectContainers(base, right, left, visitor);
+        }
+        char[] array = (char[]) left;
+        if (right instanceof long[] bitmap) {
+            for (char low : array) {
+                if ((bitmap[low >>> 6] & (1L << low)) != 0 && !visitor.test(base | low)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        char[] other = (char[]) right;
+        int i = 0;
+        int j = 0;
+        while (i < array.length && j < other.length) {
+            if (array[i] < other[j]) {
+                i++;
+            } else if (array[i] > other[j]) {
+                j++;
+            } else {
+                if (!visitor.test(base | array[i])) {
+                    return false;
+                }
+                i++;
+                j++;
+            }
+        }
+        return true;
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+}
@@ -0,0 +1,57 @@
+package com.engineerpro.example.redis.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LikeFilterRepositoryTest {
+
+    private RedisTemplate<String, String> stringRedisTemplate;
+    private LikeFilterRepository repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stringRedisTemplate = mock(RedisTemplate.class);
+        repository = new LikeFilterRepository();
+        ReflectionTestUtils.setField(repository, "stringRedisTemplate", stringRedisTemplate);
+    }
+
+    @Test
+    void missingFilterIsReportedAsNoFilter() {
+        replyWith(List.of(-1L));
+
+        assertThat(repository.mightContain(7, List.of(new long[] { 1, 3 }, new long[] { 5, 7 }))).isNull();
+    }
+
+    @Test
+    void nilReplyIsReportedAsNoFilter() {
+        // What a script returning false arrives as through the MULTI reply type
+        replyWith(Arrays.asList((Object) null));
+
+        assertThat(repository.mightContain(7, List.of(new long[] { 1, 3 }))).isNull();
+    }
+
+    @Test
+    void readyFilterAnswersOneFlagPerPost() {
+        replyWith(List.of(1L, 0L));
+
+        assertThat(repository.mightContain(7, List.of(new long[] { 1, 3 }, new long[] { 5, 7 })))
+                .containsExactly(true, false);
+    }
+
+    private void replyWith(List<?> reply) {
+        doReturn(reply).when(stringRedisTemplate).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}
@@ -0,0 +1,84 @@
+package com.engineerpro.example.redis.service.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.engineerpro.example.redis.dto.UserPrincipal;
+import com.engineerpro.example.redis.dto.feed.GetLikeStateResponse;
+import com.engineerpro.example.redis.repository.LikeFilterRepository;
+import com.engineerpro.example.redis.repository.PostLikeRepository;
+import com.engineerpro.example.redis.service.profile.ProfileService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class LikeStateServiceImplTest {
+
+  private static final int PROFILE_ID = 7;
+
+  @Mock
+  private ProfileService profileService;
+
+  @Mock
+  private PostLikeRepository postLikeRepository;
+
+  @Mock
+  private LikeFilterRepository likeFilterRepository;
+
+  @InjectMocks
+  private LikeStateServiceImpl likeStateService;
+
+  private final UserPrincipal userPrincipal = new UserPrincipal(1L, "alice", null, List.of());
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(likeStateService, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(likeStateService, "maxBatchSize", 100);
+    ReflectionTestUtils.setField(likeStateService, "bitsPerEntry", 10);
+    ReflectionTestUtils.setField(likeStateService, "hashFunctions", 7);
+    ReflectionTestUtils.setField(likeStateService, "minBits", 8192L);
+    likeStateService.initMetrics();
+    when(profileService.getProfileId(userPrincipal)).thenReturn(PROFILE_ID);
+  }
+
+  @Test
+  void coldFilterFallsBackToDatabaseAndBuildsFilter() {
+    when(likeFilterRepository.mightContain(eq(PROFILE_ID), anyCollection())).thenReturn(null);
+    when(postLikeRepository.countByProfileId(PROFILE_ID)).thenReturn(2L);
+    when(likeFilterRepository.beginBuild(eq(PROFILE_ID), anyLong(), anyInt())).thenReturn(true);
+    when(postLikeRepository.findPostIdsByProfileId(PROFILE_ID)).thenReturn(List.of(1, 2));
+    when(postLikeRepository.findLikedPostIds(PROFILE_ID, List.of(1, 2, 3))).thenReturn(List.of(1, 2));
+
+    GetLikeStateResponse response = likeStateService.getLikeState(userPrincipal, List.of(1, 2, 3));
+
+    assertThat(response.getLikedPostIds()).containsExactly(1, 2);
+    verify(likeFilterRepository).completeBuild(eq(PROFILE_ID), any(byte[].class), eq(2));
+  }
+
+  @Test
+  void readyFilterOnlyConfirmsPositives() {
+    when(likeFilterRepository.mightContain(eq(PROFILE_ID), anyCollection()))
+        .thenReturn(List.of(true, false, true));
+    when(postLikeRepository.findLikedPostIds(PROFILE_ID, List.of(1, 3))).thenReturn(List.of(3));
+
+    GetLikeStateResponse response = likeStateService.getLikeState(userPrincipal, List.of(1, 2, 3));
+
+    assertThat(response.getLikedPostIds()).containsExactly(3);
+  }
+}
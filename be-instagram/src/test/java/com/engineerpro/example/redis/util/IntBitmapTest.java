@@ -0,0 +1,167 @@
+package com.engineerpro.example.redis.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class IntBitmapTest {
+
+    private static final int CHUNK = 1 << 16;
+
+    @Test
+    void withCrossesFromFlatToArrayAndBitmapContainers() {
+        IntBitmap bitmap = IntBitmap.empty();
+        TreeSet<Integer> expected = new TreeSet<>();
+        // Past the flat limit, then past the 4096-value array container limit in chunk 1
+        for (int value : IntStream.range(0, 5000).map(i -> CHUNK + i * 3).toArray()) {
+            bitmap = bitmap.with(value);
+            expected.add(value);
+        }
+        // Either side of both chunk boundaries around chunk 1
+        for (int value : new int[] { 0, CHUNK - 1, 2 * CHUNK - 1, 2 * CHUNK, 5 * CHUNK + 7 }) {
+            bitmap = bitmap.with(value);
+            expected.add(value);
+        }
+
+        assertMatches(bitmap, expected);
+        assertThat(bitmap.with(CHUNK)).isSameAs(bitmap);
+    }
+
+    @Test
+    void withoutShrinksBitmapContainersBackToArraysAndDropsEmptyChunks() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        IntStream.range(0, 4200).forEach(i -> expected.add(CHUNK + i));
+        IntStream.range(0, 300).forEach(i -> expected.add(3 * CHUNK + i * 100));
+        expected.add(7 * CHUNK);
+        IntBitmap bitmap = IntBitmap.ofSorted(toArray(expected), expected.size());
+        assertMatches(bitmap, expected);
+
+        // The last value of chunk 7, then chunk 1 down through 4096 values and below the flat limit
+        bitmap = bitmap.without(7 * CHUNK);
+        expected.remove(7 * CHUNK);
+        assertMatches(bitmap, expected);
+        for (int i = 0; i < 3900; i++) {
+            bitmap = bitmap.without(CHUNK + i);
+            expected.remove(CHUNK + i);
+            if (i % 50 == 0 || i > 3850) {
+                assertMatches(bitmap, expected);
+            }
+        }
+        assertMatches(bitmap, expected);
+        assertThat(bitmap.without(CHUNK)).isSameAs(bitmap);
+    }
+
+    @Test
+    void withAndWithoutLeaveTheOriginalUnchanged() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        IntStream.range(0, 5000).forEach(i -> expected.add(CHUNK + i));
+        IntBitmap bitmap = IntBitmap.ofSorted(toArray(expected), expected.size());
+
+        IntBitmap added = bitmap.with(2 * CHUNK);
+        IntBitmap removed = bitmap.without(CHUNK + 10);
+
+        assertMatches(bitmap, expected);
+        assertThat(added.contains(2 * CHUNK)).isTrue();
+        assertThat(removed.contains(CHUNK + 10)).isFalse();
+    }
+
+    @Test
+    void intersectionMatchesAcrossEveryContainerPairing() {
+        List<TreeSet<Integer>> sets = List.of(
+                // Flat
+                values(IntStream.range(0, 40).map(i -> CHUNK - 20 + i)),
+                // Array containers either side of a chunk boundary
+                values(IntStream.range(0, 3000).map(i -> CHUNK - 1500 + i * 2)),
+                // Bitmap container in chunk 1 next to an array container in chunk 2
+                values(IntStream.concat(IntStream.range(0, 6000).map(i -> CHUNK + i * 5),
+                        IntStream.range(0, 2000).map(i -> 2 * CHUNK + i))),
+                // Bitmap containers in chunks 1 and 2
+                values(IntStream.range(0, 20000).map(i -> CHUNK + 20000 + i * 4)),
+                // Nothing shared with the others
+                values(IntStream.range(0, 3000).map(i -> 9 * CHUNK + i)));
+
+        for (TreeSet<Integer> left : sets) {
+            for (TreeSet<Integer> right : sets) {
+                IntBitmap a = IntBitmap.ofSorted(toArray(left), left.size());
+                IntBitmap b = IntBitmap.ofSorted(toArray(right), right.size());
+                TreeSet<Integer> expected = new TreeSet<>(left);
+                expected.retainAll(right);
+
+                List<Integer> visited = new ArrayList<>();
+                a.forEachIntersection(b, value -> visited.add(value));
+
+                assertThat(visited).containsExactlyElementsOf(expected);
+                assertThat(a.intersectionCount(b)).isEqualTo(expected.size());
+            }
+        }
+    }
+
+    @Test
+    void forEachIntersectionStopsWhenTheVisitorReturnsFalse() {
+        TreeSet<Integer> values = values(IntStream.range(0, 10000).map(i -> CHUNK + i * 2));
+        IntBitmap a = IntBitmap.ofSorted(toArray(values), values.size());
+        IntBitmap b = IntBitmap.ofSorted(toArray(values), values.size());
+
+        List<Integer> visited = new ArrayList<>();
+        a.forEachIntersection(b, value -> visited.add(value) && visited.size() < 3);
+
+        assertThat(visited).containsExactly(CHUNK, CHUNK + 2, CHUNK + 4);
+    }
+
+    @Test
+    void intersectionWithEmptyIsEmpty() {
+        IntBitmap bitmap = IntBitmap.empty().with(1).with(CHUNK);
+
+        assertThat(bitmap.intersectionCount(IntBitmap.empty())).isZero();
+        assertThat(IntBitmap.empty().intersectionCount(bitmap)).isZero();
+    }
+
+    @Test
+    void selectAndForEachWhileFromMatchAcrossContainerKinds() {
+        List<TreeSet<Integer>> sets = List.of(
+                values(IntStream.range(0, 40).map(i -> CHUNK - 20 + i * 3)),
+                values(IntStream.concat(IntStream.range(0, 6000).map(i -> CHUNK + i * 5),
+                        IntStream.range(0, 2000).map(i -> 3 * CHUNK + i * 7))));
+
+        for (TreeSet<Integer> expected : sets) {
+            IntBitmap bitmap = IntBitmap.ofSorted(toArray(expected), expected.size());
+            List<Integer> ordered = new ArrayList<>(expected);
+            for (int rank = 0; rank < ordered.size(); rank += 97) {
+                assertThat(bitmap.select(rank)).isEqualTo(ordered.get(rank));
+            }
+            assertThat(bitmap.select(ordered.size() - 1)).isEqualTo(expected.last());
+
+            // Present values, values in gaps, and either side of the chunk boundaries
+            for (int from : new int[] { 0, CHUNK - 1, CHUNK, CHUNK + 1, CHUNK + 64 * 7 + 3, 2 * CHUNK, 3 * CHUNK + 14,
+                    expected.last(), expected.last() + 1 }) {
+                List<Integer> visited = new ArrayList<>();
+                bitmap.forEachWhileFrom(from, visited::add);
+                assertThat(visited).as("from %d", from).containsExactlyElementsOf(expected.tailSet(from));
+            }
+        }
+    }
+
+    private static void assertMatches(IntBitmap bitmap, TreeSet<Integer> expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(bitmap.toArray()).containsExactly(toArray(expected));
+        for (int value : expected) {
+            assertThat(bitmap.contains(value)).as("contains %d", value).isTrue();
+            assertThat(bitmap.contains(value + 1)).as("contains %d", value + 1).isEqualTo(expected.contains(value + 1));
+        }
+    }
+
+    private static TreeSet<Integer> values(IntStream values) {
+        TreeSet<Integer> set = new TreeSet<>();
+        values.forEach(set::add);
+        return set;
+    }
+
+    private static int[] toArray(TreeSet<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -28,7 +28,7 @@ const FeedPost = ({ post, isDetailPage = false }) => {
 		console.log('FeedPost - Original post:', post);
 		console.log('FeedPost - Current post from store:', currentPost);
 		console.log('FeedPost - Store posts count:', posts.length);
-		console.log('FeedPost - Current post userLikes:', currentPost?.userLikes?.length || 0);
+		console.log('FeedPost - Current post likeCount:', currentPost?.likeCount ?? 0);
 		console.log('FeedPost - Current post comments:', currentPost?.comments?.length || 0);
 	}, [post.id, post, currentPost, posts]);
 
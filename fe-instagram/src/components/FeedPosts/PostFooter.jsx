@@ -23,7 +23,7 @@ const PostFooter = ({ post, creatorProfile }) => {
 	const [comment, setComment] = useState("");
 	const commentRef = useRef();
 	const { isOpen, onOpen, onClose } = useDisclosure();
-	const { handleLikePost, isLiked, likes, isUpdating } = useLikePost(post);
+	const { handleLikePost, isLiked, likeCount, isUpdating } = useLikePost(post);
 	const { handlePostComment, isCommenting } = usePostComment();
 
 	// Color scheme for better UX
@@ -55,8 +55,7 @@ const PostFooter = ({ post, creatorProfile }) => {
 		}
 	};
 
-	const likeCount = Array.isArray(likes) ? likes.length : 0;
-	const commentCount = post.comments?.length || 0;
+	const commentCount = post.commentCount ?? 0;
 
 	return (
 
@@ -128,7 +127,17 @@ const PostFooter = ({ post, creatorProfile }) => {
 				</SlideFade>
 			)}
 
-			{commentCount > 2 && (
+			{/* Latest comments, delivered with the feed page */}
+			{post.previewComments?.map((preview) => (
+				<Text key={preview.id} px={2} fontSize="sm" mb={1} lineHeight="1.4">
+					<Text as="span" fontWeight="semibold" mr={2}>
+						{preview.createdBy?.username}
+					</Text>
+					{preview.content}
+				</Text>
+			))}
+
+			{commentCount > (post.previewComments?.length ?? 0) && (
 				<Text
 					as="button"
 					onClick={onOpen}
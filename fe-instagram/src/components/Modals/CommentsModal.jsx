@@ -27,6 +27,7 @@ import Comment from "../Comment/Comment";
 import usePostComment from "../../hooks/usePostComment";
 import useDeleteComment from "../../hooks/useDeleteComment";
 import useLikePost from "../../hooks/useLikePost";
+import useGetComments from "../../hooks/useGetComments";
 import { useEffect, useRef, useState } from "react";
 import { useAuth } from "../../contexts/AuthContext";
 import postService from "../../services/postService";
@@ -38,6 +39,7 @@ const CommentsModal = ({ isOpen, onClose, post, creatorProfile }) => {
 	const { handlePostComment, isCommenting } = usePostComment();
 	const { handleDeleteComment, isDeleting } = useDeleteComment();
 	const { handleLikePost, isLiked, isUpdating } = useLikePost(post);
+	const { comments, setComments, hasMore, loadMore, isLoading: isLoadingComments } = useGetComments(post.id, isOpen);
 	const commentRef = useRef(null);
 	const commentsContainerRef = useRef(null);
 	const [comment, setComment] = useState("");
@@ -60,7 +62,11 @@ const CommentsModal = ({ isOpen, onClose, post, creatorProfile }) => {
 		if (!comment.trim()) return;
 
 		try {
-			await handlePostComment(post.id, comment);
+			const created = await handlePostComment(post.id, comment);
+			// The newest comment belongs at the end; if later pages are pending it arrives with them
+			if (created && !hasMore) {
+				setComments(prev => [...prev, created]);
+			}
 			setComment("");
 			// Focus back to input for quick commenting
 			setTimeout(() => commentRef.current?.focus(), 100);
@@ -93,7 +99,7 @@ const CommentsModal = ({ isOpen, onClose, post, creatorProfile }) => {
 				scrollToBottom();
 			}, 100);
 		}
-	}, [isOpen, post.comments?.length]);
+	}, [isOpen, comments.length]);
 
 	// Auto-focus comment input when modal opens
 	useEffect(() => {
@@ -121,8 +127,14 @@ const CommentsModal = ({ isOpen, onClose, post, creatorProfile }) => {
 		}
 	}, [isOpen]);
 
-	const commentCount = post.comments?.length || 0;
-	const likeCount = post.userLikes?.length || 0;
+	const commentCount = post.commentCount ?? comments.length;
+
+	const handleDeleteAndRemove = async (commentId, postId) => {
+		if (await handleDeleteComment(commentId, postId)) {
+			setComments(prev => prev.filter(c => c.id !== commentId));
+		}
+	};
+	const likeCount = post.likeCount ?? 0;
 
 	return (
 		<Modal isOpen={isOpen} onClose={onClose} motionPreset="slideInBottom" size="6xl">
@@ -267,14 +279,14 @@ const CommentsModal = ({ isOpen, onClose, post, creatorProfile }) => {
 											},
 										}}
 									>
-										{commentCount > 0 ? (
+										{comments.length > 0 ? (
 											<VStack spacing={3} align="stretch" pb={2}>
-												{post.comments.map((comment, idx) => (
+												{comments.map((comment, idx) => (
 													<Comment
 														key={comment.id || idx}
 														comment={comment}
 														post={post}
-														onDelete={handleDeleteComment}
+														onDelete={handleDeleteAndRemove}
 														isDeleting={isDeleting}
 														canDelete={authUser && (
 															comment.createdBy?.id === authUser.id ||
@@ -284,6 +296,11 @@ const CommentsModal = ({ isOpen, onClose, post, creatorProfile }) => {
 														)}
 													/>
 												))}
+												{hasMore && (
+													<Button size="sm" variant="ghost" onClick={loadMore} isLoading={isLoadingComments}>
+														Load more comments
+													</Button>
+												)}
 											</VStack>
 										) : (
 											<Box textAlign="center" py={8}>
@@ -21,6 +21,7 @@ import useShowToast from '../../hooks/useShowToast';
 import Comment from '../Comment/Comment';
 import PostFooter from '../FeedPosts/PostFooter';
 import { useImageUrl } from '../../hooks/useImageUrl';
+import useGetComments from '../../hooks/useGetComments';
 
 const PostDetail = () => {
     const { postId } = useParams();
@@ -34,6 +35,7 @@ const PostDetail = () => {
 
     // Use pre-signed URL for image display
     const { url: imageUrl, loading: imageLoading, error: imageError } = useImageUrl(post?.imageUrl);
+    const { comments, hasMore, loadMore, isLoading: commentsLoading } = useGetComments(postId, !!postId);
 
     useEffect(() => {
         const fetchPost = async () => {
@@ -168,14 +170,19 @@ const PostDetail = () => {
                             {/* Comments Section */}
                             <Box mt={6}>
                                 <Text fontSize="lg" fontWeight="semibold" mb={4}>
-                                    Comments ({post.comments?.length || 0})
+                                    Comments ({post.commentCount ?? comments.length})
                                 </Text>
 
-                                {post.comments && post.comments.length > 0 ? (
+                                {comments.length > 0 ? (
                                     <VStack spacing={3} align="stretch">
-                                        {post.comments.map((comment) => (
+                                        {comments.map((comment) => (
                                             <Comment key={comment.id} comment={comment} />
                                         ))}
+                                        {hasMore && (
+                                            <Button size="sm" variant="ghost" onClick={loadMore} isLoading={commentsLoading}>
+                                                Load more comments
+                                            </Button>
+                                        )}
                                     </VStack>
                                 ) : (
                                     <Text color="gray.500" textAlign="center" py={8}>
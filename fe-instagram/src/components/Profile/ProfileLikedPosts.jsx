@@ -1,20 +1,9 @@
-import { Box, Flex, Grid, Skeleton, Text, VStack } from "@chakra-ui/react";
+import { Box, Button, Flex, Grid, Skeleton, Text, VStack } from "@chakra-ui/react";
 import ProfilePost from "./ProfilePost";
 import useGetLikedPosts from "../../hooks/useGetLikedPosts";
 
 const ProfileLikedPosts = ({ profile }) => {
-    const { isLoading, posts, error } = useGetLikedPosts(profile);
-
-    // Debug logging to see what data we're receiving
-    console.log('ProfileLikedPosts - Debug Info:', {
-        profile,
-        isLoading,
-        posts,
-        postsCount: posts?.length || 0,
-        firstPost: posts?.[0],
-        hasPosts: Array.isArray(posts) && posts.length > 0,
-        error
-    });
+    const { isLoading, posts, error, hasMore, loadMore, isLoadingMore } = useGetLikedPosts(profile);
 
     // Show error if there's an issue
     if (error) {
@@ -30,31 +19,40 @@ const ProfileLikedPosts = ({ profile }) => {
     if (noPostsFound) return <NoLikedPostsFound />;
 
     return (
-        <Grid
-            templateColumns={{
-                sm: "repeat(1, 1fr)",
-                md: "repeat(3, 1fr)",
-            }}
-            gap={1}
-            columnGap={1}
-        >
-            {isLoading &&
-                [0, 1, 2].map((_, idx) => (
-                    <VStack key={idx} alignItems={"flex-start"} gap={4}>
-                        <Skeleton w={"full"}>
-                            <Box h='300px'>contents wrapped</Box>
-                        </Skeleton>
-                    </VStack>
-                ))}
-
-            {!isLoading && (
-                <>
-                    {posts.map((post) => (
-                        <ProfilePost post={post} key={post.id} />
+        <>
+            <Grid
+                templateColumns={{
+                    sm: "repeat(1, 1fr)",
+                    md: "repeat(3, 1fr)",
+                }}
+                gap={1}
+                columnGap={1}
+            >
+                {isLoading &&
+                    [0, 1, 2].map((_, idx) => (
+                        <VStack key={idx} alignItems={"flex-start"} gap={4}>
+                            <Skeleton w={"full"}>
+                                <Box h='300px'>contents wrapped</Box>
+                            </Skeleton>
+                        </VStack>
                     ))}
-                </>
+
+                {!isLoading && (
+                    <>
+                        {posts.map((post) => (
+                            <ProfilePost post={post} key={post.id} />
+                        ))}
+                    </>
+                )}
+            </Grid>
+            {!isLoading && hasMore && (
+                <Flex justifyContent={"center"} mt={4}>
+                    <Button size='sm' variant='ghost' onClick={loadMore} isLoading={isLoadingMore}>
+                        Load more posts
+                    </Button>
+                </Flex>
             )}
-        </Grid>
+        </>
     );
 };
 
@@ -1,4 +1,4 @@
-import React, { useState } from "react";
+import React, { useEffect, useState } from "react";
 import {
 	GridItem,
 	Image,
@@ -29,6 +29,17 @@ const ProfilePost = ({ post }) => {
 	const [isDeleting, setIsDeleting] = useState(false);
 	const [showDeleteConfirm, setShowDeleteConfirm] = useState(false);
 	const deletePost = usePostStore((state) => state.deletePost);
+	// Grid tiles carry only thumbnails and counts; the full post is loaded when the tile is opened
+	const [details, setDetails] = useState(null);
+
+	useEffect(() => {
+		if (!isOpen || details) return;
+		let cancelled = false;
+		postService.getPost(post.id)
+			.then((loaded) => { if (!cancelled) setDetails(loaded); })
+			.catch((error) => console.error('ProfilePost - Error loading post details:', error));
+		return () => { cancelled = true; };
+	}, [isOpen, details, post.id]);
 
 	// Use pre-signed URL for image display
 	const { url: imageUrl, loading: imageLoading, error: imageError } = useImageUrl(post?.imageUrl);
@@ -40,8 +51,8 @@ const ProfilePost = ({ post }) => {
 	console.log('ProfilePost - userProfile:', userProfile);
 
 	// Safely get likes and comments with fallbacks
-	const likesCount = post?.userLikes?.length || post?.likes?.length || 0;
-	const commentsCount = post?.comments?.length || 0;
+	const likesCount = post?.likeCount ?? 0;
+	const commentsCount = post?.commentCount ?? 0;
 
 	// Check if current user can delete this post
 	const canDeletePost = authUser && (
@@ -263,7 +274,7 @@ const ProfilePost = ({ post }) => {
 			<CommentsModal
 				isOpen={isOpen}
 				onClose={onClose}
-				post={post}
+				post={details ? { ...details, ...post } : post}
 				creatorProfile={userProfile}
 			/>
 
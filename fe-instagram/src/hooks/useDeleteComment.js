@@ -8,7 +8,7 @@ const useDeleteComment = () => {
     const [isDeleting, setIsDeleting] = useState(false);
     const { user: authUser } = useAuth();
     const showToast = useShowToast();
-    const { posts, setPosts } = usePostStore();
+    const { posts, updatePost } = usePostStore();
 
     const handleDeleteComment = async (commentId, postId) => {
         if (isDeleting) return;
@@ -19,19 +19,13 @@ const useDeleteComment = () => {
         try {
             await postService.deleteComment(commentId);
 
-            // Update the post in the store to remove the deleted comment
-            const updatedPosts = posts.map(post => {
-                if (post.id === postId) {
-                    return {
-                        ...post,
-                        comments: post.comments.filter(comment => comment.id !== commentId)
-                    };
-                }
-                return post;
-            });
-
-            setPosts(updatedPosts);
+            // Comments are paged by the caller; only the counter lives in the store
+            const post = posts.find(p => p.id === postId);
+            if (post) {
+                updatePost(postId, { commentCount: Math.max(0, (post.commentCount ?? 1) - 1) });
+            }
             showToast("Success", "Comment deleted successfully", "success");
+            return true;
         } catch (error) {
             console.error('Error deleting comment:', error);
             showToast("Error", error.message || "Failed to delete comment", "error");
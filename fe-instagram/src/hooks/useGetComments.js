@@ -0,0 +1,38 @@
+import { useState, useEffect, useCallback } from "react";
+import postService from "../services/postService";
+
+// Pages through a post's comments while `enabled`; comments are no longer embedded in posts
+const useGetComments = (postId, enabled = true, pageSize = 20) => {
+	const [comments, setComments] = useState([]);
+	const [nextCursor, setNextCursor] = useState(null);
+	const [isLoading, setIsLoading] = useState(false);
+
+	const loadPage = useCallback(async (cursor) => {
+		setIsLoading(true);
+		try {
+			const response = await postService.getComments(postId, cursor, pageSize);
+			setComments((prev) => (cursor ? [...prev, ...(response.comments || [])] : response.comments || []));
+			setNextCursor(response.nextCursor || null);
+		} catch (error) {
+			console.error("Error fetching comments:", error);
+		} finally {
+			setIsLoading(false);
+		}
+	}, [postId, pageSize]);
+
+	useEffect(() => {
+		if (enabled && postId) {
+			loadPage(null);
+		}
+	}, [enabled, postId, loadPage]);
+
+	const loadMore = useCallback(() => {
+		if (nextCursor && !isLoading) {
+			loadPage(nextCursor);
+		}
+	}, [nextCursor, isLoading, loadPage]);
+
+	return { comments, setComments, hasMore: !!nextCursor, loadMore, isLoading };
+};
+
+export default useGetComments;
@@ -35,12 +35,22 @@ const useGetFeedPosts = () => {
 					});
 				});
 
+				// One batch call for the heart state of the whole page
+				let likedIds = new Set();
+				if (response.posts.length > 0) {
+					try {
+						const likeState = await postService.getLikeState(response.posts.map(post => post.id));
+						likedIds = new Set(likeState.likedPostIds || []);
+					} catch (error) {
+						console.error('Error fetching like state:', error);
+					}
+				}
+
 				// Ensure all posts have the required fields with defaults
 				const safePosts = response.posts.map(post => ({
 					...post,
-					comments: post.comments || [],
-					userLikes: post.userLikes || [],
-					createdBy: post.createdBy || {}
+					createdBy: post.createdBy || {},
+					likedByMe: likedIds.has(post.id)
 				}));
 
 				if (append) {
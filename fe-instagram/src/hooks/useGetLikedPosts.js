@@ -1,34 +1,29 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useCallback } from 'react';
 import postService from '../services/postService';
 
-const useGetLikedPosts = (profile) => {
+// Pages through the posts a profile liked, most recently liked first
+const useGetLikedPosts = (profile, pageSize = 24) => {
     const [posts, setPosts] = useState([]);
     const [isLoading, setIsLoading] = useState(false);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
+    const [nextCursor, setNextCursor] = useState(null);
     const [error, setError] = useState(null);
 
+    // Extract user ID from profile
+    const userId = profile?.id || profile?.uid;
+
     useEffect(() => {
         const fetchLikedPosts = async () => {
-            if (!profile?.id) return;
+            setNextCursor(null);
+            if (!userId) return;
 
             setIsLoading(true);
             setError(null);
 
             try {
-                // Extract user ID from profile
-                const userId = profile.id || profile.uid;
-
-                if (!userId) {
-                    console.error('useGetLikedPosts: No user ID found in profile:', profile);
-                    return;
-                }
-
-                console.log('useGetLikedPosts: Fetching liked posts for user:', userId);
-
-                const response = await postService.getLikedPosts(userId);
-                const likedPosts = response.posts || [];
-
-                console.log('useGetLikedPosts: Liked posts fetched:', likedPosts);
-                setPosts(likedPosts);
+                const response = await postService.getLikedPosts(userId, null, pageSize);
+                setPosts(response.posts || []);
+                setNextCursor(response.nextCursor || null);
             } catch (error) {
                 console.error('useGetLikedPosts: Error fetching liked posts:', error);
                 setError(error.message);
@@ -39,9 +34,23 @@ const useGetLikedPosts = (profile) => {
         };
 
         fetchLikedPosts();
-    }, [profile?.id, profile?.uid]);
-
-    return { posts, isLoading, error };
+    }, [userId, pageSize]);
+
+    const loadMore = useCallback(async () => {
+        if (!nextCursor || isLoadingMore) return;
+        setIsLoadingMore(true);
+        try {
+            const response = await postService.getLikedPosts(userId, nextCursor, pageSize);
+            setPosts((prev) => [...prev, ...(response.posts || [])]);
+            setNextCursor(response.nextCursor || null);
+        } catch (error) {
+            console.error('useGetLikedPosts: Error fetching more liked posts:', error);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    }, [nextCursor, isLoadingMore, userId, pageSize]);
+
+    return { posts, isLoading, error, hasMore: !!nextCursor, loadMore, isLoadingMore };
 };
 
 export default useGetLikedPosts;
@@ -1,16 +1,23 @@
-import { useEffect, useState } from "react";
+import { useCallback, useEffect, useState } from "react";
 import usePostStore from "../store/postStore";
 import useShowToast from "./useShowToast";
 import postService from "../services/postService";
 
-const useGetUserPosts = (profile) => {
+// Pages through a profile's grid; tiles carry thumbnails and counts only
+const useGetUserPosts = (profile, pageSize = 24) => {
 	const [isLoading, setIsLoading] = useState(true);
-	const { posts, setPosts } = usePostStore();
+	const [isLoadingMore, setIsLoadingMore] = useState(false);
+	const [nextCursor, setNextCursor] = useState(null);
+	const { posts, setPosts, addPosts } = usePostStore();
 	const showToast = useShowToast();
 
+	// Get user ID from profile (try both id and uid fields)
+	const userId = profile?.id || profile?.uid;
+
 	useEffect(() => {
 		const getPosts = async () => {
-			if (!profile) {
+			setNextCursor(null);
+			if (!userId) {
 				setIsLoading(false);
 				setPosts([]);
 				return;
@@ -20,18 +27,9 @@ const useGetUserPosts = (profile) => {
 			setPosts([]);
 
 			try {
-				// Get user ID from profile (try both id and uid fields)
-				const userId = profile.id || profile.uid;
-				if (!userId) {
-					throw new Error("User ID not found");
-				}
-
-				const response = await postService.getUserPosts(userId);
-				if (response && response.posts) {
-					setPosts(response.posts);
-				} else {
-					setPosts([]);
-				}
+				const response = await postService.getUserPosts(userId, null, pageSize);
+				setPosts(response?.posts || []);
+				setNextCursor(response?.nextCursor || null);
 			} catch (error) {
 				console.error('Error fetching user posts:', error);
 				showToast("Error", "Failed to load user posts", "error");
@@ -42,9 +40,24 @@ const useGetUserPosts = (profile) => {
 		};
 
 		getPosts();
-	}, [setPosts, profile, showToast]);
-
-	return { isLoading, posts };
+	}, [setPosts, userId, pageSize, showToast]);
+
+	const loadMore = useCallback(async () => {
+		if (!nextCursor || isLoadingMore) return;
+		setIsLoadingMore(true);
+		try {
+			const response = await postService.getUserPosts(userId, nextCursor, pageSize);
+			addPosts(response?.posts || []);
+			setNextCursor(response?.nextCursor || null);
+		} catch (error) {
+			console.error('Error fetching more user posts:', error);
+			showToast("Error", "Failed to load more posts", "error");
+		} finally {
+			setIsLoadingMore(false);
+		}
+	}, [nextCursor, isLoadingMore, userId, pageSize, addPosts, showToast]);
+
+	return { isLoading, posts, hasMore: !!nextCursor, loadMore, isLoadingMore };
 };
 
 export default useGetUserPosts;
@@ -5,42 +5,39 @@ import usePostStore from "../store/postStore";
 import postService from "../services/postService";
 
 const useLikePost = (post) => {
-	const [likes, setLikes] = useState(post?.userLikes || []);
-	const [isLiked, setIsLiked] = useState(false);
+	const [isLiked, setIsLiked] = useState(!!post?.likedByMe);
+	const [likeCount, setLikeCount] = useState(post?.likeCount ?? 0);
 	const [isUpdating, setIsUpdating] = useState(false);
 	const { user: authUser, logout } = useAuth();
 	const showToast = useShowToast();
 	const { posts, setPosts, updatePost } = usePostStore();
 
-	// Initialize like state
+	// Initialize like state; pages that did not batch-load it ask for this post alone
 	useEffect(() => {
-		if (authUser && post?.userLikes) {
-			const userHasLiked = post.userLikes.some(
-				(like) =>
-					like.id === authUser.id ||
-					like.userId === authUser.uid ||
-					like.username === authUser.username
-			);
-			setIsLiked(userHasLiked);
-			setLikes(post.userLikes);
+		if (!authUser || !post?.id) {
+			return;
 		}
-	}, [authUser, post?.userLikes]);
-
-	// Update local state when post changes
-	useEffect(() => {
-		if (post?.userLikes) {
-			setLikes(post.userLikes);
-			if (authUser) {
-				const userHasLiked = post.userLikes.some(
-					(like) =>
-						like.id === authUser.id ||
-						like.userId === authUser.uid ||
-						like.username === authUser.username
-				);
-				setIsLiked(userHasLiked);
-			}
+		if (typeof post.likedByMe === "boolean") {
+			setIsLiked(post.likedByMe);
+			return;
 		}
-	}, [post?.userLikes, authUser]);
+		let cancelled = false;
+		postService.getLikeState([post.id])
+			.then((response) => {
+				if (!cancelled) {
+					setIsLiked((response.likedPostIds || []).includes(post.id));
+				}
+			})
+			.catch((error) => console.error("Error fetching like state:", error));
+		return () => {
+			cancelled = true;
+		};
+	}, [authUser, post?.id, post?.likedByMe]);
+
+	// Keep the counter in sync with the post
+	useEffect(() => {
+		setLikeCount(post?.likeCount ?? 0);
+	}, [post?.likeCount]);
 
 	const handleLikePost = useCallback(async () => {
 		if (!authUser || isUpdating) {
@@ -50,29 +47,19 @@ const useLikePost = (post) => {
 		setIsUpdating(true);
 
 		// Optimistic update for better UX
-		const previousLikes = [...likes];
 		const previousIsLiked = isLiked;
+		const previousLikeCount = likeCount;
 
 		try {
 			// Optimistically update UI
 			if (isLiked) {
 				// Remove like optimistically
 				setIsLiked(false);
-				setLikes(prev => prev.filter(user =>
-					user.id !== authUser.id &&
-					user.uid !== authUser.uid &&
-					user.userId !== authUser.uid
-				));
+				setLikeCount(prev => Math.max(0, prev - 1));
 			} else {
 				// Add like optimistically
 				setIsLiked(true);
-				const userProfile = {
-					id: authUser.id,
-					userId: authUser.uid,
-					username: authUser.username,
-					profileImageUrl: authUser.picture
-				};
-				setLikes(prev => [...prev, userProfile]);
+				setLikeCount(prev => prev + 1);
 			}
 
 			// Make API call
@@ -85,28 +72,13 @@ const useLikePost = (post) => {
 				showToast("Success", "Post liked", "success");
 			}
 
-			// Update with actual server response
-			if (response && response.post) {
-				setLikes(response.post.userLikes || []);
-				setIsLiked(response.post.userLikes?.some(
-					(like) =>
-						like.id === authUser.id ||
-						like.userId === authUser.uid ||
-						like.username === authUser.username
-				) || false);
-			}
-
-			// Update posts store with the actual server response
-			if (response && response.post) {
-				console.log('useLikePost - Updating store with response:', response.post);
-				console.log('useLikePost - New userLikes:', response.post.userLikes);
-
-				// Use the new updatePost function for more efficient updates
-				updatePost(post.id, {
-					userLikes: response.post.userLikes || []
-				});
+			// Update with actual server response: { postId, liked, likeCount }
+			if (response && typeof response.liked === "boolean") {
+				setIsLiked(response.liked);
+				setLikeCount(response.likeCount);
 
-				console.log('useLikePost - Store updated using updatePost');
+				// Update posts store with the actual server state
+				updatePost(post.id, { likeCount: response.likeCount, likedByMe: response.liked });
 			}
 
 		} catch (error) {
@@ -114,7 +86,7 @@ const useLikePost = (post) => {
 
 			// Revert optimistic update on error
 			setIsLiked(previousIsLiked);
-			setLikes(previousLikes);
+			setLikeCount(previousLikeCount);
 
 			// Handle authentication errors
 			if (error.message.includes('Authentication failed') ||
@@ -131,14 +103,13 @@ const useLikePost = (post) => {
 		} finally {
 			setIsUpdating(false);
 		}
-	}, [isLiked, likes, isUpdating, authUser, post?.id, posts, setPosts, updatePost, showToast, logout]);
+	}, [isLiked, likeCount, isUpdating, authUser, post?.id, posts, setPosts, updatePost, showToast, logout]);
 
 	return {
 		isLiked,
-		likes,
 		handleLikePost,
 		isUpdating,
-		likeCount: Array.isArray(likes) ? likes.length : 0,
+		likeCount,
 		// Additional UX helpers
 		likeButtonText: isLiked ? "Unlike" : "Like",
 		likeButtonColor: isLiked ? "red" : "gray",
@@ -8,7 +8,7 @@ const usePostComment = () => {
 	const [isCommenting, setIsCommenting] = useState(false);
 	const { user: authUser } = useAuth();
 	const showToast = useShowToast();
-	const { posts, setPosts, updatePost } = usePostStore();
+	const { posts, updatePost } = usePostStore();
 
 	const handlePostComment = useCallback(async (postId, commentText) => {
 		if (isCommenting) return;
@@ -18,62 +18,22 @@ const usePostComment = () => {
 		setIsCommenting(true);
 
 		try {
-			// Create optimistic comment for better UX
-			const optimisticComment = {
-				id: `temp-${Date.now()}`, // Temporary ID
-				content: commentText, // Use 'content' for frontend compatibility
-				comment: commentText, // Use 'comment' for backend compatibility
-				createdAt: new Date().toISOString(),
-				createdBy: {
-					id: authUser.id || authUser.uid,
-					userId: authUser.uid,
-					username: authUser.username,
-					profilePicURL: authUser.picture
-				}
-			};
-
-			// Optimistically add comment to UI
-			const updatedPosts = posts.map(post => {
-				if (post.id === postId) {
-					return {
-						...post,
-						comments: [...(post.comments || []), optimisticComment]
-					};
-				}
-				return post;
-			});
-			setPosts(updatedPosts);
-
-			// Send comment to server
 			const response = await postService.createComment(postId, commentText);
 
-			if (response && response.post) {
-				// Update with actual server response using updatePost
+			if (response && response.comment) {
+				const post = posts.find((p) => p.id === postId);
 				updatePost(postId, {
-					comments: response.post.comments || []
+					commentCount: response.post?.commentCount ?? (post?.commentCount ?? 0) + 1
 				});
 
 				showToast("Success", "Comment posted successfully", "success");
+				return response.comment;
 			} else {
 				throw new Error("Failed to post comment");
 			}
 		} catch (error) {
 			console.error('Error posting comment:', error);
 
-			// Revert optimistic update on error
-			const revertedPosts = posts.map(post => {
-				if (post.id === postId) {
-					return {
-						...post,
-						comments: (post.comments || []).filter(comment =>
-							comment.id !== `temp-${Date.now() - 1000}` // Remove temp comment
-						)
-					};
-				}
-				return post;
-			});
-			setPosts(revertedPosts);
-
 			// Handle specific error types
 			if (error.message.includes('Authentication failed') ||
 				error.message.includes('expired') ||
@@ -87,7 +47,7 @@ const usePostComment = () => {
 		} finally {
 			setIsCommenting(false);
 		}
-	}, [isCommenting, authUser, posts, setPosts, updatePost, showToast]);
+	}, [isCommenting, authUser, posts, updatePost, showToast]);
 
 	return { isCommenting, handlePostComment };
 };
@@ -98,8 +98,8 @@ const PostDetailPage = () => {
         );
     }
 
-    const commentCount = post.comments?.length || 0;
-    const likeCount = post.userLikes?.length || 0;
+    const commentCount = post.commentCount ?? 0;
+    const likeCount = post.likeCount ?? 0;
 
     return (
         <Container maxW="container.md" py={4}>
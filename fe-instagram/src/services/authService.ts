@@ -167,6 +167,15 @@ class AuthService {
 
     // Logout user
     logout(): void {
+        const token = this.getToken();
+        if (token) {
+            // Revoke the token server-side; keepalive lets the request outlive the redirect below
+            fetch(`${this.baseUrl}/auth/logout`, {
+                method: 'POST',
+                headers: { 'Authorization': `Bearer ${token}` },
+                keepalive: true
+            }).catch(error => console.error('Error revoking token:', error));
+        }
         this.clearAuth();
         // Redirect to home page or login page
         window.location.href = '/';
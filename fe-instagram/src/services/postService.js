@@ -237,10 +237,14 @@ class PostService {
         }
     }
 
-    // Get posts by user ID
-    async getUserPosts(userId) {
+    // Get one page of a user's post grid (thumbnails and counts only)
+    async getUserPosts(userId, cursor = null, limit = 24) {
         try {
-            const response = await fetch(`${this.baseURL}/posts/user/${userId}`, {
+            const params = new URLSearchParams({ limit });
+            if (cursor) {
+                params.set('cursor', cursor);
+            }
+            const response = await fetch(`${this.baseURL}/posts/user/${userId}?${params}`, {
                 method: 'GET',
                 headers: this.getAuthHeaders()
             });
@@ -257,10 +261,14 @@ class PostService {
         }
     }
 
-    // Get posts liked by a user
-    async getLikedPosts(userId) {
+    // Get one page of posts liked by a user, most recently liked first
+    async getLikedPosts(userId, cursor = null, limit = 24) {
         try {
-            const response = await fetch(`${this.baseURL}/posts/liked/${userId}`, {
+            const params = new URLSearchParams({ limit });
+            if (cursor) {
+                params.set('cursor', cursor);
+            }
+            const response = await fetch(`${this.baseURL}/posts/liked/${userId}?${params}`, {
                 method: 'GET',
                 headers: this.getAuthHeaders()
             });
@@ -277,6 +285,26 @@ class PostService {
         }
     }
 
+    // Which of the given posts the current user has liked
+    async getLikeState(postIds) {
+        try {
+            const response = await fetch(`${this.baseURL}/posts/liked-state?ids=${postIds.join(',')}`, {
+                method: 'GET',
+                headers: this.getAuthHeaders()
+            });
+
+            if (!response.ok) {
+                const errorData = await response.json().catch(() => ({}));
+                throw new Error(errorData.message || `HTTP error! status: ${response.status}`);
+            }
+
+            return await response.json();
+        } catch (error) {
+            console.error('Error getting like state:', error);
+            throw error;
+        }
+    }
+
     // Like a post
     async likePost(postId) {
         try {
@@ -434,6 +462,30 @@ class PostService {
         }
     }
 
+    // Get one page of comments on a post, oldest first
+    async getComments(postId, cursor = null, limit = 20) {
+        try {
+            const params = new URLSearchParams({ limit });
+            if (cursor) {
+                params.set('cursor', cursor);
+            }
+            const response = await fetch(`${this.baseURL}/comments/post/${postId}?${params}`, {
+                method: 'GET',
+                headers: this.getAuthHeaders()
+            });
+
+            if (!response.ok) {
+                const errorData = await response.json().catch(() => ({}));
+                throw new Error(errorData.message || `HTTP error! status: ${response.status}`);
+            }
+
+            return await response.json();
+        } catch (error) {
+            console.error('Error getting comments:', error);
+            throw error;
+        }
+    }
+
     // Delete a comment
     async deleteComment(commentId) {
         try {